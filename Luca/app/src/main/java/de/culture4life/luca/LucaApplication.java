@@ -50,6 +50,7 @@ import de.culture4life.luca.registration.RegistrationManager;
 import de.culture4life.luca.service.LucaService;
 import de.culture4life.luca.ui.ViewError;
 import de.culture4life.luca.ui.dialog.BaseDialogFragment;
+import de.culture4life.luca.util.PollingScheduler;
 import hu.akarnokd.rxjava3.debug.RxJavaAssemblyTracking;
 import io.reactivex.rxjava3.core.Completable;
 import io.reactivex.rxjava3.core.Maybe;
@@ -361,6 +362,7 @@ public class LucaApplication extends MultiDexApplication {
     public Completable deleteAccount() {
         return documentManager.unredeemAndDeleteAllDocuments()
                 .andThen(registrationManager.deleteRegistrationOnBackend())
+                .andThen(checkInManager.deleteOutbox())
                 .andThen(preferencesManager.deleteAll())
                 .andThen(cryptoManager.deleteAllKeyStoreEntries());
     }
@@ -391,10 +393,12 @@ public class LucaApplication extends MultiDexApplication {
 
     public void onActivityStarted(@NonNull Activity activity) {
         startedActivities.add(activity);
+        PollingScheduler.getInstance().setInForeground(true);
     }
 
     public void onActivityStopped(@NonNull Activity activity) {
         startedActivities.remove(activity);
+        PollingScheduler.getInstance().setInForeground(isUiCurrentlyVisible());
     }
 
     protected void showErrorAsDialog(@NonNull ViewError error) {
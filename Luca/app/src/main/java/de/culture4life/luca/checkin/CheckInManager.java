@@ -18,8 +18,11 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.annotation.RequiresPermission;
 import androidx.core.app.NotificationCompat;
+import androidx.work.BackoffPolicy;
 import androidx.work.Constraints;
+import androidx.work.ExistingWorkPolicy;
 import androidx.work.NetworkType;
+import androidx.work.OneTimeWorkRequest;
 import androidx.work.PeriodicWorkRequest;
 import androidx.work.WorkManager;
 import androidx.work.WorkRequest;
@@ -56,6 +59,7 @@ import de.culture4life.luca.location.GeofenceManager;
 import de.culture4life.luca.location.LocationManager;
 import de.culture4life.luca.meeting.MeetingAdditionalData;
 import de.culture4life.luca.network.NetworkManager;
+import de.culture4life.luca.network.NetworkUnavailableException;
 import de.culture4life.luca.network.pojo.AdditionalCheckInPropertiesRequestData;
 import de.culture4life.luca.network.pojo.CheckInRequestData;
 import de.culture4life.luca.network.pojo.CheckOutRequestData;
@@ -66,7 +70,10 @@ import de.culture4life.luca.preference.PreferencesManager;
 import de.culture4life.luca.ui.MainActivity;
 import de.culture4life.luca.ui.checkin.CheckInViewModel;
 import de.culture4life.luca.ui.checkin.QrCodeData;
+import de.culture4life.luca.util.PollingScheduler;
+import de.culture4life.luca.util.PollingTask;
 import de.culture4life.luca.util.SerializationUtil;
+import de.culture4life.luca.util.ThrowableUtil;
 import de.culture4life.luca.util.TimeUtil;
 import io.reactivex.rxjava3.core.Completable;
 import io.reactivex.rxjava3.core.Maybe;
@@ -74,6 +81,7 @@ import io.reactivex.rxjava3.core.Observable;
 import io.reactivex.rxjava3.core.Single;
 import io.reactivex.rxjava3.disposables.Disposable;
 import io.reactivex.rxjava3.schedulers.Schedulers;
+import retrofit2.HttpException;
 import timber.log.Timber;
 
 /**
@@ -87,10 +95,11 @@ import timber.log.Timber;
  */
 public class CheckInManager extends Manager {
 
-    private static final String KEY_CHECK_IN_DATA = "check_in_data_2";
+    static final String KEY_CHECK_IN_DATA = "check_in_data_2";
     private static final String KEY_ARCHIVED_CHECK_IN_DATA = "archived_check_in_data";
     private static final String KEY_ADDITIONAL_CHECK_IN_PROPERTIES_DATA = "additional_check_in_properties";
     private static final String KEY_LAST_CHECK_IN_DATA_UPDATE_TIMESTAMP = "last_check_in_data_update_timestamp";
+    private static final String KEY_OUTBOX = "check_in_outbox";
 
     private static final String CHECK_IN_DATA_UPDATE_TAG = "check_in_update";
     private static final long CHECK_IN_DATA_UPDATE_INTERVAL = BuildConfig.DEBUG ? PeriodicWorkRequest.MIN_PERIODIC_INTERVAL_MILLIS : TimeUnit.HOURS.toMillis(6);
@@ -101,8 +110,22 @@ public class CheckInManager extends Manager {
     private static final long LOCATION_REQUEST_TIMEOUT = TimeUnit.SECONDS.toMillis(3);
     private static final int RECENT_TRACE_IDS_LIMIT = (int) TimeUnit.HOURS.toMinutes(6);
     private static final long MAXIMUM_YOUNGER_TRACE_ID_AGE = TimeUnit.MINUTES.toMillis(2);
-    private static final long CHECK_OUT_POLLING_INTERVAL = TimeUnit.MINUTES.toMillis(1);
+    private static final PollingTask CHECK_IN_DATA_UPDATE_POLLING_TASK = new PollingTask.Builder("check_in_data_update")
+            .setInterval(CHECK_IN_DATA_UPDATE_INTERVAL, TimeUnit.MILLISECONDS)
+            .build();
+    /**
+     * Reads the local check-in state only. Keeps running in background, as the {@link
+     * de.culture4life.luca.service.LucaService} is stopped based on this state.
+     */
+    private static final PollingTask CHECKED_IN_STATE_POLLING_TASK = new PollingTask.Builder("checked_in_state")
+            .setIntervals(1, 5, TimeUnit.SECONDS)
+            .build();
+    private static final PollingTask CHECK_OUT_POLLING_TASK = new PollingTask.Builder("check_out_at_backend")
+            .setIntervals(1, 5, TimeUnit.MINUTES)
+            .build();
     private static final long AUTOMATIC_CHECK_OUT_RETRY_DELAY = BuildConfig.DEBUG ? TimeUnit.SECONDS.toMillis(15) : TimeUnit.MINUTES.toMillis(2);
+    private static final String OUTBOX_WORK_NAME = "check_in_outbox";
+    private static final long OUTBOX_RETRY_DELAY = TimeUnit.SECONDS.toMillis(30);
 
     private final PreferencesManager preferencesManager;
     private final NetworkManager networkManager;
@@ -111,6 +134,7 @@ public class CheckInManager extends Manager {
     private final CryptoManager cryptoManager;
     private final HistoryManager historyManager;
     private final LucaNotificationManager notificationManager;
+    private final TraceDataCache traceDataCache;
 
     private boolean skipMinimumCheckInDurationAssertion;
     private boolean skipMinimumDistanceAssertion;
@@ -130,6 +154,9 @@ public class CheckInManager extends Manager {
     @Nullable
     private Disposable automaticCheckoutDisposable;
 
+    @Nullable
+    private Outbox outbox;
+
     private WorkManager workManager;
 
     public CheckInManager(@NonNull PreferencesManager preferencesManager, @NonNull NetworkManager networkManager, @NonNull GeofenceManager geofenceManager, @NonNull LocationManager locationManager, @NonNull HistoryManager historyManager, @NonNull CryptoManager cryptoManager, @NonNull LucaNotificationManager notificationManager) {
@@ -140,6 +167,7 @@ public class CheckInManager extends Manager {
         this.historyManager = historyManager;
         this.cryptoManager = cryptoManager;
         this.notificationManager = notificationManager;
+        this.traceDataCache = new TraceDataCache(RECENT_TRACE_IDS_LIMIT);
 
         skipMinimumDistanceAssertion = true;
     }
@@ -164,7 +192,10 @@ public class CheckInManager extends Manager {
                         this.workManager = WorkManager.getInstance(context);
                     }
                 })
-        )).andThen(initializeCheckInDataUpdates());
+        )).andThen(Completable.mergeArray(
+                initializeCheckInDataUpdates(),
+                scheduleOutboxDrainIfRequired()
+        ));
     }
 
     /*
@@ -183,7 +214,7 @@ public class CheckInManager extends Manager {
         return getNextRecommendedCheckInDataUpdateDelay()
                 .flatMapCompletable(initialDelay -> Completable.fromAction(() -> {
                     if (workManager == null) {
-                        managerDisposable.add(updateCheckInDataIfNecessary(CHECK_IN_DATA_UPDATE_INTERVAL, true)
+                        managerDisposable.add(updateCheckInDataIfNecessary(CHECK_IN_DATA_UPDATE_POLLING_TASK, true)
                                 .delaySubscription(initialDelay, TimeUnit.MILLISECONDS)
                                 .subscribeOn(Schedulers.io())
                                 .subscribe());
@@ -211,22 +242,27 @@ public class CheckInManager extends Manager {
     /**
      * Checking in using a scanner doesn't require the device to be online, nevertheless the backend
      * is polled regularly in an attempt to provide visual feedback of a successful check-in.
+     * The polling interval increases while the check-in data doesn't change.
      *
-     * @param interval to poll backend at (millis)
+     * @param pollingTask defining the intervals to poll the backend at
      * @see <a href="https://luca-app.de/securityoverview/processes/guest_app_checkin.html#qr-code-scanning-feedback">Security
      * Overview: QR Code Scanning Feedback</a>
      */
-    public Completable updateCheckInDataIfNecessary(long interval, boolean useOlderTraceIds) {
-        return Observable.interval(0, interval, TimeUnit.MILLISECONDS, Schedulers.io())
-                .flatMapCompletable(tick -> updateCheckInDataIfNecessary(useOlderTraceIds)
-                        .onErrorComplete())
+    public Completable updateCheckInDataIfNecessary(@NonNull PollingTask pollingTask, boolean useOlderTraceIds) {
+        return PollingScheduler.getInstance()
+                .poll(pollingTask, updateCheckInDataIfNecessary(useOlderTraceIds)
+                        .onErrorComplete()
+                        .andThen(getCheckInDataIfAvailable()
+                                .map(CheckInData::getTraceId)
+                                .defaultIfEmpty("")))
+                .ignoreElements()
                 .doOnSubscribe(disposable -> Timber.d(
-                        "Starting to request check-in data updates. interval = [%d], useOlderTraceIds = [%b]",
-                        interval, useOlderTraceIds
+                        "Starting to request check-in data updates. pollingTask = [%s], useOlderTraceIds = [%b]",
+                        pollingTask, useOlderTraceIds
                 ))
                 .doFinally(() -> Timber.d(
-                        "Stopped requesting check-in data updates. interval = [%d], useOlderTraceIds = [%b]",
-                        interval, useOlderTraceIds
+                        "Stopped requesting check-in data updates. pollingTask = [%s], useOlderTraceIds = [%b]",
+                        pollingTask, useOlderTraceIds
                 ));
     }
 
@@ -439,8 +475,8 @@ public class CheckInManager extends Manager {
     }
 
     public Observable<Boolean> getCheckedInStateChanges() {
-        return Observable.interval(1, TimeUnit.SECONDS)
-                .flatMapSingle(tick -> isCheckedIn())
+        return PollingScheduler.getInstance()
+                .poll(CHECKED_IN_STATE_POLLING_TASK, isCheckedIn())
                 .distinctUntilChanged();
     }
 
@@ -483,8 +519,8 @@ public class CheckInManager extends Manager {
                 .andThen(getCheckedInTraceId())
                 .toSingle()
                 .flatMap(traceId -> generateAdditionalCheckInProperties(properties, traceId, locationPublicKey))
-                .flatMapCompletable(requestData -> networkManager.getLucaEndpointsV3()
-                        .flatMapCompletable(lucaEndpointsV3 -> lucaEndpointsV3.addAdditionalCheckInProperties(requestData)))
+                .map(requestData -> new OutboxEntry(OutboxEntry.TYPE_ADDITIONAL_CHECK_IN_PROPERTIES, requestData.getTraceId(), new Gson().toJson(requestData)))
+                .flatMapCompletable(this::sendOrAddToOutbox)
                 .andThen(persistAdditionalCheckInProperties(properties));
     }
 
@@ -547,18 +583,10 @@ public class CheckInManager extends Manager {
         return assertCheckedIn()
                 .andThen(assertMinimumCheckInDuration())
                 .andThen(assertMinimumDistanceToLocation())
-                .andThen(networkManager.assertNetworkConnected())
                 .andThen(generateCheckOutData()
                         .doOnSuccess(checkOutRequestData -> Timber.i("Generated checkout data: %s", checkOutRequestData))
-                        .flatMapCompletable(checkOutRequestData -> networkManager.getLucaEndpointsV3()
-                                .flatMapCompletable(lucaEndpointsV3 -> lucaEndpointsV3.checkOut(checkOutRequestData))
-                                .onErrorResumeNext(throwable -> {
-                                    if (NetworkManager.isHttpException(throwable, HttpURLConnection.HTTP_NOT_FOUND)) {
-                                        // user is currently not checked-in
-                                        return Completable.complete();
-                                    }
-                                    return Completable.error(throwable);
-                                }))
+                        .map(checkOutRequestData -> new OutboxEntry(OutboxEntry.TYPE_CHECK_OUT, checkOutRequestData.getTraceId(), new Gson().toJson(checkOutRequestData)))
+                        .flatMapCompletable(this::sendOrAddToOutbox)
                         .onErrorResumeNext(throwable -> removeCheckInDataIfCheckedOut()
                                 .andThen(Completable.error(throwable))))
                 .andThen(processCheckOut())
@@ -605,10 +633,7 @@ public class CheckInManager extends Manager {
             if (automaticCheckoutDisposable != null && !automaticCheckoutDisposable.isDisposed()) {
                 automaticCheckoutDisposable.dispose();
             }
-            automaticCheckoutDisposable = createAutoCheckoutGeofenceRequest()
-                    .flatMapObservable(geofenceManager::getGeofenceEvents)
-                    .firstElement()
-                    .ignoreElement()
+            automaticCheckoutDisposable = awaitVenueExit()
                     .andThen(performAutomaticCheckout())
                     .doOnError(throwable -> Timber.w("Unable to perform automatic check-out: %s", throwable.toString()))
                     .retryWhen(errors -> errors
@@ -641,6 +666,35 @@ public class CheckInManager extends Manager {
                 .defaultIfEmpty(false);
     }
 
+    /**
+     * Completes as soon as the venue has been left. Uses a geofence if possible, otherwise the
+     * distance to the venue is tracked using location updates, e.g. if the geofencing service is
+     * unavailable because network location has been disabled.
+     */
+    @RequiresPermission("android.permission.ACCESS_FINE_LOCATION")
+    private Completable awaitVenueExit() {
+        return createAutoCheckoutGeofenceRequest()
+                .flatMapObservable(geofenceManager::getGeofenceEvents)
+                .firstElement()
+                .ignoreElement()
+                .onErrorResumeNext(throwable -> getCheckInDataIfAvailable()
+                        .filter(CheckInData::hasLocation)
+                        .switchIfEmpty(Single.error(throwable))
+                        .doOnSuccess(checkInData -> Timber.w("Unable to use geofence, tracking distance to venue instead: %s", throwable.toString()))
+                        .flatMapCompletable(this::awaitVenueExitUsingLocationUpdates));
+    }
+
+    @RequiresPermission("android.permission.ACCESS_FINE_LOCATION")
+    private Completable awaitVenueExitUsingLocationUpdates(@NonNull CheckInData checkInData) {
+        long radius = getAutomaticCheckOutRadius(checkInData);
+        return getVenueLocation()
+                .toSingle()
+                .flatMapObservable(venueLocation -> locationManager.getDistanceUpdatesTo(venueLocation, radius))
+                .filter(distance -> distance > radius)
+                .firstElement()
+                .ignoreElement();
+    }
+
     private Completable performAutomaticCheckout() {
         return checkOut()
                 .andThen(showAutomaticCheckoutNotification())
@@ -679,10 +733,7 @@ public class CheckInManager extends Manager {
                 return Single.error(new GeofenceException("No location available for check-in data"));
             }
 
-            long radius = checkInData.getRadius();
-            radius = Math.max(MINIMUM_GEOFENCE_RADIUS, radius);
-            radius = Math.min(MAXIMUM_GEOFENCE_RADIUS, radius);
-
+            long radius = getAutomaticCheckOutRadius(checkInData);
             return Single.just(new Geofence.Builder()
                     .setRequestId(checkInData.getLocationId().toString().toLowerCase())
                     .setCircularRegion(checkInData.getLatitude(), checkInData.getLongitude(), radius)
@@ -692,23 +743,219 @@ public class CheckInManager extends Manager {
         });
     }
 
+    private static long getAutomaticCheckOutRadius(@NonNull CheckInData checkInData) {
+        long radius = checkInData.getRadius();
+        radius = Math.max(MINIMUM_GEOFENCE_RADIUS, radius);
+        radius = Math.min(MAXIMUM_GEOFENCE_RADIUS, radius);
+        return radius;
+    }
+
     /**
      * If currently checked in, this will poll the backend and check the check-in status. If the
-     * status changes, this will trigger a checkout.
+     * status changes, this will trigger a checkout. The polling interval increases while the
+     * check-in status doesn't change.
      */
     public Completable monitorCheckOutAtBackend() {
-        return Observable.interval(0, CHECK_OUT_POLLING_INTERVAL, TimeUnit.MILLISECONDS, Schedulers.io())
-                .flatMapCompletable(tick -> isCheckedIn()
-                        .filter(Boolean::booleanValue)
-                        .flatMapCompletable(isCheckedIn -> checkOutIfNotCheckedInAtBackend())
+        return PollingScheduler.getInstance()
+                .poll(CHECK_OUT_POLLING_TASK, isCheckedIn()
+                        .flatMap(isCheckedIn -> isCheckedIn ? checkOutIfNotCheckedInAtBackendAndGetStatus() : Single.just(false))
                         .doOnError(throwable -> Timber.w("Unable to monitor backend check-out: %s", throwable.toString()))
-                        .onErrorComplete());
+                        .onErrorReturnItem(false))
+                .ignoreElements();
     }
 
-    public Completable checkOutIfNotCheckedInAtBackend() {
+    /**
+     * @return true if still checked in at the backend
+     */
+    private Single<Boolean> checkOutIfNotCheckedInAtBackendAndGetStatus() {
         return isCheckedInAtBackend(false)
-                .filter(isCheckedIn -> !isCheckedIn)
-                .flatMapCompletable(isCheckedOut -> processCheckOut());
+                .flatMap(isCheckedIn -> {
+                    if (isCheckedIn) {
+                        return Single.just(true);
+                    }
+                    return processCheckOut().andThen(Single.just(false));
+                });
+    }
+
+    public Completable checkOutIfNotCheckedInAtBackend() {
+        return checkOutIfNotCheckedInAtBackendAndGetStatus()
+                .ignoreElement();
+    }
+
+    /*
+        Outbox
+     */
+
+    /**
+     * Sends the request of the entry right away if possible. If the network is unavailable or the
+     * backend can't be reached, the entry is added to the {@link Outbox} and sent later by the {@link
+     * OutboxWorker}, so that it doesn't depend on the process staying alive.
+     * <p>
+     * Entries are sent in order, so if the outbox isn't empty the entry will be added to it as well.
+     */
+    private Completable sendOrAddToOutbox(@NonNull OutboxEntry entry) {
+        return getOrRestoreOutbox()
+                .flatMapCompletable(restoredOutbox -> {
+                    if (!restoredOutbox.isEmpty()) {
+                        return addToOutbox(entry);
+                    }
+                    return networkManager.assertNetworkConnected()
+                            .andThen(sendOutboxEntry(entry))
+                            .onErrorResumeNext(throwable -> {
+                                if (isRetryableOutboxError(throwable)) {
+                                    Timber.w("Unable to send request, adding it to the outbox: %s", throwable.toString());
+                                    return addToOutbox(entry);
+                                }
+                                return Completable.error(throwable);
+                            });
+                });
+    }
+
+    /**
+     * Sends all entries of the {@link Outbox} in order. Stops at the first entry that fails with a
+     * retryable error, entries failing with other errors are discarded.
+     */
+    public Completable drainOutbox() {
+        return getOrRestoreOutbox()
+                .flatMapMaybe(restoredOutbox -> Maybe.fromCallable(restoredOutbox::peek))
+                .flatMapCompletable(entry -> attemptToSendOutboxEntry(entry)
+                        .andThen(removeFromOutbox(entry))
+                        .andThen(drainOutbox()));
+    }
+
+    private Completable attemptToSendOutboxEntry(@NonNull OutboxEntry entry) {
+        return Completable.defer(() -> {
+            if (entry.getCreationTimestamp() < System.currentTimeMillis() - KEEP_DATA_DURATION) {
+                Timber.w("Discarding outdated outbox entry: %s", entry);
+                return Completable.complete();
+            }
+            entry.onAttempt();
+            return networkManager.assertNetworkConnected()
+                    .andThen(sendOutboxEntry(entry))
+                    .doOnComplete(() -> Timber.i("Sent outbox entry: %s", entry))
+                    .onErrorResumeNext(throwable -> {
+                        if (isRetryableOutboxError(throwable)) {
+                            Timber.w("Unable to send outbox entry %s: %s", entry, throwable.toString());
+                            return getOrRestoreOutbox()
+                                    .flatMapCompletable(this::persistOutbox)
+                                    .andThen(Completable.error(throwable));
+                        }
+                        Timber.w("Discarding outbox entry %s: %s", entry, throwable.toString());
+                        return Completable.complete();
+                    });
+        });
+    }
+
+    private Completable sendOutboxEntry(@NonNull OutboxEntry entry) {
+        return networkManager.getLucaEndpointsV3()
+                .flatMapCompletable(lucaEndpointsV3 -> {
+                    Gson gson = new Gson();
+                    switch (entry.getType()) {
+                        case OutboxEntry.TYPE_CHECK_OUT:
+                            CheckOutRequestData checkOutRequestData = gson.fromJson(entry.getPayload(), CheckOutRequestData.class);
+                            return lucaEndpointsV3.checkOut(checkOutRequestData)
+                                    .onErrorResumeNext(throwable -> {
+                                        if (NetworkManager.isHttpException(throwable, HttpURLConnection.HTTP_NOT_FOUND)) {
+                                            // user is currently not checked-in
+                                            return Completable.complete();
+                                        }
+                                        return Completable.error(throwable);
+                                    });
+                        case OutboxEntry.TYPE_ADDITIONAL_CHECK_IN_PROPERTIES:
+                            AdditionalCheckInPropertiesRequestData propertiesRequestData = gson.fromJson(entry.getPayload(), AdditionalCheckInPropertiesRequestData.class);
+                            return lucaEndpointsV3.addAdditionalCheckInProperties(propertiesRequestData);
+                        default:
+                            return Completable.error(new IllegalArgumentException("Unknown outbox entry type: " + entry.getType()));
+                    }
+                });
+    }
+
+    private Completable addToOutbox(@NonNull OutboxEntry entry) {
+        return getOrRestoreOutbox()
+                .flatMapCompletable(restoredOutbox -> {
+                    restoredOutbox.add(entry);
+                    return persistOutbox(restoredOutbox);
+                })
+                .andThen(scheduleOutboxDrain())
+                .doOnComplete(() -> Timber.d("Added entry to outbox: %s", entry));
+    }
+
+    private Completable removeFromOutbox(@NonNull OutboxEntry entry) {
+        return getOrRestoreOutbox()
+                .flatMapCompletable(restoredOutbox -> {
+                    restoredOutbox.remove(entry);
+                    return persistOutbox(restoredOutbox);
+                });
+    }
+
+    /**
+     * Discards all entries of the {@link Outbox} and cancels scheduled drains, e.g. because the
+     * account has been deleted.
+     */
+    public Completable deleteOutbox() {
+        return getOrRestoreOutbox()
+                .doOnSuccess(Outbox::clear)
+                .ignoreElement()
+                .andThen(Completable.fromAction(() -> {
+                    if (workManager != null) {
+                        workManager.cancelUniqueWork(OUTBOX_WORK_NAME);
+                    }
+                }))
+                .andThen(preferencesManager.delete(KEY_OUTBOX))
+                .doOnComplete(() -> Timber.d("Deleted outbox"));
+    }
+
+    Single<Outbox> getOrRestoreOutbox() {
+        return Maybe.fromCallable(() -> outbox)
+                .switchIfEmpty(preferencesManager.restoreOrDefault(KEY_OUTBOX, new Outbox())
+                        .doOnSuccess(restoredOutbox -> outbox = restoredOutbox));
+    }
+
+    private Completable persistOutbox(@NonNull Outbox outbox) {
+        return Single.fromCallable(outbox::copy)
+                .flatMapCompletable(outboxCopy -> preferencesManager.persist(KEY_OUTBOX, outboxCopy));
+    }
+
+    private Completable scheduleOutboxDrainIfRequired() {
+        return getOrRestoreOutbox()
+                .filter(restoredOutbox -> !restoredOutbox.isEmpty())
+                .flatMapCompletable(restoredOutbox -> scheduleOutboxDrain());
+    }
+
+    private Completable scheduleOutboxDrain() {
+        return Completable.fromAction(() -> {
+            if (workManager == null) {
+                managerDisposable.add(drainOutbox()
+                        .subscribeOn(Schedulers.io())
+                        .subscribe(
+                                () -> Timber.d("Outbox drained"),
+                                throwable -> Timber.w("Unable to drain outbox: %s", throwable.toString())
+                        ));
+                return;
+            }
+            Constraints constraints = new Constraints.Builder()
+                    .setRequiredNetworkType(NetworkType.CONNECTED)
+                    .build();
+
+            OneTimeWorkRequest drainWorkRequest = new OneTimeWorkRequest.Builder(OutboxWorker.class)
+                    .setConstraints(constraints)
+                    .setBackoffCriteria(BackoffPolicy.EXPONENTIAL, OUTBOX_RETRY_DELAY, TimeUnit.MILLISECONDS)
+                    .build();
+
+            workManager.enqueueUniqueWork(OUTBOX_WORK_NAME, ExistingWorkPolicy.APPEND_OR_REPLACE, drainWorkRequest);
+            Timber.d("Outbox drain work request submitted to work manager");
+        });
+    }
+
+    private static boolean isRetryableOutboxError(@NonNull Throwable throwable) {
+        if (ThrowableUtil.isNetworkError(throwable) || ThrowableUtil.isCause(NetworkUnavailableException.class, throwable)) {
+            return true;
+        }
+        if (throwable instanceof HttpException) {
+            int code = ((HttpException) throwable).code();
+            return code >= HttpURLConnection.HTTP_INTERNAL_ERROR || code == NetworkManager.HTTP_TOO_MANY_REQUESTS;
+        }
+        return false;
     }
 
     /*
@@ -890,26 +1137,31 @@ public class CheckInManager extends Manager {
                 .lastElement();
     }
 
+    /**
+     * Emits the trace data for the given trace IDs, sorted by check-in timestamp. Only trace IDs
+     * without a final state in the {@link TraceDataCache} will be requested from the backend.
+     */
     private Observable<TraceData> getTraceDataFromBackend(@NonNull List<byte[]> traceIds) {
         return Observable.fromIterable(traceIds)
-                .flatMapSingle(SerializationUtil::serializeToBase64)
+                .concatMapSingle(SerializationUtil::serializeToBase64)
                 .toList()
-                .filter(serializedTraceIds -> !serializedTraceIds.isEmpty())
-                .map(serializedTraceIds -> {
-                    JsonArray jsonArray = new JsonArray(serializedTraceIds.size());
-                    for (String serializedTraceId : serializedTraceIds) {
-                        jsonArray.add(serializedTraceId);
-                    }
-                    JsonObject jsonObject = new JsonObject();
-                    jsonObject.add("traceIds", jsonArray);
-                    return jsonObject;
-                })
-                .flatMapSingle(jsonObject -> networkManager.getLucaEndpointsV3()
-                        .flatMap(lucaEndpointsV3 -> lucaEndpointsV3.getTraces(jsonObject)))
-                .flatMapObservable(Observable::fromIterable)
+                .flatMapObservable(serializedTraceIds -> traceDataCache.getTraceData(serializedTraceIds, this::fetchTraceDataFromBackend))
                 .sorted((first, second) -> Long.compare(first.getCheckInTimestamp(), second.getCheckInTimestamp()));
     }
 
+    private Single<List<TraceData>> fetchTraceDataFromBackend(@NonNull List<String> serializedTraceIds) {
+        return Single.fromCallable(() -> {
+            JsonArray jsonArray = new JsonArray(serializedTraceIds.size());
+            for (String serializedTraceId : serializedTraceIds) {
+                jsonArray.add(serializedTraceId);
+            }
+            JsonObject jsonObject = new JsonObject();
+            jsonObject.add("traceIds", jsonArray);
+            return jsonObject;
+        }).flatMap(jsonObject -> networkManager.getLucaEndpointsV3()
+                .flatMap(lucaEndpointsV3 -> lucaEndpointsV3.getTraces(jsonObject)));
+    }
+
     public Single<Boolean> hasRecentTraceIds(boolean useOlderTraceIds) {
         return getRecentTraceIds(useOlderTraceIds)
                 .isEmpty()
@@ -931,7 +1183,8 @@ public class CheckInManager extends Manager {
     }
 
     public Completable deleteRecentTraceIds() {
-        return cryptoManager.deleteTraceData();
+        return cryptoManager.deleteTraceData()
+                .doOnComplete(traceDataCache::clear);
     }
 
     public Observable<String> getArchivedTraceIds() {
@@ -0,0 +1,92 @@
+package de.culture4life.luca.checkin;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.gson.annotations.Expose;
+import com.google.gson.annotations.SerializedName;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Ordered requests that still need to be sent to the luca backend, persisted in the encrypted
+ * preferences by {@link CheckInManager}.
+ */
+public class Outbox {
+
+    @Expose
+    @SerializedName("entries")
+    private List<OutboxEntry> entries;
+
+    public Outbox() {
+        entries = new ArrayList<>();
+    }
+
+    /**
+     * @return a snapshot that can be serialized while this outbox is modified
+     */
+    public synchronized Outbox copy() {
+        Outbox copy = new Outbox();
+        copy.entries.addAll(entries);
+        return copy;
+    }
+
+    /**
+     * Appends the entry, replacing any previous entry with the same idempotency key.
+     */
+    public synchronized void add(@NonNull OutboxEntry entry) {
+        remove(entry.getIdempotencyKey());
+        entries.add(entry);
+    }
+
+    public synchronized void remove(@NonNull String idempotencyKey) {
+        Iterator<OutboxEntry> iterator = entries.iterator();
+        while (iterator.hasNext()) {
+            if (idempotencyKey.equals(iterator.next().getIdempotencyKey())) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Removes the specified entry only. An entry that replaced it while it was being sent has the
+     * same idempotency key but a different creation timestamp, so it is kept.
+     */
+    public synchronized void remove(@NonNull OutboxEntry entry) {
+        Iterator<OutboxEntry> iterator = entries.iterator();
+        while (iterator.hasNext()) {
+            OutboxEntry currentEntry = iterator.next();
+            if (entry.getIdempotencyKey().equals(currentEntry.getIdempotencyKey())
+                    && entry.getCreationTimestamp() == currentEntry.getCreationTimestamp()) {
+                iterator.remove();
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    @Nullable
+    public synchronized OutboxEntry peek() {
+        return entries.isEmpty() ? null : entries.get(0);
+    }
+
+    public synchronized List<OutboxEntry> getEntries() {
+        return new ArrayList<>(entries);
+    }
+
+    public synchronized boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "Outbox{" +
+                "entries=" + entries +
+                '}';
+    }
+
+}
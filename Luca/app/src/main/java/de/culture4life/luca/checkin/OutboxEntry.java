@@ -0,0 +1,101 @@
+package de.culture4life.luca.checkin;
+
+import androidx.annotation.NonNull;
+
+import com.google.gson.annotations.Expose;
+import com.google.gson.annotations.SerializedName;
+
+/**
+ * A request to the luca backend that couldn't be sent yet, stored in the {@link Outbox} until the
+ * network is available again.
+ */
+public class OutboxEntry {
+
+    public static final int TYPE_CHECK_OUT = 0;
+    public static final int TYPE_ADDITIONAL_CHECK_IN_PROPERTIES = 1;
+
+    /**
+     * Identifies the mutation, entries with the same key replace each other.
+     */
+    @SerializedName("idempotencyKey")
+    @Expose
+    private String idempotencyKey;
+
+    @SerializedName("type")
+    @Expose
+    private int type;
+
+    /**
+     * The serialized request data, e.g. {@link de.culture4life.luca.network.pojo.CheckOutRequestData}.
+     */
+    @SerializedName("payload")
+    @Expose
+    private String payload;
+
+    @SerializedName("creationTimestamp")
+    @Expose
+    private long creationTimestamp;
+
+    @SerializedName("attempts")
+    @Expose
+    private int attempts;
+
+    @SerializedName("lastAttemptTimestamp")
+    @Expose
+    private long lastAttemptTimestamp;
+
+    public OutboxEntry() {
+    }
+
+    public OutboxEntry(int type, @NonNull String traceId, @NonNull String payload) {
+        this(type, traceId, payload, System.currentTimeMillis());
+    }
+
+    OutboxEntry(int type, @NonNull String traceId, @NonNull String payload, long creationTimestamp) {
+        this.idempotencyKey = type + "_" + traceId;
+        this.type = type;
+        this.payload = payload;
+        this.creationTimestamp = creationTimestamp;
+    }
+
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    public int getType() {
+        return type;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public long getCreationTimestamp() {
+        return creationTimestamp;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public long getLastAttemptTimestamp() {
+        return lastAttemptTimestamp;
+    }
+
+    public void onAttempt() {
+        attempts++;
+        lastAttemptTimestamp = System.currentTimeMillis();
+    }
+
+    @Override
+    public String toString() {
+        return "OutboxEntry{" +
+                "idempotencyKey='" + idempotencyKey + '\'' +
+                ", type=" + type +
+                ", creationTimestamp=" + creationTimestamp +
+                ", attempts=" + attempts +
+                ", lastAttemptTimestamp=" + lastAttemptTimestamp +
+                '}';
+    }
+
+}
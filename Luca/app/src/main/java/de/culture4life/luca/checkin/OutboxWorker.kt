@@ -0,0 +1,31 @@
+package de.culture4life.luca.checkin
+
+import android.content.Context
+import androidx.work.WorkerParameters
+import androidx.work.rxjava3.RxWorker
+import de.culture4life.luca.LucaApplication
+import io.reactivex.rxjava3.core.Completable
+import io.reactivex.rxjava3.core.Single
+import io.reactivex.rxjava3.schedulers.Schedulers
+
+/**
+ * Sends the requests stored in the [Outbox]. Scheduled with a network constraint and exponential
+ * back-off, so failed attempts are retried once connectivity returns.
+ */
+class OutboxWorker(
+    appContext: Context,
+    workerParams: WorkerParameters
+) : RxWorker(appContext, workerParams) {
+
+    override fun createWork(): Single<Result> {
+        return Completable.defer {
+            val application = applicationContext as LucaApplication
+            val checkInManager = application.checkInManager
+            checkInManager.initialize(application)
+                .andThen(checkInManager.drainOutbox())
+                .subscribeOn(Schedulers.io())
+        }.andThen(Single.just(Result.success()))
+            .onErrorReturnItem(Result.retry())
+    }
+
+}
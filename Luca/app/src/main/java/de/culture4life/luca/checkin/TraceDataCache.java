@@ -0,0 +1,101 @@
+package de.culture4life.luca.checkin;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import de.culture4life.luca.network.pojo.TraceData;
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.functions.Function;
+import timber.log.Timber;
+
+import static de.culture4life.luca.history.HistoryManager.KEEP_DATA_DURATION;
+
+/**
+ * Keeps trace data that can't change anymore, so that polling the backend only needs to send trace
+ * IDs with an unknown or open state.
+ * <p>
+ * Trace data is final once the check-out timestamp has passed or the check-in is older than {@link
+ * de.culture4life.luca.history.HistoryManager#KEEP_DATA_DURATION}. Trace IDs that haven't been
+ * used for a check-in are never final, as the backend doesn't return data for them.
+ */
+public class TraceDataCache {
+
+    private final int maximumSize;
+    private final Map<String, TraceData> finalTraceData;
+
+    public TraceDataCache(int maximumSize) {
+        this.maximumSize = maximumSize;
+        this.finalTraceData = new LinkedHashMap<String, TraceData>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Entry<String, TraceData> eldest) {
+                return size() > TraceDataCache.this.maximumSize;
+            }
+        };
+    }
+
+    /**
+     * Emits the trace data for the given trace IDs, in no specific order. Final trace data is taken
+     * from the cache, only the remaining trace IDs are requested using the given function.
+     */
+    public Observable<TraceData> getTraceData(@NonNull List<String> traceIds, @NonNull Function<List<String>, Single<List<TraceData>>> fetchTraceData) {
+        return Observable.defer(() -> {
+            List<TraceData> cachedTraceData = new ArrayList<>();
+            List<String> unresolvedTraceIds = new ArrayList<>();
+            for (String traceId : traceIds) {
+                TraceData traceData = get(traceId);
+                if (traceData != null) {
+                    cachedTraceData.add(traceData);
+                } else {
+                    unresolvedTraceIds.add(traceId);
+                }
+            }
+
+            Observable<TraceData> fetchedTraceData;
+            if (unresolvedTraceIds.isEmpty()) {
+                fetchedTraceData = Observable.empty();
+            } else {
+                fetchedTraceData = fetchTraceData.apply(unresolvedTraceIds)
+                        .doOnSubscribe(disposable -> Timber.v("Requesting trace data for %d of %d trace IDs", unresolvedTraceIds.size(), traceIds.size()))
+                        .flatMapObservable(Observable::fromIterable)
+                        .doOnNext(this::putIfFinal);
+            }
+            return fetchedTraceData.concatWith(Observable.fromIterable(cachedTraceData));
+        });
+    }
+
+    @Nullable
+    public synchronized TraceData get(@NonNull String traceId) {
+        return finalTraceData.get(traceId);
+    }
+
+    public synchronized void putIfFinal(@NonNull TraceData traceData) {
+        if (traceData.getTraceId() != null && isFinal(traceData, System.currentTimeMillis())) {
+            finalTraceData.put(traceData.getTraceId(), traceData);
+        }
+    }
+
+    public synchronized int size() {
+        return finalTraceData.size();
+    }
+
+    public synchronized void clear() {
+        finalTraceData.clear();
+    }
+
+    static boolean isFinal(@NonNull TraceData traceData, long currentTimestamp) {
+        long checkOutTimestamp = TimeUnit.SECONDS.toMillis(traceData.getCheckOutTimestamp());
+        if (checkOutTimestamp > 0 && checkOutTimestamp <= currentTimestamp) {
+            return true;
+        }
+        long checkInTimestamp = TimeUnit.SECONDS.toMillis(traceData.getCheckInTimestamp());
+        return checkInTimestamp > 0 && checkInTimestamp < currentTimestamp - KEEP_DATA_DURATION;
+    }
+
+}
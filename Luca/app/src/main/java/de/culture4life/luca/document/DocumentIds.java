@@ -0,0 +1,17 @@
+package de.culture4life.luca.document;
+
+import androidx.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+public class DocumentIds extends ArrayList<String> {
+
+    public DocumentIds() {
+    }
+
+    public DocumentIds(@NonNull Collection<String> ids) {
+        super(ids);
+    }
+
+}
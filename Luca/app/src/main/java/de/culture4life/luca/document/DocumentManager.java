@@ -4,15 +4,27 @@ import android.content.Context;
 import android.util.Base64;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.work.ExistingWorkPolicy;
+import androidx.work.OneTimeWorkRequest;
+import androidx.work.WorkManager;
 
 import com.google.gson.JsonObject;
 import com.nexenio.rxkeystore.util.RxBase64;
 
 import java.net.HttpURLConnection;
 import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import de.culture4life.luca.BuildConfig;
+import de.culture4life.luca.LucaApplication;
 import de.culture4life.luca.Manager;
 import de.culture4life.luca.children.Children;
 import de.culture4life.luca.children.ChildrenManager;
@@ -20,7 +32,9 @@ import de.culture4life.luca.crypto.CryptoManager;
 import de.culture4life.luca.crypto.HashProvider;
 import de.culture4life.luca.document.DocumentVerificationException.Reason;
 import de.culture4life.luca.document.provider.DocumentProvider;
+import de.culture4life.luca.document.provider.DocumentProviderRouter;
 import de.culture4life.luca.document.provider.ProvidedDocument;
+import de.culture4life.luca.document.provider.SignatureVerificationCache;
 import de.culture4life.luca.document.provider.appointment.AppointmentProvider;
 import de.culture4life.luca.document.provider.baercode.BaercodeDocumentProvider;
 import de.culture4life.luca.document.provider.eudcc.EudccDocumentProvider;
@@ -28,7 +42,6 @@ import de.culture4life.luca.document.provider.opentestcheck.OpenTestCheckDocumen
 import de.culture4life.luca.document.provider.ubirch.UbirchDocumentProvider;
 import de.culture4life.luca.history.HistoryManager;
 import de.culture4life.luca.network.NetworkManager;
-import de.culture4life.luca.network.endpoints.LucaEndpointsV3;
 import de.culture4life.luca.network.pojo.DocumentProviderData;
 import de.culture4life.luca.network.pojo.DocumentProviderDataList;
 import de.culture4life.luca.preference.PreferencesManager;
@@ -40,14 +53,26 @@ import io.reactivex.rxjava3.core.Completable;
 import io.reactivex.rxjava3.core.Maybe;
 import io.reactivex.rxjava3.core.Observable;
 import io.reactivex.rxjava3.core.Single;
-import io.reactivex.rxjava3.functions.Predicate;
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.functions.Function;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import retrofit2.HttpException;
 import timber.log.Timber;
 
 public class DocumentManager extends Manager {
 
+    /**
+     * Legacy key, all documents used to be persisted as a single {@link Documents} list.
+     */
     public static final String KEY_DOCUMENTS = "test_results";
+    public static final String KEY_DOCUMENT_IDS = "stored_document_ids";
+    public static final String KEY_DOCUMENT_PREFIX = "stored_document_";
     public static final String KEY_DOCUMENT_TAG = "test_result_tag_";
     public static final String KEY_PROVIDER_DATA = "document_provider_data";
+    public static final String KEY_PROVIDER_DATA_METADATA = "document_provider_data_metadata";
+    private static final long PROVIDER_DATA_MAXIMUM_AGE = TimeUnit.HOURS.toMillis(12);
+    static final long UNKNOWN_FINGERPRINT_RETENTION_DURATION = TimeUnit.MINUTES.toMillis(5);
+    private static final String EXPIRED_DOCUMENTS_DELETION_WORK_NAME = "expired_documents_deletion";
     private static final byte[] DOCUMENT_REDEEM_HASH_SUFFIX = "testRedeemCheck".getBytes(StandardCharsets.UTF_8);
 
     private final PreferencesManager preferencesManager;
@@ -62,8 +87,15 @@ public class DocumentManager extends Manager {
     private final OpenTestCheckDocumentProvider openTestCheckDocumentProvider;
     private EudccDocumentProvider eudccDocumentProvider;
     private BaercodeDocumentProvider baercodeDocumentProvider;
+    private DocumentProviderRouter documentProviderRouter;
+    private final SignatureVerificationCache verificationCache = new SignatureVerificationCache();
 
-    private Documents documents;
+    private DocumentStore documentStore;
+    private WorkManager workManager;
+    private final Map<String, Long> unknownFingerprintTimestamps = new ConcurrentHashMap<>();
+    private final AtomicInteger importSessionCount = new AtomicInteger();
+    @Nullable
+    private Disposable documentProviderDataRefreshDisposable;
 
     public DocumentManager(@NonNull PreferencesManager preferencesManager, @NonNull NetworkManager networkManager, @NonNull HistoryManager historyManager,
                            @NonNull CryptoManager cryptoManager, @NonNull RegistrationManager registrationManager, @NonNull ChildrenManager childrenManager) {
@@ -89,12 +121,24 @@ public class DocumentManager extends Manager {
                 cryptoManager.initialize(context)
         ).andThen(deleteExpiredDocuments())
                 .doOnComplete(() -> {
+                    if (!LucaApplication.isRunningUnitTests()) {
+                        this.workManager = WorkManager.getInstance(context);
+                    }
                     this.eudccDocumentProvider = new EudccDocumentProvider(context);
                     this.baercodeDocumentProvider = new BaercodeDocumentProvider(context);
-                });
+                    this.documentProviderRouter = createDocumentProviderRouter();
+                })
+                .andThen(Completable.defer(() -> eudccDocumentProvider.loadSignerCertificateStore())
+                        .doOnError(throwable -> Timber.w("Unable to load EUDCC signer certificates: %s", throwable.toString()))
+                        .onErrorComplete())
+                .andThen(scheduleExpiredDocumentsDeletion());
     }
 
     public Single<Document> parseAndValidateEncodedDocument(@NonNull String encodedDocument) {
+        return withinImportSession(parseAndValidateEncodedDocumentInSession(encodedDocument));
+    }
+
+    private Single<Document> parseAndValidateEncodedDocumentInSession(@NonNull String encodedDocument) {
         Single<Person> getPerson = registrationManager.getOrCreateRegistrationData()
                 .map(RegistrationData::getPerson);
 
@@ -119,7 +163,7 @@ public class DocumentManager extends Manager {
     }
 
     public Single<? extends ProvidedDocument> parseEncodedDocument(@NonNull String encodedDocument) {
-        return Single.mergeDelayError(getDocumentProvidersFor(encodedDocument)
+        return withinImportSession(Single.mergeDelayError(getDocumentProvidersFor(encodedDocument)
                 .doOnNext(documentProvider -> Timber.v("Attempting to parse using %s", documentProvider.getClass().getSimpleName()))
                 .map(documentProvider -> documentProvider.verify(encodedDocument)
                         .andThen(documentProvider.parse(encodedDocument))
@@ -132,7 +176,7 @@ public class DocumentManager extends Manager {
                     } else {
                         return Single.error(throwable);
                     }
-                });
+                }));
     }
 
     public Completable addDocument(@NonNull Document document) {
@@ -156,28 +200,31 @@ public class DocumentManager extends Manager {
                             && document.getType() != Document.TYPE_APPOINTMENT) {
                         return Completable.error(new DocumentVerificationException(Reason.OUTCOME_UNKNOWN));
                     }
-                    return getOrRestoreDocuments()
-                            .mergeWith(Observable.just(document))
-                            .toList()
-                            .map(Documents::new)
-                            .flatMapCompletable(this::persistDocuments)
+                    return persistDocument(document)
                             .andThen(addToHistory(document))
                             .doOnSubscribe(disposable -> Timber.d("Persisting document: %s", document));
                 });
     }
 
+    /**
+     * Emits the single provider responsible for the encoded document, based on the cheap signature
+     * checks of the {@link DocumentProviderRouter}. The actual decoding only happens when parsing.
+     */
     private Observable<? extends DocumentProvider<? extends ProvidedDocument>> getDocumentProvidersFor(@NonNull String encodedDocument) {
-        return getDocumentProviders()
-                .filter(documentProvider -> documentProvider.canParse(encodedDocument).blockingGet());
+        return Maybe.fromCallable(() -> documentProviderRouter)
+                .flatMap(router -> router.route(encodedDocument))
+                .toObservable();
     }
 
-    private Observable<? extends DocumentProvider<? extends ProvidedDocument>> getDocumentProviders() {
-        return Observable.just(
-                appointmentProvider,
-                openTestCheckDocumentProvider,
-                baercodeDocumentProvider,
-                eudccDocumentProvider
-        ); // TODO: 07.05.21 add ubirch
+    private DocumentProviderRouter createDocumentProviderRouter() {
+        openTestCheckDocumentProvider.setVerificationCache(verificationCache);
+        eudccDocumentProvider.setVerificationCache(verificationCache);
+        baercodeDocumentProvider.setVerificationCache(verificationCache);
+        return new DocumentProviderRouter()
+                .register(appointmentProvider)
+                .register(openTestCheckDocumentProvider)
+                .register(eudccDocumentProvider)
+                .register(baercodeDocumentProvider); // TODO: 07.05.21 add ubirch
     }
 
     /**
@@ -257,47 +304,129 @@ public class DocumentManager extends Manager {
     }
 
     public Maybe<Document> getDocumentResultIfAvailable(@NonNull String id) {
-        return getOrRestoreDocuments()
-                .filter(document -> id.equals(document.getId()))
-                .firstElement();
+        return getOrRestoreDocumentStore()
+                .flatMapMaybe(store -> Maybe.fromCallable(() -> store.get(id)));
     }
 
     public Observable<Document> getOrRestoreDocuments() {
-        return Maybe.fromCallable(() -> documents)
+        return getOrRestoreDocumentStore()
+                .flatMapObservable(store -> Observable.fromIterable(store.getDocuments()));
+    }
+
+    public Observable<Document> getOrRestoreDocuments(int type) {
+        return getOrRestoreDocumentStore()
+                .flatMapObservable(store -> Observable.fromIterable(store.getDocuments(type)));
+    }
+
+    private Single<DocumentStore> getOrRestoreDocumentStore() {
+        return Maybe.fromCallable(() -> documentStore)
+                .switchIfEmpty(restoreDocumentStore());
+    }
+
+    /**
+     * Restores the ID index and the individually persisted documents. Documents persisted in the
+     * legacy format are migrated first.
+     */
+    private Single<DocumentStore> restoreDocumentStore() {
+        return migrateLegacyDocumentsIfRequired()
+                .andThen(preferencesManager.restoreOrDefault(KEY_DOCUMENT_IDS, new DocumentIds()))
                 .flatMapObservable(Observable::fromIterable)
-                .switchIfEmpty(restoreDocuments());
+                .concatMapMaybe(id -> preferencesManager.restoreIfAvailable(getDocumentKey(id), Document.class))
+                .toList()
+                .map(DocumentStore::new)
+                .doOnSuccess(restoredStore -> this.documentStore = restoredStore);
     }
 
-    private Observable<Document> restoreDocuments() {
-        return preferencesManager.restoreOrDefault(KEY_DOCUMENTS, new Documents())
-                .doOnSuccess(restoredData -> this.documents = restoredData)
-                .flatMapObservable(Observable::fromIterable);
+    private Completable migrateLegacyDocumentsIfRequired() {
+        return preferencesManager.restoreIfAvailable(KEY_DOCUMENTS, Documents.class)
+                .map(DocumentStore::new)
+                .flatMapCompletable(legacyStore -> Observable.fromIterable(legacyStore.getDocuments())
+                        .concatMapCompletable(document -> preferencesManager.persist(getDocumentKey(document.getId()), document))
+                        .andThen(persistDocumentIds(legacyStore))
+                        .andThen(preferencesManager.delete(KEY_DOCUMENTS))
+                        .doOnComplete(() -> Timber.i("Migrated %d legacy documents", legacyStore.size())));
+    }
+
+    /**
+     * Persists the given document under its own key, so that other stored documents don't need to
+     * be serialized again. Only the small ID index is updated in addition.
+     */
+    private Completable persistDocument(@NonNull Document document) {
+        return getOrRestoreDocumentStore()
+                .flatMapCompletable(store -> preferencesManager.persist(getDocumentKey(document.getId()), document)
+                        .andThen(Completable.fromAction(() -> store.put(document)))
+                        .andThen(persistDocumentIds(store)))
+                .andThen(scheduleExpiredDocumentsDeletion());
     }
 
-    private Completable persistDocuments(@NonNull Documents documents) {
-        return preferencesManager.persist(KEY_DOCUMENTS, documents)
-                .doOnSubscribe(disposable -> this.documents = documents);
+    private Completable persistDocumentIds(@NonNull DocumentStore store) {
+        return Single.fromCallable(() -> new DocumentIds(store.getIds()))
+                .flatMapCompletable(ids -> preferencesManager.persist(KEY_DOCUMENT_IDS, ids));
+    }
+
+    private static String getDocumentKey(@NonNull String id) {
+        return KEY_DOCUMENT_PREFIX + id;
     }
 
     public Completable reImportDocuments() {
-        return getOrRestoreDocuments()
+        return withinImportSession(getOrRestoreDocuments()
                 .flatMapSingle(document -> unredeemDocument(document)
                         .andThen(Single.just(document)))
                 .map(Document::getEncodedData).toList()
                 .doOnSuccess(encodedDocuments -> Timber.i("Re-importing %d documents", encodedDocuments.size()))
                 .flatMapCompletable(encodedDocuments -> clearDocuments()
+                        .andThen(Maybe.fromCallable(() -> eudccDocumentProvider)
+                                .flatMapCompletable(provider -> provider.decodeAll(encodedDocuments))
+                                .doOnError(throwable -> Timber.w("Unable to decode EUDCCs in parallel: %s", throwable.toString()))
+                                .onErrorComplete())
                         .andThen(Observable.fromIterable(encodedDocuments)
-                                .flatMapCompletable(encodedDocument -> parseAndValidateEncodedDocument(encodedDocument)
+                                .flatMapCompletable(encodedDocument -> parseAndValidateEncodedDocumentInSession(encodedDocument)
                                         .doOnSuccess(document -> Timber.d("Re-importing document: %s", document))
                                         .flatMapCompletable(document -> redeemDocument(document)
                                                 .andThen(addDocument(document)))
                                         .doOnError(throwable -> Timber.w("Unable to re-import document: %s", throwable.toString()))
-                                        .onErrorComplete())));
+                                        .onErrorComplete()))));
+    }
+
+    /*
+        Import sessions
+     */
+
+    /**
+     * Runs the source within an import session. Providers may cache intermediate results while
+     * classifying, parsing and verifying documents during a session. Sessions may be nested, the
+     * results are released once the outermost session has completed, failed or been disposed.
+     */
+    private <T> Single<T> withinImportSession(@NonNull Single<T> source) {
+        return Single.defer(() -> {
+            importSessionCount.incrementAndGet();
+            return source.doFinally(this::finishImportSessionIfRequired);
+        });
+    }
+
+    private Completable withinImportSession(@NonNull Completable source) {
+        return Completable.defer(() -> {
+            importSessionCount.incrementAndGet();
+            return source.doFinally(this::finishImportSessionIfRequired);
+        });
+    }
+
+    private void finishImportSessionIfRequired() {
+        DocumentProviderRouter router = documentProviderRouter;
+        if (importSessionCount.decrementAndGet() > 0 || router == null) {
+            return;
+        }
+        router.getDocumentProviders()
+                .blockingForEach(DocumentProvider::onImportSessionFinished);
     }
 
     public Completable clearDocuments() {
-        return preferencesManager.delete(KEY_DOCUMENTS)
-                .doOnComplete(() -> documents = null);
+        return getOrRestoreDocumentStore()
+                .flatMapObservable(store -> Observable.fromIterable(store.getIds()))
+                .concatMapCompletable(id -> preferencesManager.delete(getDocumentKey(id)))
+                .andThen(preferencesManager.delete(KEY_DOCUMENT_IDS))
+                .doOnComplete(() -> documentStore = null)
+                .andThen(scheduleExpiredDocumentsDeletion());
     }
 
     public Completable deleteExpiredDocuments() {
@@ -306,57 +435,223 @@ public class DocumentManager extends Manager {
     }
 
     private Completable deleteDocumentsExpiredBefore(long timestamp) {
-        return deleteDocuments(document -> timestamp < document.getExpirationTimestamp())
+        return deleteDocuments(store -> store.getIdsExpiredBefore(timestamp))
                 .doOnSubscribe(disposable -> Timber.d("Deleting documents expired before %d", timestamp));
     }
 
     public Completable deleteDocument(@NonNull String id) {
-        return deleteDocuments(document -> !id.equals(document.getId()))
+        return deleteDocuments(store -> Collections.singletonList(id))
                 .doOnSubscribe(disposable -> Timber.d("Deleting document: %s", id));
     }
 
-    private Completable deleteDocuments(@NonNull Predicate<Document> filterFunction) {
-        return getOrRestoreDocuments()
-                .filter(filterFunction)
-                .toList()
-                .map(Documents::new)
-                .flatMapCompletable(this::persistDocuments);
+    private Completable deleteDocuments(@NonNull Function<DocumentStore, List<String>> idsFunction) {
+        return getOrRestoreDocumentStore()
+                .flatMapCompletable(store -> Observable.fromIterable(idsFunction.apply(store))
+                        .filter(store::contains)
+                        .toList()
+                        .flatMapCompletable(ids -> {
+                            if (ids.isEmpty()) {
+                                return Completable.complete();
+                            }
+                            return Observable.fromIterable(ids)
+                                    .concatMapCompletable(id -> preferencesManager.delete(getDocumentKey(id))
+                                            .doOnComplete(() -> store.remove(id)))
+                                    .andThen(persistDocumentIds(store))
+                                    .andThen(scheduleExpiredDocumentsDeletion());
+                        }));
+    }
+
+    /**
+     * Schedules a single deletion of expired documents at the next expiration timestamp known to
+     * the {@link DocumentStore}, replacing any previously scheduled deletion. Loading documents is
+     * thus free of writes, expired documents are removed in the background instead.
+     */
+    private Completable scheduleExpiredDocumentsDeletion() {
+        return getOrRestoreDocumentStore()
+                .flatMapCompletable(store -> Completable.fromAction(() -> {
+                    if (workManager == null || BuildConfig.DEBUG) {
+                        return;
+                    }
+                    Long nextExpirationTimestamp = store.getNextExpirationTimestamp();
+                    if (nextExpirationTimestamp == null) {
+                        workManager.cancelUniqueWork(EXPIRED_DOCUMENTS_DELETION_WORK_NAME);
+                        return;
+                    }
+                    long delay = Math.max(0, nextExpirationTimestamp - System.currentTimeMillis());
+                    OneTimeWorkRequest deletionWorkRequest = new OneTimeWorkRequest.Builder(ExpiredDocumentsDeletionWorker.class)
+                            .setInitialDelay(delay, TimeUnit.MILLISECONDS)
+                            .build();
+                    workManager.enqueueUniqueWork(EXPIRED_DOCUMENTS_DELETION_WORK_NAME, ExistingWorkPolicy.REPLACE, deletionWorkRequest);
+                    Timber.d("Scheduled deletion of expired documents in %d ms", delay);
+                }));
     }
 
     /**
      * Will emit the {@link DocumentProviderData} with a matching fingerprint or all available data
      * if no fingerprint matches.
+     * <p>
+     * Persisted data is refreshed in the background once it exceeds {@link #PROVIDER_DATA_MAXIMUM_AGE}.
+     * Fingerprints that could not be found in freshly fetched data are remembered for
+     * {@link #UNKNOWN_FINGERPRINT_RETENTION_DURATION}, during which no further downloads are
+     * triggered for them.
      */
     public Observable<DocumentProviderData> getDocumentProviderData(@NonNull String fingerprint) {
         Observable<DocumentProviderData> restoredData = restoreDocumentProviderDataListIfAvailable()
                 .flatMapObservable(Observable::fromIterable);
 
-        Observable<DocumentProviderData> fetchedData = fetchDocumentProviderDataList()
-                .flatMap(documentProviderData -> persistDocumentProviderDataList(documentProviderData)
-                        .andThen(Single.just(documentProviderData)))
-                .flatMapObservable(Observable::fromIterable)
+        Observable<DocumentProviderData> fetchedData = Single.defer(() -> {
+            if (isRecentlyUnknownFingerprint(fingerprint)) {
+                Timber.d("Not fetching document provider data, fingerprint was unknown recently: %s", fingerprint);
+                return restoreDocumentProviderDataListIfAvailable()
+                        .defaultIfEmpty(new DocumentProviderDataList());
+            }
+            return updateDocumentProviderDataList()
+                    .doOnSuccess(documentProviderDataList -> {
+                        if (!containsFingerprint(documentProviderDataList, fingerprint)) {
+                            rememberUnknownFingerprint(fingerprint);
+                        }
+                    });
+        }).flatMapObservable(Observable::fromIterable)
                 .cache();
 
         return getDocumentProviderData(restoredData, fingerprint) // find fingerprint in previously persisted data
+                .doOnNext(documentProviderData -> refreshDocumentProviderDataListInBackgroundIfRequired())
                 .switchIfEmpty(getDocumentProviderData(fetchedData, fingerprint)) // find fingerprint in fetched data
                 .switchIfEmpty(fetchedData); // fingerprint not found, emit all fetched data
     }
 
+    private static boolean containsFingerprint(@NonNull DocumentProviderDataList documentProviderDataList, @NonNull String fingerprint) {
+        for (DocumentProviderData documentProviderData : documentProviderDataList) {
+            if (fingerprint.equals(documentProviderData.getFingerprint())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     public Observable<DocumentProviderData> getDocumentProviderData(Observable<DocumentProviderData> providerData, @NonNull String fingerprint) {
         return providerData.filter(documentProviderData -> fingerprint.equals(documentProviderData.getFingerprint()));
     }
 
+    /**
+     * Remembers the fingerprint as unknown and forgets fingerprints that exceeded the {@link
+     * #UNKNOWN_FINGERPRINT_RETENTION_DURATION}, so that arbitrary fingerprints from scanned
+     * documents don't accumulate.
+     */
+    private void rememberUnknownFingerprint(@NonNull String fingerprint) {
+        long currentTimestamp = getCurrentTimestamp();
+        Iterator<Map.Entry<String, Long>> iterator = unknownFingerprintTimestamps.entrySet().iterator();
+        while (iterator.hasNext()) {
+            if (currentTimestamp - iterator.next().getValue() >= UNKNOWN_FINGERPRINT_RETENTION_DURATION) {
+                iterator.remove();
+            }
+        }
+        unknownFingerprintTimestamps.put(fingerprint, currentTimestamp);
+    }
+
+    private boolean isRecentlyUnknownFingerprint(@NonNull String fingerprint) {
+        Long timestamp = unknownFingerprintTimestamps.get(fingerprint);
+        return timestamp != null && getCurrentTimestamp() - timestamp < UNKNOWN_FINGERPRINT_RETENTION_DURATION;
+    }
+
+    protected long getCurrentTimestamp() {
+        return System.currentTimeMillis();
+    }
+
+    private void refreshDocumentProviderDataListInBackgroundIfRequired() {
+        if (documentProviderDataRefreshDisposable != null && !documentProviderDataRefreshDisposable.isDisposed()) {
+            return;
+        }
+        documentProviderDataRefreshDisposable = isDocumentProviderDataListOutdated()
+                .filter(isOutdated -> isOutdated)
+                .flatMapSingle(isOutdated -> updateDocumentProviderDataList())
+                .subscribeOn(Schedulers.io())
+                .subscribe(
+                        documentProviderData -> Timber.d("Refreshed document provider data"),
+                        throwable -> Timber.w("Unable to refresh document provider data: %s", throwable.toString())
+                );
+        managerDisposable.add(documentProviderDataRefreshDisposable);
+    }
+
+    private Single<Boolean> isDocumentProviderDataListOutdated() {
+        return restoreDocumentProviderDataListMetadataIfAvailable()
+                .map(metadata -> System.currentTimeMillis() - metadata.getFetchTimestamp() > PROVIDER_DATA_MAXIMUM_AGE)
+                .defaultIfEmpty(true);
+    }
+
+    private Single<DocumentProviderDataList> updateDocumentProviderDataList() {
+        return fetchDocumentProviderDataList()
+                .flatMap(documentProviderData -> persistDocumentProviderDataList(documentProviderData)
+                        .andThen(Single.just(documentProviderData)));
+    }
+
+    /**
+     * Fetches the provider data using a conditional request if an entity tag is available. If the
+     * data has not been modified, the persisted data is emitted instead.
+     */
     protected Single<DocumentProviderDataList> fetchDocumentProviderDataList() {
+        return restoreDocumentProviderDataListMetadataIfAvailable()
+                .filter(metadata -> metadata.getETag() != null)
+                .map(DocumentProviderDataListMetadata::getETag)
+                .flatMapSingle(this::fetchDocumentProviderDataList)
+                .switchIfEmpty(fetchDocumentProviderDataList(null));
+    }
+
+    /**
+     * If the data has not been modified but is not available anymore, the metadata is deleted and
+     * the data is fetched again without the entity tag.
+     */
+    private Single<DocumentProviderDataList> fetchDocumentProviderDataList(@Nullable String eTag) {
         return networkManager.getLucaEndpointsV3()
-                .flatMap(LucaEndpointsV3::getDocumentProviders);
+                .flatMap(lucaEndpointsV3 -> lucaEndpointsV3.getDocumentProviders(eTag))
+                .flatMap(response -> {
+                    if (eTag != null && response.code() == HttpURLConnection.HTTP_NOT_MODIFIED) {
+                        Timber.d("Document provider data not modified");
+                        return restoreDocumentProviderDataListIfAvailable()
+                                .flatMapSingle(documentProviderData -> persistDocumentProviderDataListMetadata(eTag)
+                                        .andThen(Single.just(documentProviderData)))
+                                .switchIfEmpty(Single.defer(() -> {
+                                    Timber.w("Document provider data not modified but not available, fetching again");
+                                    return preferencesManager.delete(KEY_PROVIDER_DATA_METADATA)
+                                            .andThen(fetchDocumentProviderDataList(null));
+                                }));
+                    }
+                    DocumentProviderDataList documentProviderData = response.body();
+                    if (!response.isSuccessful() || documentProviderData == null) {
+                        return Single.error(new HttpException(response));
+                    }
+                    return persistDocumentProviderDataListMetadata(response.headers().get("ETag"))
+                            .andThen(Single.just(documentProviderData));
+                });
     }
 
     public Maybe<DocumentProviderDataList> restoreDocumentProviderDataListIfAvailable() {
         return preferencesManager.restoreIfAvailable(KEY_PROVIDER_DATA, DocumentProviderDataList.class);
     }
 
+    /**
+     * Persists the given provider data, unless it equals the already persisted data.
+     */
     protected Completable persistDocumentProviderDataList(@NonNull DocumentProviderDataList documentProviderData) {
-        return preferencesManager.persist(KEY_PROVIDER_DATA, documentProviderData);
+        return restoreDocumentProviderDataListIfAvailable()
+                .filter(documentProviderData::equals)
+                .isEmpty()
+                .flatMapCompletable(hasChanged -> {
+                    if (!hasChanged) {
+                        return Completable.complete();
+                    }
+                    return preferencesManager.persist(KEY_PROVIDER_DATA, documentProviderData)
+                            .doOnComplete(unknownFingerprintTimestamps::clear);
+                });
+    }
+
+    private Maybe<DocumentProviderDataListMetadata> restoreDocumentProviderDataListMetadataIfAvailable() {
+        return preferencesManager.restoreIfAvailable(KEY_PROVIDER_DATA_METADATA, DocumentProviderDataListMetadata.class);
+    }
+
+    private Completable persistDocumentProviderDataListMetadata(@Nullable String eTag) {
+        return Single.fromCallable(() -> new DocumentProviderDataListMetadata(System.currentTimeMillis(), eTag))
+                .flatMapCompletable(metadata -> preferencesManager.persist(KEY_PROVIDER_DATA_METADATA, metadata));
     }
 
     /**
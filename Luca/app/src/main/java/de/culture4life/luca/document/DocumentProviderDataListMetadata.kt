@@ -0,0 +1,20 @@
+package de.culture4life.luca.document
+
+import com.google.gson.annotations.Expose
+import com.google.gson.annotations.SerializedName
+
+/**
+ * Freshness information of the persisted [de.culture4life.luca.network.pojo.DocumentProviderDataList],
+ * used to decide when to refresh it and to issue conditional requests.
+ */
+data class DocumentProviderDataListMetadata(
+
+    @Expose
+    @SerializedName("fetchTimestamp")
+    val fetchTimestamp: Long,
+
+    @Expose
+    @SerializedName("eTag")
+    val eTag: String?
+
+)
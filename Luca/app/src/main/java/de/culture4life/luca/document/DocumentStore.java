@@ -0,0 +1,138 @@
+package de.culture4life.luca.document;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * In-memory view of the imported documents, keyed by document ID. Secondary indexes by type and
+ * expiration timestamp allow lookups and expiry purges without scanning all documents.
+ */
+public class DocumentStore {
+
+    private final Map<String, Document> documentsById = new LinkedHashMap<>();
+    private final Map<Integer, Set<String>> idsByType = new HashMap<>();
+    private final NavigableMap<Long, Set<String>> idsByExpirationTimestamp = new TreeMap<>();
+
+    public DocumentStore() {
+    }
+
+    public DocumentStore(@NonNull Collection<? extends Document> documents) {
+        for (Document document : documents) {
+            put(document);
+        }
+    }
+
+    /**
+     * Adds the document, replacing any previously stored document with the same ID.
+     */
+    public synchronized void put(@NonNull Document document) {
+        remove(document.getId());
+        documentsById.put(document.getId(), document);
+        addToIndex(idsByType, document.getType(), document.getId());
+        addToIndex(idsByExpirationTimestamp, document.getExpirationTimestamp(), document.getId());
+    }
+
+    @Nullable
+    public synchronized Document remove(@NonNull String id) {
+        Document document = documentsById.remove(id);
+        if (document != null) {
+            removeFromIndex(idsByType, document.getType(), id);
+            removeFromIndex(idsByExpirationTimestamp, document.getExpirationTimestamp(), id);
+        }
+        return document;
+    }
+
+    @Nullable
+    public synchronized Document get(@NonNull String id) {
+        return documentsById.get(id);
+    }
+
+    public synchronized boolean contains(@NonNull String id) {
+        return documentsById.containsKey(id);
+    }
+
+    /**
+     * @return all documents, in the order they have been added
+     */
+    public synchronized List<Document> getDocuments() {
+        return new ArrayList<>(documentsById.values());
+    }
+
+    public synchronized List<Document> getDocuments(int type) {
+        Set<String> ids = idsByType.get(type);
+        if (ids == null) {
+            return Collections.emptyList();
+        }
+        List<Document> documents = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            documents.add(documentsById.get(id));
+        }
+        return documents;
+    }
+
+    /**
+     * @return the IDs of all documents, in the order they have been added
+     */
+    public synchronized List<String> getIds() {
+        return new ArrayList<>(documentsById.keySet());
+    }
+
+    /**
+     * @return the IDs of all documents with an expiration timestamp at or before the given timestamp
+     */
+    public synchronized List<String> getIdsExpiredBefore(long timestamp) {
+        List<String> ids = new ArrayList<>();
+        for (Set<String> expiredIds : idsByExpirationTimestamp.headMap(timestamp, true).values()) {
+            ids.addAll(expiredIds);
+        }
+        return ids;
+    }
+
+    /**
+     * @return the earliest expiration timestamp of all documents, or null if there are no documents
+     */
+    @Nullable
+    public synchronized Long getNextExpirationTimestamp() {
+        return idsByExpirationTimestamp.isEmpty() ? null : idsByExpirationTimestamp.firstKey();
+    }
+
+    public synchronized int size() {
+        return documentsById.size();
+    }
+
+    public synchronized boolean isEmpty() {
+        return documentsById.isEmpty();
+    }
+
+    private static <Key> void addToIndex(@NonNull Map<Key, Set<String>> index, @NonNull Key key, @NonNull String id) {
+        Set<String> ids = index.get(key);
+        if (ids == null) {
+            ids = new LinkedHashSet<>();
+            index.put(key, ids);
+        }
+        ids.add(id);
+    }
+
+    private static <Key> void removeFromIndex(@NonNull Map<Key, Set<String>> index, @NonNull Key key, @NonNull String id) {
+        Set<String> ids = index.get(key);
+        if (ids != null) {
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,27 @@
+package de.culture4life.luca.document
+
+import android.content.Context
+import androidx.work.WorkerParameters
+import androidx.work.rxjava3.RxWorker
+import de.culture4life.luca.LucaApplication
+import io.reactivex.rxjava3.core.Completable
+import io.reactivex.rxjava3.core.Single
+import io.reactivex.rxjava3.schedulers.Schedulers
+
+class ExpiredDocumentsDeletionWorker(
+    appContext: Context,
+    workerParams: WorkerParameters
+) : RxWorker(appContext, workerParams) {
+
+    override fun createWork(): Single<Result> {
+        return Completable.defer {
+            val application = applicationContext as LucaApplication
+            val documentManager = application.documentManager
+            documentManager.initialize(application)
+                .andThen(documentManager.deleteExpiredDocuments())
+                .subscribeOn(Schedulers.io())
+        }.andThen(Single.just(Result.success()))
+            .onErrorReturnItem(Result.failure())
+    }
+
+}
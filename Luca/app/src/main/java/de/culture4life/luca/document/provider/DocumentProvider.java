@@ -22,14 +22,43 @@ import static de.culture4life.luca.document.DocumentVerificationException.Reason
 
 public abstract class DocumentProvider<DocumentType extends ProvidedDocument> {
 
+    protected SignatureVerificationCache verificationCache = new SignatureVerificationCache();
+
+    /**
+     * Allows sharing a single verification cache between providers.
+     */
+    public void setVerificationCache(@NonNull SignatureVerificationCache verificationCache) {
+        this.verificationCache = verificationCache;
+    }
+
     public abstract Single<Boolean> canParse(@NonNull String encodedData);
 
+    /**
+     * Cheap check if the encoded data looks like something this provider is responsible for, based
+     * on prefixes, URL patterns, alphabets or the first few bytes. Unlike {@link #canParse(String)},
+     * this should never fully decode the data. Used by the {@link DocumentProviderRouter} to select
+     * a single provider, providers without a dedicated signature fall back to {@link
+     * #canParse(String)}.
+     */
+    public boolean matchesSignature(@NonNull String encodedData) {
+        return canParse(encodedData)
+                .onErrorReturnItem(false)
+                .blockingGet();
+    }
+
     public abstract Single<DocumentType> parse(@NonNull String encodedData);
 
     public Completable verify(@NonNull String encodedData) {
         return Completable.complete();
     }
 
+    /**
+     * Called once an import session (scanning, re-importing) has finished. Providers may release
+     * intermediate results that they cached while classifying, parsing or verifying documents.
+     */
+    public void onImportSessionFinished() {
+    }
+
     public Single<DocumentType> verifyParseAndValidate(@NonNull String encodedData, @NonNull Person person, @NonNull List<Child> children) {
         return verify(encodedData)
                 .andThen(parse(encodedData))
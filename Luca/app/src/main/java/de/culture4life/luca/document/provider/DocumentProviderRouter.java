@@ -0,0 +1,41 @@
+package de.culture4life.luca.document.provider;
+
+import androidx.annotation.NonNull;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import io.reactivex.rxjava3.core.Maybe;
+import io.reactivex.rxjava3.core.Observable;
+
+/**
+ * Routes encoded documents to exactly one {@link DocumentProvider}, based on the signatures
+ * declared by the registered providers in {@link DocumentProvider#matchesSignature(String)}.
+ * <p>
+ * Providers are consulted in registration order, so providers with more specific signatures should
+ * be registered first. The actual decoding only happens once the selected provider parses the data.
+ */
+public class DocumentProviderRouter {
+
+    private final List<DocumentProvider<? extends ProvidedDocument>> routingTable = new CopyOnWriteArrayList<>();
+
+    public DocumentProviderRouter register(@NonNull DocumentProvider<? extends ProvidedDocument> documentProvider) {
+        routingTable.add(documentProvider);
+        return this;
+    }
+
+    /**
+     * Emits the first registered provider whose signature matches the encoded data or completes
+     * empty if no provider is responsible.
+     */
+    public Maybe<DocumentProvider<? extends ProvidedDocument>> route(@NonNull String encodedData) {
+        return Observable.fromIterable(routingTable)
+                .filter(documentProvider -> documentProvider.matchesSignature(encodedData))
+                .firstElement();
+    }
+
+    public Observable<DocumentProvider<? extends ProvidedDocument>> getDocumentProviders() {
+        return Observable.fromIterable(routingTable);
+    }
+
+}
@@ -0,0 +1,118 @@
+package de.culture4life.luca.document.provider
+
+import de.culture4life.luca.util.CompletableOutcome
+import de.culture4life.luca.util.ExpiringLruCache
+import dgca.verifier.app.decoder.toHexString
+import io.reactivex.rxjava3.core.Completable
+import java.security.MessageDigest
+import java.util.concurrent.TimeUnit
+
+/**
+ * Remembers signature verification outcomes, keyed by the SHA-256 digest of the signed bytes
+ * (including the signature), the ID of the signer key and the trust data version. Stored documents are verified again
+ * whenever they are shown or re-imported, this cache allows replaying the previous outcome instead.
+ *
+ * Positive and negative outcomes are reused until the signer key expires, but never longer than the
+ * [maximumRetentionDuration]. Outcomes are not reused once the trust data version changes, e.g. after
+ * a new trust list or key bundle has been loaded.
+ */
+class SignatureVerificationCache @JvmOverloads constructor(
+    maximumSize: Int = DEFAULT_MAXIMUM_SIZE,
+    private val maximumRetentionDuration: Long = DEFAULT_MAXIMUM_RETENTION_DURATION,
+    timeProvider: () -> Long = { System.currentTimeMillis() }
+) {
+
+    private val outcomes = ExpiringLruCache<Key, CompletableOutcome>(maximumSize, timeProvider)
+
+    /**
+     * Subscribes to the [verification], unless an outcome for the same signed data and signer key
+     * is available for the current trust data version. In that case, the cached outcome is replayed.
+     *
+     * @param signedData the signed bytes, including the signature
+     * @param signerKeyId identifies the key that is used to verify the signature
+     * @param trustDataVersion version of the trust data that provided the signer key
+     * @param validUntil timestamp at which the signer key expires, or 0 if unknown
+     */
+    fun verify(
+        signedData: ByteArray,
+        signerKeyId: String,
+        trustDataVersion: String,
+        validUntil: Long,
+        verification: Completable
+    ): Completable {
+        return Completable.defer {
+            val key = Key(getDigest(signedData), signerKeyId, trustDataVersion)
+            val cachedOutcome = outcomes.get(key)
+            if (cachedOutcome != null) {
+                cachedOutcome.toCompletable()
+            } else {
+                verification
+                    .doOnComplete { putOutcome(key, validUntil, null) }
+                    .doOnError { putOutcome(key, validUntil, it) }
+            }
+        }
+    }
+
+    /**
+     * Blocking variant of [verify] for callers that verify synchronously.
+     */
+    @Throws(Exception::class)
+    fun verifyBlocking(
+        signedData: ByteArray,
+        signerKeyId: String,
+        trustDataVersion: String,
+        validUntil: Long,
+        verification: Verification
+    ) {
+        val key = Key(getDigest(signedData), signerKeyId, trustDataVersion)
+        val cachedOutcome = outcomes.get(key)
+        if (cachedOutcome != null) {
+            cachedOutcome.error?.let { throw it }
+            return
+        }
+        try {
+            verification.verify()
+        } catch (e: Exception) {
+            putOutcome(key, validUntil, e)
+            throw e
+        }
+        putOutcome(key, validUntil, null)
+    }
+
+    fun clear() {
+        outcomes.clear()
+    }
+
+    private fun putOutcome(key: Key, validUntil: Long, error: Throwable?) {
+        var expirationTimestamp = outcomes.currentTime + maximumRetentionDuration
+        if (validUntil > 0) {
+            expirationTimestamp = minOf(expirationTimestamp, validUntil)
+        }
+        outcomes.put(key, CompletableOutcome(error), expirationTimestamp)
+    }
+
+    fun interface Verification {
+        @Throws(Exception::class)
+        fun verify()
+    }
+
+    private data class Key(
+        val signedDataDigest: String,
+        val signerKeyId: String,
+        val trustDataVersion: String
+    )
+
+    companion object {
+
+        const val DEFAULT_MAXIMUM_SIZE = 128
+        val DEFAULT_MAXIMUM_RETENTION_DURATION = TimeUnit.DAYS.toMillis(1)
+
+        private fun getDigest(signedData: ByteArray): String {
+            return MessageDigest.getInstance("SHA-256")
+                .digest(signedData)
+                .toHexString()
+        }
+
+    }
+
+}
@@ -17,6 +17,11 @@ public class AppointmentProvider extends DocumentProvider<Appointment> {
                 .onErrorReturnItem(false);
     }
 
+    @Override
+    public boolean matchesSignature(@NonNull String encodedData) {
+        return DocumentManager.isAppointment(encodedData);
+    }
+
     @Override
     public Single<Appointment> parse(@NonNull String encodedData) {
         return Single.fromCallable(() -> new Appointment(encodedData))
@@ -74,6 +74,14 @@ class BaercodeBundle {
         return System.currentTimeMillis() > date + HOURS_BEFORE_REFRESH;
     }
 
+    public long getDate() {
+        return date;
+    }
+
+    public byte[] getSignedData() throws IOException {
+        return coseMessage.getSignedData();
+    }
+
     /**
      * Verify the signature of the bundle
      */
@@ -47,6 +47,10 @@ class BaercodeCertificate {
         return publicKey;
     }
 
+    public long getExpirationTimestamp() {
+        return certificateChain.get(0).getNotAfter().getTime();
+    }
+
     /**
      * Verify that this certificate was issued by LetsEncrypt
      */
@@ -90,11 +90,23 @@ public class BaercodeDocument extends ProvidedDocument {
     }
 
     public void verifyAndDecryptPersonalData(@NonNull BaercodeKey baercodeKey) throws DocumentParsingException {
+        verifySignature(baercodeKey);
+        decryptPersonalData(baercodeKey);
+    }
+
+    public void verifySignature(@NonNull BaercodeKey baercodeKey) throws DocumentParsingException {
         try {
             ECPublicKey publicKey = BaercodeDocumentProvider.createPublicKey(baercodeKey);
             if (!coseMessage.verify(publicKey)) {
                 throw new DocumentParsingException("Baercode signature is not valid:");
             }
+        } catch (IOException | GeneralSecurityException | IllegalArgumentException e) {
+            throw new DocumentParsingException("Exception while parsing Baercode", e);
+        }
+    }
+
+    public void decryptPersonalData(@NonNull BaercodeKey baercodeKey) throws DocumentParsingException {
+        try {
             byte[] decoded = coseMessage.decodeCypherText(baercodeKey);
             updateUserData(decoded);
         } catch (IOException | GeneralSecurityException | IllegalArgumentException e) {
@@ -102,6 +114,10 @@ public class BaercodeDocument extends ProvidedDocument {
         }
     }
 
+    public byte[] getSignedData() throws IOException {
+        return coseMessage.getSignedData();
+    }
+
     protected static void check(ArrayList<Procedure> procedures) throws DocumentParsingException {
         if (procedures.isEmpty()) {
             throw new DocumentParsingException("Procedures size in baercode is empty");
@@ -1,9 +1,12 @@
 package de.culture4life.luca.document.provider.baercode;
 
 import android.content.Context;
+import android.util.Base64;
 
 import androidx.annotation.NonNull;
 
+import com.google.android.gms.common.util.Hex;
+
 import java.io.IOException;
 import java.math.BigInteger;
 import java.security.AlgorithmParameters;
@@ -20,12 +23,15 @@ import java.security.spec.InvalidKeySpecException;
 import java.security.spec.InvalidParameterSpecException;
 import java.util.Arrays;
 import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
 
 import de.culture4life.luca.BuildConfig;
 import de.culture4life.luca.document.DocumentExpiredException;
 import de.culture4life.luca.document.DocumentImportException;
 import de.culture4life.luca.document.DocumentParsingException;
 import de.culture4life.luca.document.provider.DocumentProvider;
+import de.culture4life.luca.document.provider.SignatureVerificationCache;
+import de.culture4life.luca.network.HttpClientProvider;
 import de.culture4life.luca.util.SerializationUtil;
 import io.reactivex.rxjava3.core.Single;
 import okhttp3.OkHttpClient;
@@ -36,6 +42,8 @@ public class BaercodeDocumentProvider extends DocumentProvider<BaercodeDocument>
 
     private static final String BUNDLE_ENDPOINT = "https://s3-de-central.profitbricks.com/baercode/bundle.cose";
     private static final String CERTIFICATE_ENDPOINT = "https://s3-de-central.profitbricks.com/baercode/ba.crt";
+    private static final Pattern BASE64_PATTERN = Pattern.compile("^[A-Za-z0-9+/]+={0,2}$");
+    private static final int CBOR_TAG_WITH_ONE_BYTE_ARGUMENT = 0xD8;
     protected static BaercodeBundle baercodeBundle;
     protected static BaercodeCertificate baercodeCertificate;
     private static OkHttpClient client;
@@ -43,7 +51,7 @@ public class BaercodeDocumentProvider extends DocumentProvider<BaercodeDocument>
 
     public BaercodeDocumentProvider(@NonNull Context context) {
         this.context = context;
-        client = new OkHttpClient.Builder()
+        client = HttpClientProvider.getBaseClient(context).newBuilder()
                 .callTimeout(10, TimeUnit.SECONDS)
                 .connectTimeout(10, TimeUnit.SECONDS)
                 .build();
@@ -69,6 +77,26 @@ public class BaercodeDocumentProvider extends DocumentProvider<BaercodeDocument>
                 }).onErrorReturnItem(false);
     }
 
+    /**
+     * Matches base64 encoded data starting with the protocol version, followed by a tagged COSE
+     * message. Only the first few bytes are decoded.
+     *
+     * @param encodedData encoded data to check
+     */
+    @Override
+    public boolean matchesSignature(@NonNull String encodedData) {
+        if (encodedData.length() < 4 || !BASE64_PATTERN.matcher(encodedData).matches()) {
+            return false;
+        }
+        try {
+            byte[] header = Base64.decode(encodedData.substring(0, 4), Base64.NO_WRAP);
+            return header[0] == BaercodeDocument.PROTOCOL_VERSION
+                    && (header[2] & 0xFF) == CBOR_TAG_WITH_ONE_BYTE_ARGUMENT;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
     @Override
     public Single<BaercodeDocument> parse(@NonNull String encodedData) {
         return SerializationUtil.deserializeFromBase64(encodedData)
@@ -109,12 +137,29 @@ public class BaercodeDocumentProvider extends DocumentProvider<BaercodeDocument>
     protected void decryptPersonalData(@NonNull BaercodeDocument document) throws IOException, DocumentParsingException, DocumentExpiredException, GeneralSecurityException {
         downloadRequiredFiles();
         baercodeCertificate.verifySignedByLetsEncrypt(context);
-        baercodeBundle.verify(baercodeCertificate.getPublicKey());
+        String bundleSignerKeyId = Hex.bytesToStringLowercase(baercodeCertificate.getPublicKey().getEncoded());
+        verifyCached(baercodeBundle.getSignedData(), bundleSignerKeyId, baercodeCertificate.getExpirationTimestamp(),
+                () -> baercodeBundle.verify(baercodeCertificate.getPublicKey()));
         BaercodeKey baercodeKey = baercodeBundle.getKey(document.getBase64KeyId());
         if (baercodeKey == null) {
             throw new DocumentExpiredException("No valid key found in bundle");
         }
-        document.verifyAndDecryptPersonalData(baercodeKey);
+        verifyCached(document.getSignedData(), document.getBase64KeyId(), 0, () -> document.verifySignature(baercodeKey));
+        document.decryptPersonalData(baercodeKey);
+    }
+
+    /**
+     * Verifies the signature unless an outcome for the same signed data, signer key and bundle is
+     * cached already.
+     */
+    private void verifyCached(@NonNull byte[] signedData, @NonNull String signerKeyId, long validUntil, @NonNull SignatureVerificationCache.Verification verification) throws DocumentParsingException {
+        try {
+            verificationCache.verifyBlocking(signedData, signerKeyId, String.valueOf(baercodeBundle.getDate()), validUntil, verification);
+        } catch (DocumentParsingException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new DocumentParsingException("Exception while verifying Baercode", e);
+        }
     }
 
     public synchronized void downloadRequiredFiles() throws IOException, CertificateException {
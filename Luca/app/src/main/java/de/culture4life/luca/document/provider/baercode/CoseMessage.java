@@ -11,6 +11,7 @@ import java.security.GeneralSecurityException;
 import java.security.PublicKey;
 import java.security.Signature;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 
 import javax.crypto.Cipher;
@@ -59,6 +60,17 @@ class CoseMessage {
         return signatureChecker.verify(CryptoManager.toDERSignature(signature));
     }
 
+    /**
+     * @return the signature structure followed by the signature, covering everything that is
+     * verified in {@link #verify(PublicKey)}
+     */
+    public byte[] getSignedData() throws IOException {
+        byte[] signatureStructure = createSignatureStructure();
+        byte[] signedData = Arrays.copyOf(signatureStructure, signatureStructure.length + signature.length);
+        System.arraycopy(signature, 0, signedData, signatureStructure.length, signature.length);
+        return signedData;
+    }
+
     public byte[] decodeCypherText(@NonNull BaercodeKey baercodeKey) throws GeneralSecurityException, IOException {
         byte[] cipherText = coseEncrypt0.get(2).binaryValue();
         byte[] iv = coseEncrypt0.get(1).get("5").binaryValue();
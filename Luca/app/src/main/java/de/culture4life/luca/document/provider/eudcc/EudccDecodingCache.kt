@@ -0,0 +1,81 @@
+package de.culture4life.luca.document.provider.eudcc
+
+import dgca.verifier.app.decoder.CertificateDecodingResult
+import dgca.verifier.app.decoder.toHash
+
+/**
+ * Caches decoded EUDCCs by payload digest for the duration of an import session, so that
+ * classifying, parsing and validating the same payload only decodes it once.
+ */
+class EudccDecodingCache(private val defaultMaximumSize: Int = DEFAULT_MAXIMUM_SIZE) {
+
+    private var maximumSize = defaultMaximumSize
+
+    private val decodedCertificates = object : LinkedHashMap<String, DecodedEudcc>(maximumSize, 0.75f, true) {
+        override fun removeEldestEntry(eldest: MutableMap.MutableEntry<String, DecodedEudcc>): Boolean {
+            return size > maximumSize
+        }
+    }
+
+    fun getOrDecode(encodedData: String, decode: (String) -> DecodedEudcc): DecodedEudcc {
+        val digest = getDigest(encodedData)
+        synchronized(decodedCertificates) {
+            decodedCertificates[digest]?.let { return it }
+        }
+        val decodedEudcc = decode(encodedData)
+        synchronized(decodedCertificates) {
+            decodedCertificates[digest] = decodedEudcc
+        }
+        return decodedEudcc
+    }
+
+    fun contains(encodedData: String): Boolean {
+        val digest = getDigest(encodedData)
+        synchronized(decodedCertificates) {
+            return decodedCertificates.containsKey(digest)
+        }
+    }
+
+    /**
+     * Adds a payload that has been decoded outside of the cache, e.g. as part of a batch.
+     */
+    fun put(encodedData: String, decodedEudcc: DecodedEudcc) {
+        val digest = getDigest(encodedData)
+        synchronized(decodedCertificates) {
+            decodedCertificates[digest] = decodedEudcc
+        }
+    }
+
+    /**
+     * Raises the maximum size to hold at least [size] entries until the cache is cleared, so that
+     * batches larger than the default size aren't evicted before they are used.
+     */
+    fun ensureCapacity(size: Int) {
+        synchronized(decodedCertificates) {
+            maximumSize = maxOf(maximumSize, size)
+        }
+    }
+
+    fun clear() {
+        synchronized(decodedCertificates) {
+            decodedCertificates.clear()
+            maximumSize = defaultMaximumSize
+        }
+    }
+
+    /**
+     * @param result the decoding result, holding the COSE, kid, CBOR payload and mapped certificate
+     * @param isSchemaValid if the CBOR payload matched the EUDCC schema
+     */
+    data class DecodedEudcc(
+        val result: CertificateDecodingResult,
+        val isSchemaValid: Boolean
+    )
+
+    companion object {
+        const val DEFAULT_MAXIMUM_SIZE = 32
+
+        private fun getDigest(encodedData: String) = encodedData.toByteArray().toHash()
+    }
+
+}
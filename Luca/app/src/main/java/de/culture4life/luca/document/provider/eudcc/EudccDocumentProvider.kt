@@ -1,15 +1,35 @@
 package de.culture4life.luca.document.provider.eudcc
 
 import android.content.Context
+import android.util.Base64
+import de.culture4life.luca.BuildConfig
 import de.culture4life.luca.R
 import de.culture4life.luca.document.DocumentParsingException
+import de.culture4life.luca.document.DocumentVerificationException
+import de.culture4life.luca.document.DocumentVerificationException.Reason.INVALID_SIGNATURE
 import de.culture4life.luca.document.provider.DocumentProvider
+import de.culture4life.luca.document.provider.eudcc.EudccDecodingCache.DecodedEudcc
+import dgca.verifier.app.decoder.CertificateDecodingResult
 import dgca.verifier.app.decoder.DefaultCertificateDecoder
 import dgca.verifier.app.decoder.DefaultCertificateDecoder.Companion.PREFIX
 import dgca.verifier.app.decoder.base45.Base45Decoder
-import dgca.verifier.app.decoder.decodeCose
-import dgca.verifier.app.decoder.decompressBase45DecodedData
+import dgca.verifier.app.decoder.cose.VerificationCryptoService
+import dgca.verifier.app.decoder.model.CertificateType
+import dgca.verifier.app.decoder.model.DecodedCertificate
+import dgca.verifier.app.decoder.model.VerificationResult
+import dgca.verifier.app.decoder.services.SignerCertificateStore
+import dgca.verifier.app.decoder.services.X509
+import dgca.verifier.app.decoder.toHexString
+import io.reactivex.rxjava3.core.Completable
+import io.reactivex.rxjava3.core.Maybe
 import io.reactivex.rxjava3.core.Single
+import timber.log.Timber
+import java.io.FileNotFoundException
+import java.io.IOException
+import java.security.GeneralSecurityException
+import java.security.KeyFactory
+import java.security.spec.X509EncodedKeySpec
+import java.util.concurrent.TimeUnit
 
 /**
  * Provider for the EU Digital COVID Certificate (EUDCC)
@@ -19,23 +39,101 @@ class EudccDocumentProvider(val context: Context) : DocumentProvider<EudccDocume
 
     private val base45Decoder = Base45Decoder()
     private val decoder = DefaultCertificateDecoder(base45Decoder)
+    private val schemaValidator = EudccSchemaValidator()
+    private val decodingCache = EudccDecodingCache()
+    private val cryptoService = VerificationCryptoService(X509())
+
+    /**
+     * Signer certificates from a locally available trust list snapshot. Signatures are only
+     * verified if a store has been set.
+     */
+    var signerCertificateStore: SignerCertificateStore? = null
+
+    /**
+     * Loads the bundled trust list snapshot into the [signerCertificateStore], if the build pins a
+     * trust anchor. Completes without a store if no snapshot is bundled.
+     */
+    fun loadSignerCertificateStore(): Completable {
+        return Maybe.fromCallable<ByteArray> {
+            try {
+                context.assets.open(TRUST_LIST_SNAPSHOT_ASSET).use { it.readBytes() }
+            } catch (e: FileNotFoundException) {
+                null
+            }
+        }
+            .filter { BuildConfig.EUDCC_TRUST_ANCHOR.isNotEmpty() }
+            .map { createSignerCertificateStore(it, BuildConfig.EUDCC_TRUST_ANCHOR, System.currentTimeMillis()) }
+            .doOnSuccess {
+                Timber.d("Loaded %d EUDCC signer certificates", it.size)
+                signerCertificateStore = it
+            }
+            .ignoreElement()
+    }
 
     override fun canParse(encodedData: String): Single<Boolean> {
-        return Single.fromCallable {
-            val withoutPrefix = if (encodedData.startsWith(PREFIX)) {
-                encodedData.drop(PREFIX.length)
-            } else {
-                encodedData
+        return Single.fromCallable { decode(encodedData).isSchemaValid }
+            .onErrorReturn { false }
+    }
+
+    /**
+     * Matches the `HC1:` prefix or Base45 encoded data that decodes to a zlib or COSE header.
+     * Only the first three characters are decoded.
+     */
+    override fun matchesSignature(encodedData: String): Boolean {
+        if (encodedData.startsWith(PREFIX)) {
+            return true
+        }
+        if (encodedData.length < 3 || encodedData.length % 3 == 1 || !encodedData.all { Base45Decoder.ALPHABET.indexOf(it) >= 0 }) {
+            return false
+        }
+        val value = Base45Decoder.ALPHABET.indexOf(encodedData[0]) +
+                Base45Decoder.ALPHABET.indexOf(encodedData[1]) * 45 +
+                Base45Decoder.ALPHABET.indexOf(encodedData[2]) * 45 * 45
+        return value / 256 in SIGNATURE_FIRST_BYTES
+    }
+
+    override fun verify(encodedData: String): Completable {
+        return Completable.defer {
+            val store = signerCertificateStore ?: return@defer Completable.complete()
+            val result = decode(encodedData).result
+            if (result !is CertificateDecodingResult.Success) {
+                // parsing will fail with a more specific error
+                return@defer Completable.complete()
+            }
+            val decodedCertificate = result.decodedCertificate
+            val kid = decodedCertificate.kid ?: return@defer Completable.error(DocumentVerificationException(INVALID_SIGNATURE))
+            val validUntil = store.getCertificates(kid).minOfOrNull { it.certificate.notAfter.time } ?: 0L
+            verificationCache.verify(
+                decodedCertificate.cose,
+                kid.toHexString(),
+                store.timestamp.toString(),
+                validUntil,
+                verifySignature(decodedCertificate, store, result.greenCertificate.getType())
+            )
+        }
+    }
+
+    private fun verifySignature(
+        decodedCertificate: DecodedCertificate,
+        store: SignerCertificateStore,
+        certificateType: CertificateType
+    ): Completable {
+        return Completable.fromAction {
+            val verificationResult = VerificationResult()
+            cryptoService.validate(decodedCertificate.cose, store, verificationResult, certificateType)
+            if (!verificationResult.coseVerified) {
+                throw DocumentVerificationException(INVALID_SIGNATURE)
             }
-            val decompressed = base45Decoder.decode(withoutPrefix).decompressBase45DecodedData()
-            val cbor = decompressed.decodeCose().cbor
-            EudccSchemaValidator().validate(cbor)
-        }.onErrorReturn { false }
+        }
     }
 
     override fun parse(encodedData: String): Single<EudccDocument> {
         return Single.fromCallable {
-            EudccDocument(encodedData, decoder.decodeCertificate(encodedData))
+            val decodedEudcc = decode(encodedData)
+            if (!decodedEudcc.isSchemaValid) {
+                throw DocumentParsingException("EUDCC does not match the schema")
+            }
+            EudccDocument(encodedData, decodedEudcc.result)
         }
             .map { it.document.provider = context.getString(R.string.provider_name_eu_dcc); it }
             .onErrorResumeNext { throwable ->
@@ -46,4 +144,60 @@ class EudccDocumentProvider(val context: Context) : DocumentProvider<EudccDocume
             }
     }
 
+    /**
+     * Decodes the encoded data once per import session, subsequent calls for the same payload
+     * return the cached intermediate result.
+     */
+    fun decode(encodedData: String): DecodedEudcc {
+        return decodingCache.getOrDecode(encodedData) { toDecodedEudcc(decoder.decodeCertificate(it)) }
+    }
+
+    /**
+     * Decodes all EUDCCs among the encoded documents in parallel, so that subsequent calls to
+     * [canParse], [verify] and [parse] in the same import session use the cached results.
+     */
+    fun decodeAll(encodedDocuments: List<String>): Completable {
+        return Single.fromCallable { encodedDocuments.filter { matchesSignature(it) }.distinct() }
+            .doOnSuccess { decodingCache.ensureCapacity(it.size) }
+            .map { it.filterNot(decodingCache::contains) }
+            .doOnSuccess { pendingDocuments ->
+                decoder.decodeCertificates(pendingDocuments).forEachIndexed { index, result ->
+                    decodingCache.put(pendingDocuments[index], toDecodedEudcc(result))
+                }
+            }
+            .ignoreElement()
+    }
+
+    private fun toDecodedEudcc(result: CertificateDecodingResult): DecodedEudcc {
+        val coseData = result.coseData
+        return DecodedEudcc(result, coseData != null && schemaValidator.validate(coseData))
+    }
+
+    override fun onImportSessionFinished() {
+        decodingCache.clear()
+    }
+
+    companion object {
+        /**
+         * zlib header, tagged COSE_Sign1 and untagged COSE array
+         */
+        private val SIGNATURE_FIRST_BYTES = setOf(0x78, 0xD2, 0x84)
+
+        private const val TRUST_LIST_SNAPSHOT_ASSET = "eudcc_trust_list.json"
+        val MAXIMUM_TRUST_LIST_AGE = TimeUnit.DAYS.toMillis(30)
+
+        /**
+         * Verifies the snapshot with the Base64 encoded EC [trustAnchor] and rejects snapshots that
+         * are older than [MAXIMUM_TRUST_LIST_AGE].
+         */
+        @JvmStatic
+        @Throws(GeneralSecurityException::class, IOException::class)
+        fun createSignerCertificateStore(snapshot: ByteArray, trustAnchor: String, currentTime: Long): SignerCertificateStore {
+            val publicKey = KeyFactory.getInstance("EC")
+                .generatePublic(X509EncodedKeySpec(Base64.decode(trustAnchor, Base64.NO_WRAP)))
+            return SignerCertificateStore.fromSnapshot(snapshot, publicKey)
+                .requireNotOlderThan(MAXIMUM_TRUST_LIST_AGE, currentTime)
+        }
+    }
+
 }
\ No newline at end of file
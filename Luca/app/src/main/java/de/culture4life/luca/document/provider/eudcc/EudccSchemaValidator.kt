@@ -5,35 +5,35 @@ import com.fasterxml.jackson.databind.ObjectMapper
 import com.networknt.schema.JsonSchema
 import com.networknt.schema.JsonSchemaFactory
 import com.networknt.schema.SpecVersion
-import com.upokecenter.cbor.CBORObject
 import dgca.verifier.app.decoder.JSON_SCHEMA_V1
-import dgca.verifier.app.decoder.cwt.CwtHeaderKeys
+import dgca.verifier.app.decoder.cbor.HcertTreeReader
+import dgca.verifier.app.decoder.model.CoseData
 import timber.log.Timber
 
 
 /**
  * Schema validator for EU Digital COVID Certificate (EUDCC)
+ *
+ * The schema is compiled once per process, the CBOR payload is validated as a Jackson tree
+ * without a round-trip through JSON text.
  */
 class EudccSchemaValidator {
 
-    private val mapper = ObjectMapper()
+    fun validate(cbor: ByteArray): Boolean {
+        return validate { HcertTreeReader.readHcert(cbor) }
+    }
 
-    private fun getJsonSchemaFromStringContent(schemaContent: String?): JsonSchema? {
-        val factory = JsonSchemaFactory.getInstance(SpecVersion.VersionFlag.V4)
-        return factory.getSchema(schemaContent)
+    /**
+     * Validates the CWT payload that has already been read while decoding the COSE message.
+     */
+    fun validate(coseData: CoseData): Boolean {
+        return validate { coseData.cwt.hcert }
     }
 
-    fun validate(cbor: ByteArray): Boolean {
-        val schema: JsonSchema = getJsonSchemaFromStringContent(JSON_SCHEMA_V1)!!
+    private fun validate(hcertProvider: () -> JsonNode): Boolean {
         var isValid = false
         try {
-            val map = CBORObject.DecodeFromBytes(cbor)
-            val hcert = map[CwtHeaderKeys.HCERT.asCBOR()]
-            val json = hcert[CBORObject.FromObject(1)].ToJSONString()
-
-            val jsonNode: JsonNode = mapper.readTree(json)
-
-            val errors = schema.validate(jsonNode)
+            val errors = SCHEMA.validate(hcertProvider())
             isValid = errors.isEmpty()
         } catch (ex: Exception) {
             Timber.e("Exception while validating EUDCC: ${ex.message}")
@@ -42,4 +42,11 @@ class EudccSchemaValidator {
         return isValid
     }
 
-}
\ No newline at end of file
+    companion object {
+        private val SCHEMA: JsonSchema by lazy {
+            JsonSchemaFactory.getInstance(SpecVersion.VersionFlag.V4)
+                .getSchema(ObjectMapper().readTree(JSON_SCHEMA_V1))
+        }
+    }
+
+}
@@ -2,13 +2,14 @@ package de.culture4life.luca.document.provider.opentestcheck;
 
 import androidx.annotation.NonNull;
 
+import java.util.Date;
 import java.util.UUID;
 
 import de.culture4life.luca.document.Document;
 import de.culture4life.luca.document.provider.ProvidedDocument;
 import de.culture4life.luca.util.TimeUtil;
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.ExpiredJwtException;
 import io.reactivex.rxjava3.core.Maybe;
 import timber.log.Timber;
 
@@ -26,9 +27,7 @@ public class OpenTestCheckDocument extends ProvidedDocument {
 
     public OpenTestCheckDocument(@NonNull String encodedJwt) {
         String unsignedJwt = OpenTestCheckDocumentProvider.getUnsignedJwt(encodedJwt);
-        Claims claims = Jwts.parserBuilder()
-                .build()
-                .parseClaimsJwt(unsignedJwt)
+        Claims claims = OpenTestCheckDocumentProvider.UNSIGNED_JWT_PARSER.parseClaimsJwt(unsignedJwt)
                 .getBody();
 
         v = claims.get("v", Integer.class);
@@ -110,13 +109,28 @@ public class OpenTestCheckDocument extends ProvidedDocument {
     protected static String getFingerprint(@NonNull String encodedJwt) {
         return Maybe.fromCallable(() -> {
             String unsignedJwt = OpenTestCheckDocumentProvider.getUnsignedJwt(encodedJwt);
-            Claims claims = Jwts.parserBuilder()
-                    .build()
-                    .parseClaimsJwt(unsignedJwt)
+            Claims claims = OpenTestCheckDocumentProvider.UNSIGNED_JWT_PARSER.parseClaimsJwt(unsignedJwt)
                     .getBody();
 
             return claims.get("f", String.class);
         }).defaultIfEmpty("").onErrorReturnItem("").blockingGet();
     }
 
+    /**
+     * @return the expiration timestamp of the JWT in milliseconds, or 0 if it doesn't expire
+     */
+    protected static long getExpirationTimestamp(@NonNull String encodedJwt) {
+        return Maybe.fromCallable(() -> {
+            String unsignedJwt = OpenTestCheckDocumentProvider.getUnsignedJwt(encodedJwt);
+            Claims claims;
+            try {
+                claims = OpenTestCheckDocumentProvider.UNSIGNED_JWT_PARSER.parseClaimsJwt(unsignedJwt)
+                        .getBody();
+            } catch (ExpiredJwtException e) {
+                claims = e.getClaims();
+            }
+            return claims.getExpiration();
+        }).map(Date::getTime).defaultIfEmpty(0L).onErrorReturnItem(0L).blockingGet();
+    }
+
 }
@@ -12,9 +12,13 @@ import com.nexenio.rxkeystore.provider.hash.RxHashProvider;
 import com.nexenio.rxkeystore.provider.hash.Sha256HashProvider;
 
 import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
 import java.security.KeyFactory;
 import java.security.interfaces.RSAPublicKey;
 import java.security.spec.X509EncodedKeySpec;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
 
 import de.culture4life.luca.document.DocumentManager;
 import de.culture4life.luca.document.DocumentParsingException;
@@ -22,12 +26,14 @@ import de.culture4life.luca.document.DocumentVerificationException;
 import de.culture4life.luca.document.provider.DocumentProvider;
 import de.culture4life.luca.network.pojo.DocumentProviderData;
 import de.culture4life.luca.registration.Person;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.reactivex.rxjava3.core.BackpressureStrategy;
 import io.reactivex.rxjava3.core.Completable;
 import io.reactivex.rxjava3.core.Maybe;
 import io.reactivex.rxjava3.core.Observable;
 import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.schedulers.Schedulers;
 import timber.log.Timber;
 
 import static de.culture4life.luca.document.DocumentVerificationException.Reason.INVALID_SIGNATURE;
@@ -36,10 +42,21 @@ import static de.culture4life.luca.document.DocumentVerificationException.Reason
 public class OpenTestCheckDocumentProvider extends DocumentProvider<OpenTestCheckDocument> {
 
     private static final String URL_PREFIX_TESTVERIFY_IO = "https://testverify.io/v1#";
+    private static final Pattern JWT_PATTERN = Pattern.compile("^eyJ[A-Za-z0-9_-]*\\.[A-Za-z0-9_-]+\\.[A-Za-z0-9_-]*$");
     protected static final RxHashProvider HASH_PROVIDER = new Sha256HashProvider(new RxKeyStore());
 
+    /**
+     * Parser for unsigned JWTs, immutable and thus shared across all parse attempts.
+     */
+    static final JwtParser UNSIGNED_JWT_PARSER = Jwts.parserBuilder().build();
+
     private final DocumentManager documentManager;
 
+    /**
+     * Decoded provider keys and their prebuilt JWT parsers, keyed by provider fingerprint.
+     */
+    private final Map<String, SigningKey> signingKeys = new ConcurrentHashMap<>();
+
     @Nullable
     private DocumentProviderData lastVerifiedProviderData;
 
@@ -54,6 +71,14 @@ public class OpenTestCheckDocumentProvider extends DocumentProvider<OpenTestChec
                 .onErrorReturnItem(false);
     }
 
+    /**
+     * Matches the testverify.io URL prefix or a JWT with a base64url encoded JSON header.
+     */
+    @Override
+    public boolean matchesSignature(@NonNull String encodedData) {
+        return encodedData.startsWith(URL_PREFIX_TESTVERIFY_IO) || JWT_PATTERN.matcher(encodedData).matches();
+    }
+
     @Override
     public Single<OpenTestCheckDocument> parse(@NonNull String encodedData) {
         return getEncodedJwtWithoutUrl(encodedData)
@@ -73,14 +98,20 @@ public class OpenTestCheckDocumentProvider extends DocumentProvider<OpenTestChec
                 .andThen(validateTime(document.getDocument().getTestingTimestamp()));
     }
 
+    /**
+     * Verifies the JWT using the key of the provider with a matching fingerprint. If there is no
+     * such provider, all available keys are tried in parallel and the remaining attempts are
+     * cancelled as soon as one key verifies the JWT.
+     */
     @Override
     public Completable verify(@NonNull String encodedData) {
         return Maybe.mergeDelayError(getDocumentProviderData(encodedData)
-                .flatMapSingle(documentProviderData -> decodePublicKey(documentProviderData.getPublicKey())
-                        .map(publicKey -> getEncodedJwtWithoutUrl(encodedData)
-                                .flatMapMaybe(jwt -> verifyJwt(jwt, publicKey)
+                .map(documentProviderData -> getOrCreateSigningKey(documentProviderData)
+                        .flatMapMaybe(signingKey -> getEncodedJwtWithoutUrl(encodedData)
+                                .flatMapMaybe(jwt -> verifyJwtIfRequired(jwt, documentProviderData, signingKey)
                                         .andThen(Maybe.just(documentProviderData))
-                                        .onErrorResumeWith(Maybe.empty()))))
+                                        .onErrorResumeWith(Maybe.empty())))
+                        .subscribeOn(Schedulers.computation()))
                 .toFlowable(BackpressureStrategy.BUFFER))
                 .firstOrError()
                 .doOnSubscribe(disposable -> lastVerifiedProviderData = null)
@@ -92,14 +123,49 @@ public class OpenTestCheckDocumentProvider extends DocumentProvider<OpenTestChec
                 .onErrorResumeNext(throwable -> Completable.error(new DocumentVerificationException(INVALID_SIGNATURE, throwable)));
     }
 
-    private Completable verifyJwt(@NonNull String jwt, @NonNull RSAPublicKey publicKey) {
-        return Completable.fromAction(() -> Jwts.parserBuilder()
-                .setSigningKey(publicKey)
-                .build()
-                .parseClaimsJws(jwt))
+    /**
+     * Verifies the JWT unless an outcome for the same JWT and provider key is cached already. The
+     * encoded public key acts as trust data version, so that outcomes are not reused for a rotated
+     * key with the same fingerprint. Outcomes are only cached for the provider referenced by the
+     * JWT, attempts with the keys of other providers are expected to fail and would only displace
+     * relevant outcomes. Outcomes expire with the JWT.
+     */
+    private Completable verifyJwtIfRequired(@NonNull String jwt, @NonNull DocumentProviderData documentProviderData, @NonNull SigningKey signingKey) {
+        return Completable.defer(() -> {
+            if (!documentProviderData.getFingerprint().equals(OpenTestCheckDocument.getFingerprint(jwt))) {
+                return verifyJwt(jwt, signingKey);
+            }
+            return verificationCache.verify(
+                    jwt.getBytes(StandardCharsets.US_ASCII),
+                    documentProviderData.getFingerprint(),
+                    documentProviderData.getPublicKey(),
+                    OpenTestCheckDocument.getExpirationTimestamp(jwt),
+                    verifyJwt(jwt, signingKey)
+            );
+        });
+    }
+
+    private Completable verifyJwt(@NonNull String jwt, @NonNull SigningKey signingKey) {
+        return Completable.fromAction(() -> signingKey.parser.parseClaimsJws(jwt))
                 .onErrorResumeNext(throwable -> Completable.error(new DocumentVerificationException(INVALID_SIGNATURE, throwable)));
     }
 
+    /**
+     * Emits the cached key for the fingerprint of the given provider data, or decodes and caches it
+     * if it is not yet available or has been rotated.
+     */
+    private Single<SigningKey> getOrCreateSigningKey(@NonNull DocumentProviderData documentProviderData) {
+        return Single.fromCallable(() -> {
+            String encodedPublicKey = documentProviderData.getPublicKey();
+            SigningKey signingKey = signingKeys.get(documentProviderData.getFingerprint());
+            if (signingKey == null || !signingKey.encodedPublicKey.equals(encodedPublicKey)) {
+                signingKey = new SigningKey(encodedPublicKey, decodePublicKey(encodedPublicKey));
+                signingKeys.put(documentProviderData.getFingerprint(), signingKey);
+            }
+            return signingKey;
+        });
+    }
+
     private Completable verifyNameHash(@NonNull String expectedNameHash, @NonNull Person person) {
         return generateNameHash(person)
                 .flatMapCompletable(actualNameHash -> Completable.fromAction(() -> {
@@ -143,12 +209,10 @@ public class OpenTestCheckDocumentProvider extends DocumentProvider<OpenTestChec
                 .flatMapObservable(documentManager::getDocumentProviderData);
     }
 
-    private static Single<RSAPublicKey> decodePublicKey(@NonNull String encodedPublicKey) {
-        return Single.fromCallable(() -> {
-            byte[] encoded = Base64.decode(encodedPublicKey, Base64.NO_WRAP);
-            KeyFactory keyFactory = KeyFactory.getInstance("RSA");
-            return (RSAPublicKey) keyFactory.generatePublic(new X509EncodedKeySpec(encoded));
-        });
+    private static RSAPublicKey decodePublicKey(@NonNull String encodedPublicKey) throws GeneralSecurityException {
+        byte[] encoded = Base64.decode(encodedPublicKey, Base64.NO_WRAP);
+        KeyFactory keyFactory = KeyFactory.getInstance("RSA");
+        return (RSAPublicKey) keyFactory.generatePublic(new X509EncodedKeySpec(encoded));
     }
 
     static String getUnsignedJwt(String signedJwt) {
@@ -157,11 +221,23 @@ public class OpenTestCheckDocumentProvider extends DocumentProvider<OpenTestChec
     }
 
     private static Single<Boolean> isJwt(String jwt) {
-        return Single.fromCallable(() -> Jwts.parserBuilder()
-                .build()
-                .parseClaimsJwt(getUnsignedJwt(jwt)))
+        return Single.fromCallable(() -> UNSIGNED_JWT_PARSER.parseClaimsJwt(getUnsignedJwt(jwt)))
                 .map(headerClaimsJwt -> true)
                 .onErrorReturnItem(false);
     }
 
+    private static class SigningKey {
+
+        private final String encodedPublicKey;
+        private final JwtParser parser;
+
+        private SigningKey(@NonNull String encodedPublicKey, @NonNull RSAPublicKey publicKey) {
+            this.encodedPublicKey = encodedPublicKey;
+            this.parser = Jwts.parserBuilder()
+                    .setSigningKey(publicKey)
+                    .build();
+        }
+
+    }
+
 }
@@ -18,10 +18,10 @@ import com.google.android.gms.location.GeofencingEvent;
 import com.google.android.gms.location.GeofencingRequest;
 import com.google.android.gms.location.LocationServices;
 
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
 import de.culture4life.luca.BuildConfig;
@@ -66,11 +66,15 @@ public class GeofenceManager extends Manager {
     private BroadcastReceiver providerChangedReceiver;
     private GeofencingClient geofenceClient;
 
-    private final Map<Geofence, PublishProcessor<GeofenceEvent>> eventPublishersMap;
+    /**
+     * Event publishers keyed by {@link Geofence#getRequestId()}, so that events can be dispatched
+     * to the triggering geofences only.
+     */
+    private final Map<String, PublishProcessor<GeofenceEvent>> eventPublishersMap;
     private final Map<GeofencingRequest, PendingIntent> pendingIntentsMap;
 
     public GeofenceManager() {
-        this.eventPublishersMap = new HashMap<>();
+        this.eventPublishersMap = new ConcurrentHashMap<>();
         this.pendingIntentsMap = new HashMap<>();
     }
 
@@ -238,7 +242,7 @@ public class GeofenceManager extends Manager {
                 // in geofences being removed. This is specific to our current requirements.
                 // We could also ignore this and wait for the location service to be enabled again.
                 GeofenceException geofenceException = new GeofenceException("Location service disabled");
-                return Observable.fromIterable(getEventPublishers())
+                return Observable.fromIterable(eventPublishersMap.values())
                         .filter(this::isEventPublisherActive)
                         .doOnNext(geofenceEventPublishProcessor -> geofenceEventPublishProcessor.onError(geofenceException))
                         .ignoreElements();
@@ -246,10 +250,10 @@ public class GeofenceManager extends Manager {
         }).doOnSubscribe(disposable -> Timber.d("Handling provider change event"));
     }
 
-    private Completable handleBroadcastedGeofencingEvent(@NonNull GeofencingEvent event) {
+    Completable handleBroadcastedGeofencingEvent(@NonNull GeofencingEvent event) {
         return Single.just(new GeofenceEvent(event))
                 .doOnSuccess(geofenceEvent -> Timber.d("Handling geofence event: %s", geofenceEvent))
-                .flatMapCompletable(geofenceEvent -> Observable.fromIterable(getEventPublishers())
+                .flatMapCompletable(geofenceEvent -> getEventPublishers(event)
                         .filter(this::isEventPublisherActive)
                         .doOnNext(eventPublisher -> eventPublisher.onNext(geofenceEvent))
                         .ignoreElements());
@@ -260,35 +264,38 @@ public class GeofenceManager extends Manager {
      */
 
     private void completeEventPublisher(@NonNull Geofence geofence) {
-        PublishProcessor<GeofenceEvent> eventPublisher;
-        synchronized (eventPublishersMap) {
-            if (!eventPublishersMap.containsKey(geofence)) {
-                return;
-            }
-            eventPublisher = getOrCreateEventPublisher(geofence);
-            eventPublishersMap.remove(geofence);
+        PublishProcessor<GeofenceEvent> eventPublisher = eventPublishersMap.remove(geofence.getRequestId());
+        if (eventPublisher != null) {
+            eventPublisher.onComplete();
         }
-        eventPublisher.onComplete();
     }
 
-    private List<PublishProcessor<GeofenceEvent>> getEventPublishers() {
-        List<PublishProcessor<GeofenceEvent>> eventPublishers;
-        synchronized (eventPublishersMap) {
-            eventPublishers = new ArrayList<>(eventPublishersMap.values());
-        }
-        return eventPublishers;
+    /**
+     * Will emit the publishers of the geofences that triggered the specified event. If the event
+     * doesn't contain the triggering geofences, e.g. because of an error, all publishers will be
+     * emitted.
+     */
+    private Observable<PublishProcessor<GeofenceEvent>> getEventPublishers(@NonNull GeofencingEvent event) {
+        return Observable.defer(() -> {
+            List<Geofence> triggeringGeofences = event.getTriggeringGeofences();
+            if (event.hasError() || triggeringGeofences == null) {
+                Timber.w("No triggering geofences available, dispatching event to all geofences");
+                return Observable.fromIterable(eventPublishersMap.values());
+            }
+            return Observable.fromIterable(triggeringGeofences)
+                    .map(Geofence::getRequestId)
+                    .distinct()
+                    .flatMapMaybe(requestId -> Maybe.fromCallable(() -> eventPublishersMap.get(requestId)));
+        });
     }
 
     private PublishProcessor<GeofenceEvent> getOrCreateEventPublisher(@NonNull Geofence geofence) {
-        PublishProcessor<GeofenceEvent> eventPublisher;
-        synchronized (eventPublishersMap) {
-            eventPublisher = eventPublishersMap.get(geofence);
-            if (!isEventPublisherActive(eventPublisher)) {
-                eventPublisher = PublishProcessor.create();
-                eventPublishersMap.put(geofence, eventPublisher);
+        return eventPublishersMap.compute(geofence.getRequestId(), (requestId, eventPublisher) -> {
+            if (isEventPublisherActive(eventPublisher)) {
+                return eventPublisher;
             }
-        }
-        return eventPublisher;
+            return PublishProcessor.create();
+        });
     }
 
     private boolean isEventPublisherActive(@Nullable PublishProcessor<GeofenceEvent> publishProcessor) {
@@ -26,12 +26,73 @@ import io.reactivex.rxjava3.core.Completable;
 import io.reactivex.rxjava3.core.Maybe;
 import io.reactivex.rxjava3.core.Observable;
 import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.subjects.BehaviorSubject;
+import timber.log.Timber;
 
 import static android.Manifest.permission.ACCESS_COARSE_LOCATION;
 import static android.Manifest.permission.ACCESS_FINE_LOCATION;
 
 public class LocationManager extends Manager {
 
+    /**
+     * Location request parameters used by {@link #getDistanceUpdatesTo(Location, double)}, depending
+     * on the distance to the boundary. Assuming walking speed, the boundary can't be crossed much
+     * sooner than the interval of the tier.
+     */
+    enum DistanceTrackingTier {
+
+        NEAR(50, LocationRequest.PRIORITY_HIGH_ACCURACY, TimeUnit.SECONDS.toMillis(10), TimeUnit.SECONDS.toMillis(5)),
+        CLOSE(250, LocationRequest.PRIORITY_BALANCED_POWER_ACCURACY, TimeUnit.SECONDS.toMillis(30), TimeUnit.SECONDS.toMillis(10)),
+        MEDIUM(1000, LocationRequest.PRIORITY_BALANCED_POWER_ACCURACY, TimeUnit.MINUTES.toMillis(2), TimeUnit.SECONDS.toMillis(30)),
+        FAR(Double.MAX_VALUE, LocationRequest.PRIORITY_LOW_POWER, TimeUnit.MINUTES.toMillis(5), TimeUnit.MINUTES.toMillis(1));
+
+        /**
+         * Used until the first fix is available, balancing a quick first fix and power usage.
+         */
+        static final DistanceTrackingTier INITIAL = CLOSE;
+
+        private final double maximumDistanceToBoundary;
+        private final int priority;
+        private final long interval;
+        private final long fastestInterval;
+
+        DistanceTrackingTier(double maximumDistanceToBoundary, int priority, long interval, long fastestInterval) {
+            this.maximumDistanceToBoundary = maximumDistanceToBoundary;
+            this.priority = priority;
+            this.interval = interval;
+            this.fastestInterval = fastestInterval;
+        }
+
+        /**
+         * @param distanceToBoundary in meters, reduced by the accuracy of the fix
+         */
+        static DistanceTrackingTier from(double distanceToBoundary) {
+            for (DistanceTrackingTier tier : values()) {
+                if (distanceToBoundary <= tier.maximumDistanceToBoundary) {
+                    return tier;
+                }
+            }
+            return FAR;
+        }
+
+        LocationRequest createLocationRequest() {
+            LocationRequest locationRequest = LocationRequest.create();
+            locationRequest.setPriority(priority);
+            locationRequest.setInterval(interval);
+            locationRequest.setFastestInterval(fastestInterval);
+            return locationRequest;
+        }
+
+        long getInterval() {
+            return interval;
+        }
+
+        int getPriority() {
+            return priority;
+        }
+
+    }
+
     private Context context;
     private FusedLocationProviderClient fusedLocationProviderClient;
 
@@ -94,7 +155,31 @@ public class LocationManager extends Manager {
     @RequiresPermission(anyOf = {ACCESS_COARSE_LOCATION, ACCESS_FINE_LOCATION})
     public Observable<Double> getDistanceUpdatesTo(@NonNull Location location) {
         return getLocationUpdates()
-                .flatMapMaybe(updatedLocation -> getLastKnownDistanceTo(location));
+                .map(updatedLocation -> (double) updatedLocation.distanceTo(location));
+    }
+
+    /**
+     * Emits the distance to the specified location, computed from each delivered location fix.
+     * Interval and priority of the location request are adapted to the remaining distance to the
+     * boundary of the area with the specified radius around the location, so that the location is
+     * only requested frequently and accurately while the boundary may be crossed soon.
+     *
+     * @param radius of the area around the location, in meters
+     */
+    @RequiresPermission(anyOf = {ACCESS_COARSE_LOCATION, ACCESS_FINE_LOCATION})
+    public Observable<Double> getDistanceUpdatesTo(@NonNull Location location, double radius) {
+        return Observable.defer(() -> {
+            BehaviorSubject<DistanceTrackingTier> tierSubject = BehaviorSubject.createDefault(DistanceTrackingTier.INITIAL);
+            return tierSubject.distinctUntilChanged()
+                    .doOnNext(tier -> Timber.v("Tracking distance using %s", tier))
+                    .switchMap(tier -> getLocationUpdates(tier.createLocationRequest()))
+                    .map(updatedLocation -> {
+                        double distance = updatedLocation.distanceTo(location);
+                        double distanceToBoundary = Math.max(0, Math.abs(distance - radius) - updatedLocation.getAccuracy());
+                        tierSubject.onNext(DistanceTrackingTier.from(distanceToBoundary));
+                        return distance;
+                    });
+        });
     }
 
     public Single<FusedLocationProviderClient> getFusedLocationProviderClient() {
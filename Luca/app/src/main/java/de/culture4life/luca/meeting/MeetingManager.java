@@ -5,7 +5,6 @@ import android.content.Context;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
-import com.google.gson.Gson;
 import com.google.gson.JsonObject;
 
 import java.net.HttpURLConnection;
@@ -27,6 +26,8 @@ import de.culture4life.luca.location.LocationManager;
 import de.culture4life.luca.network.NetworkManager;
 import de.culture4life.luca.network.pojo.TracesResponseData;
 import de.culture4life.luca.preference.PreferencesManager;
+import de.culture4life.luca.util.PollingScheduler;
+import de.culture4life.luca.util.PollingTask;
 import de.culture4life.luca.util.SerializationUtil;
 import de.culture4life.luca.util.TimeUtil;
 import io.reactivex.rxjava3.core.Completable;
@@ -42,6 +43,14 @@ public class MeetingManager extends Manager {
     public static final String KEY_CURRENT_MEETING_DATA = "current_meeting_data";
     public static final String KEY_ARCHIVED_MEETING_DATA = "archived_meeting_data";
 
+    /**
+     * Reads the local meeting state only. Keeps running in background, as the {@link
+     * de.culture4life.luca.service.LucaService} is stopped based on this state.
+     */
+    private static final PollingTask MEETING_HOST_STATE_POLLING_TASK = new PollingTask.Builder("meeting_host_state")
+            .setIntervals(1, 5, TimeUnit.SECONDS)
+            .build();
+
     private final PreferencesManager preferencesManager;
     private final NetworkManager networkManager;
     private final LocationManager locationManager;
@@ -74,8 +83,8 @@ public class MeetingManager extends Manager {
     }
 
     public Observable<Boolean> getMeetingHostStateChanges() {
-        return Observable.interval(1, TimeUnit.SECONDS)
-                .flatMapSingle(tick -> isCurrentlyHostingMeeting())
+        return PollingScheduler.getInstance()
+                .poll(MEETING_HOST_STATE_POLLING_TASK, isCurrentlyHostingMeeting())
                 .distinctUntilChanged();
     }
 
@@ -214,7 +223,7 @@ public class MeetingManager extends Manager {
 
                 MeetingAdditionalData meetingAdditionalData = Single.fromCallable(() -> new String(decryptedData, StandardCharsets.UTF_8))
                         .doOnSuccess(json -> Timber.d("Additional data JSON: %s", json))
-                        .map(json -> new Gson().fromJson(json, MeetingAdditionalData.class))
+                        .map(json -> NetworkManager.GSON.fromJson(json, MeetingAdditionalData.class))
                         .blockingGet();
 
                 meetingGuestData.setFirstName(meetingAdditionalData.getFirstName());
@@ -0,0 +1,147 @@
+package de.culture4life.luca.network;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.rxjava3.core.Single;
+import okhttp3.Request;
+import okhttp3.ResponseBody;
+import retrofit2.Call;
+import retrofit2.CallAdapter;
+import retrofit2.Retrofit;
+import retrofit2.http.GET;
+
+/**
+ * Single-flight layer for idempotent endpoints. Concurrent subscriptions to {@link GET} requests
+ * with the same URL and headers share one in-flight call. If the endpoint is annotated with {@link
+ * ResponseMemo}, the successful response is also reused for subsequent subscriptions until the memo
+ * expires.
+ * <p>
+ * Only endpoints returning a {@link Single} of an already converted body are coalesced, streamed
+ * {@link ResponseBody} instances can only be consumed once.
+ */
+public class CoalescingCallAdapterFactory extends CallAdapter.Factory {
+
+    private final Map<String, SharedCall> sharedCalls = new HashMap<>();
+
+    @Nullable
+    @Override
+    public CallAdapter<?, ?> get(@NonNull Type returnType, @NonNull Annotation[] annotations, @NonNull Retrofit retrofit) {
+        if (getRawType(returnType) != Single.class || !isCoalescable(returnType, annotations)) {
+            return null;
+        }
+        //noinspection unchecked
+        CallAdapter<Object, Single<Object>> delegate = (CallAdapter<Object, Single<Object>>) retrofit.nextCallAdapter(this, returnType, annotations);
+        long memoDuration = getMemoDuration(annotations);
+        return new CallAdapter<Object, Single<Object>>() {
+            @Override
+            public Type responseType() {
+                return delegate.responseType();
+            }
+
+            @Override
+            public Single<Object> adapt(@NonNull Call<Object> call) {
+                String key = getKey(call.request());
+                Single<Object> request = delegate.adapt(call);
+                return Single.defer(() -> getOrCreateSharedCall(key, request, memoDuration).response);
+            }
+        };
+    }
+
+    private SharedCall getOrCreateSharedCall(@NonNull String key, @NonNull Single<Object> request, long memoDuration) {
+        synchronized (sharedCalls) {
+            long timestamp = System.currentTimeMillis();
+            SharedCall sharedCall = sharedCalls.get(key);
+            if (sharedCall == null || sharedCall.isExpired(timestamp)) {
+                removeExpiredSharedCalls(timestamp);
+                sharedCall = new SharedCall(key, request, memoDuration);
+                sharedCalls.put(key, sharedCall);
+            }
+            return sharedCall;
+        }
+    }
+
+    private void removeExpiredSharedCalls(long timestamp) {
+        Iterator<SharedCall> iterator = sharedCalls.values().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().isExpired(timestamp)) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private void removeSharedCall(@NonNull SharedCall sharedCall) {
+        synchronized (sharedCalls) {
+            if (sharedCalls.get(sharedCall.key) == sharedCall) {
+                sharedCalls.remove(sharedCall.key);
+            }
+        }
+    }
+
+    private static boolean isCoalescable(@NonNull Type returnType, @NonNull Annotation[] annotations) {
+        boolean isGetRequest = false;
+        for (Annotation annotation : annotations) {
+            if (annotation instanceof GET) {
+                isGetRequest = true;
+                break;
+            }
+        }
+        if (!isGetRequest || !(returnType instanceof ParameterizedType)) {
+            return false;
+        }
+        Type responseType = getParameterUpperBound(0, (ParameterizedType) returnType);
+        return getRawType(responseType) != ResponseBody.class;
+    }
+
+    private static long getMemoDuration(@NonNull Annotation[] annotations) {
+        for (Annotation annotation : annotations) {
+            if (annotation instanceof ResponseMemo) {
+                return TimeUnit.SECONDS.toMillis(((ResponseMemo) annotation).seconds());
+            }
+        }
+        return 0;
+    }
+
+    private static String getKey(@NonNull Request request) {
+        return request.method() + " " + request.url() + "\n" + request.headers();
+    }
+
+    private class SharedCall {
+
+        private final String key;
+        private final long memoDuration;
+        private final Single<Object> response;
+        private volatile long responseTimestamp;
+
+        private SharedCall(@NonNull String key, @NonNull Single<Object> request, long memoDuration) {
+            this.key = key;
+            this.memoDuration = memoDuration;
+            this.response = request
+                    .doOnSuccess(value -> {
+                        responseTimestamp = System.currentTimeMillis();
+                        if (memoDuration <= 0) {
+                            removeSharedCall(this);
+                        }
+                    })
+                    .doOnError(throwable -> removeSharedCall(this))
+                    .cache();
+        }
+
+        /**
+         * @return true if the response has been received and may no longer be reused
+         */
+        private boolean isExpired(long timestamp) {
+            return responseTimestamp != 0 && timestamp - responseTimestamp > memoDuration;
+        }
+
+    }
+
+}
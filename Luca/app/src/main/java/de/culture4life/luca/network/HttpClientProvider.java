@@ -0,0 +1,82 @@
+package de.culture4life.luca.network;
+
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+
+import java.io.File;
+import java.util.regex.Pattern;
+
+import de.culture4life.luca.network.metrics.NetworkMetricsEventListener;
+import de.culture4life.luca.network.metrics.NetworkMetricsInterceptor;
+import de.culture4life.luca.network.metrics.NetworkMetricsStore;
+import okhttp3.Cache;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import timber.log.Timber;
+
+/**
+ * Provides the process-wide HTTP core. Clients for specific API versions or features should be
+ * derived from {@link #getBaseClient(Context)} using {@link OkHttpClient#newBuilder()}, so that they
+ * share the same connection pool, dispatcher and on-disk cache.
+ * <p>
+ * The cache lives in a dedicated subdirectory and is only opened once, because multiple {@link
+ * Cache} instances using the same directory would corrupt each other's journal and size accounting.
+ * Files of the cache that previously lived in the root of the cache directory are deleted once the
+ * base client is created.
+ * <p>
+ * All derived clients record their calls in the {@link NetworkMetricsStore} available through
+ * {@link #getMetricsStore()}.
+ */
+public final class HttpClientProvider {
+
+    private static final String CACHE_DIRECTORY_NAME = "http";
+    private static final long CACHE_SIZE = 1024 * 1024 * 10;
+
+    /**
+     * Journal and entry files of an OkHttp cache, entries are named by the MD5 hash of their URL.
+     */
+    private static final Pattern LEGACY_CACHE_FILE_PATTERN = Pattern.compile("^(journal.*|[0-9a-f]{32}\\.[01](\\.tmp)?)$");
+
+    private static final NetworkMetricsStore METRICS_STORE = new NetworkMetricsStore();
+
+    private static OkHttpClient baseClient;
+
+    private HttpClientProvider() {
+    }
+
+    @NonNull
+    public static synchronized OkHttpClient getBaseClient(@NonNull Context context) {
+        if (baseClient == null) {
+            deleteLegacyCacheFiles(context.getCacheDir());
+            File cacheDirectory = new File(context.getCacheDir(), CACHE_DIRECTORY_NAME);
+            baseClient = new OkHttpClient.Builder()
+                    .connectionPool(new ConnectionPool())
+                    .dispatcher(new Dispatcher())
+                    .cache(new Cache(cacheDirectory, CACHE_SIZE))
+                    .addInterceptor(new NetworkMetricsInterceptor(METRICS_STORE))
+                    .eventListenerFactory(NetworkMetricsEventListener.createFactory(METRICS_STORE))
+                    .build();
+        }
+        return baseClient;
+    }
+
+    static void deleteLegacyCacheFiles(@NonNull File directory) {
+        File[] legacyCacheFiles = directory.listFiles((dir, name) -> LEGACY_CACHE_FILE_PATTERN.matcher(name).matches());
+        if (legacyCacheFiles == null) {
+            return;
+        }
+        for (File legacyCacheFile : legacyCacheFiles) {
+            if (legacyCacheFile.isFile() && !legacyCacheFile.delete()) {
+                Timber.w("Unable to delete legacy HTTP cache file: %s", legacyCacheFile.getName());
+            }
+        }
+    }
+
+    @NonNull
+    public static NetworkMetricsStore getMetricsStore() {
+        return METRICS_STORE;
+    }
+
+}
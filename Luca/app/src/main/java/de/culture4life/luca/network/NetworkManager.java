@@ -20,13 +20,14 @@ import de.culture4life.luca.LucaApplication;
 import de.culture4life.luca.Manager;
 import de.culture4life.luca.network.endpoints.LucaEndpointsV3;
 import de.culture4life.luca.network.endpoints.LucaEndpointsV4;
+import de.culture4life.luca.network.metrics.NetworkMetricsStore;
+import de.culture4life.luca.util.LucaTypeAdapterFactory;
 import io.reactivex.rxjava3.core.Completable;
 import io.reactivex.rxjava3.core.Maybe;
 import io.reactivex.rxjava3.core.Observable;
 import io.reactivex.rxjava3.core.Single;
 import io.reactivex.rxjava3.schedulers.Schedulers;
 import io.reactivex.rxjava3.subjects.BehaviorSubject;
-import okhttp3.Cache;
 import okhttp3.CertificatePinner;
 import okhttp3.Credentials;
 import okhttp3.HttpUrl;
@@ -42,11 +43,28 @@ import timber.log.Timber;
 
 public class NetworkManager extends Manager {
 
-    private static final int CACHE_SIZE = 1024 * 1024 * 10;
+    /**
+     * Not defined in {@link java.net.HttpURLConnection}.
+     */
+    public static final int HTTP_TOO_MANY_REQUESTS = 429;
+
     private static final long DEFAULT_REQUEST_TIMEOUT = TimeUnit.SECONDS.toMillis(10);
     private static final String USER_AGENT = createUserAgent();
+    /**
+     * Used for request and response bodies, as well as for other data exchanged with the backend
+     * or other clients.
+     */
+    public static final Gson GSON = new GsonBuilder()
+            .setLenient()
+            .setDateFormat("yyyy-MM-dd'T'HH:mm:ssZ")
+            .registerTypeAdapterFactory(new LucaTypeAdapterFactory())
+            .create();
 
     private final RxJava3CallAdapterFactory rxAdapter;
+    private final CoalescingCallAdapterFactory coalescingAdapter = new CoalescingCallAdapterFactory();
+
+    @Nullable
+    private OkHttpClient okHttpClient;
 
     private LucaEndpointsV3 lucaEndpointsV3;
     private LucaEndpointsV4 lucaEndpointsV4;
@@ -73,21 +91,26 @@ public class NetworkManager extends Manager {
     }
 
     private Retrofit createRetrofit(int version) {
-        Gson gson = new GsonBuilder()
-                .setLenient()
-                .setDateFormat("yyyy-MM-dd'T'HH:mm:ssZ")
-                .create();
-
-        OkHttpClient okHttpClient = createOkHttpClient();
-
         return new Retrofit.Builder()
                 .baseUrl(BuildConfig.API_BASE_URL + "/api/v" + version + "/")
-                .addConverterFactory(GsonConverterFactory.create(gson))
+                .addConverterFactory(GsonConverterFactory.create(GSON))
+                .addCallAdapterFactory(coalescingAdapter)
                 .addCallAdapterFactory(rxAdapter)
-                .client(okHttpClient)
+                .client(getOrCreateOkHttpClient())
                 .build();
     }
 
+    /**
+     * @return the client used for all luca API versions, derived from the shared HTTP core
+     */
+    @NonNull
+    private synchronized OkHttpClient getOrCreateOkHttpClient() {
+        if (okHttpClient == null) {
+            okHttpClient = createOkHttpClient();
+        }
+        return okHttpClient;
+    }
+
     @NonNull
     private OkHttpClient createOkHttpClient() {
         Interceptor userAgentInterceptor = chain -> chain.proceed(chain.request()
@@ -109,11 +132,10 @@ public class NetworkManager extends Manager {
                 .add("**.luca-app.de", "sha256/wjD2X9ht0iXPN2sSXiXd2aF6ar5cxHOmXZnnkAiwVpU=") // CN=*.luca-app.de,O=neXenio GmbH,L=Berlin,ST=Berlin,C=DE,2.5.4.5=#130c43534d303233353532353339
                 .build();
 
-        OkHttpClient.Builder builder = new OkHttpClient.Builder()
+        OkHttpClient.Builder builder = HttpClientProvider.getBaseClient(context).newBuilder()
                 .addInterceptor(userAgentInterceptor)
                 .addInterceptor(timeoutInterceptor)
-                .addInterceptor(cdnInterceptor)
-                .cache(new Cache(context.getCacheDir(), CACHE_SIZE));
+                .addInterceptor(cdnInterceptor);
 
         if (BuildConfig.DEBUG) {
             HttpLoggingInterceptor loggingInterceptor = new HttpLoggingInterceptor();
@@ -153,6 +175,13 @@ public class NetworkManager extends Manager {
         });
     }
 
+    /**
+     * @return metrics of all calls made using the shared HTTP core, e.g. for debugging
+     */
+    public NetworkMetricsStore getMetricsStore() {
+        return HttpClientProvider.getMetricsStore();
+    }
+
     public Completable assertNetworkConnected() {
         return isNetworkConnected()
                 .flatMapCompletable(isNetworkConnected -> {
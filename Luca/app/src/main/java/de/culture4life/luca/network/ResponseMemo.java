@@ -0,0 +1,20 @@
+package de.culture4life.luca.network;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an endpoint whose successful responses may be reused by {@link CoalescingCallAdapterFactory}
+ * for the given duration after they have been received.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ResponseMemo {
+
+    long seconds();
+
+}
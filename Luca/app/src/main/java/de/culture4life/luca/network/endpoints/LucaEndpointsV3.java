@@ -1,10 +1,13 @@
 package de.culture4life.luca.network.endpoints;
 
+import androidx.annotation.Nullable;
+
 import com.google.gson.JsonObject;
 
 import java.util.List;
 
 import de.culture4life.luca.meeting.MeetingCreationResponse;
+import de.culture4life.luca.network.ResponseMemo;
 import de.culture4life.luca.network.pojo.AdditionalCheckInPropertiesRequestData;
 import de.culture4life.luca.network.pojo.CheckInRequestData;
 import de.culture4life.luca.network.pojo.CheckOutRequestData;
@@ -19,10 +22,12 @@ import de.culture4life.luca.network.pojo.UserDeletionRequestData;
 import de.culture4life.luca.network.pojo.UserRegistrationRequestData;
 import io.reactivex.rxjava3.core.Completable;
 import io.reactivex.rxjava3.core.Single;
+import retrofit2.Response;
 import retrofit2.http.Body;
 import retrofit2.http.DELETE;
 import retrofit2.http.GET;
 import retrofit2.http.HTTP;
+import retrofit2.http.Header;
 import retrofit2.http.Headers;
 import retrofit2.http.PATCH;
 import retrofit2.http.POST;
@@ -34,9 +39,11 @@ public interface LucaEndpointsV3 {
         Keys
      */
 
+    @ResponseMemo(seconds = 60)
     @GET("keys/daily/current")
     Single<DailyKeyPair> getDailyKeyPair();
 
+    @ResponseMemo(seconds = 60)
     @GET("keys/issuers/{issuerId}")
     Single<Issuer> getIssuer(@Path("issuerId") String issuerId);
 
@@ -44,6 +51,7 @@ public interface LucaEndpointsV3 {
         Locations
      */
 
+    @ResponseMemo(seconds = 10)
     @GET("locations/{locationId}")
     Single<LocationResponseData> getLocation(@Path("locationId") String locationId);
 
@@ -99,6 +107,7 @@ public interface LucaEndpointsV3 {
         Scanners
      */
 
+    @ResponseMemo(seconds = 10)
     @GET("scanners/{scannerId}")
     Single<JsonObject> getScanner(@Path("scannerId") String scannerId);
 
@@ -106,6 +115,7 @@ public interface LucaEndpointsV3 {
         Health Departments
      */
 
+    @ResponseMemo(seconds = 60)
     @GET("healthDepartments/{healthDepartmentId}")
     Single<JsonObject> getHealthDepartment(@Path("healthDepartmentId") String healthDepartmentId);
 
@@ -121,6 +131,7 @@ public interface LucaEndpointsV3 {
         Supported Version Numbers
      */
 
+    @ResponseMemo(seconds = 60)
     @GET("versions/apps/android")
     Single<JsonObject> getSupportedVersionNumber();
 
@@ -150,8 +161,11 @@ public interface LucaEndpointsV3 {
     @HTTP(method = "DELETE", path = "tests/redeem", hasBody = true)
     Completable unredeemDocument(@Body JsonObject message);
 
+    /**
+     * @param eTag entity tag of a previously fetched list, the response is 304 Not Modified if it still matches
+     */
     @GET("testProviders")
-    Single<DocumentProviderDataList> getDocumentProviders();
+    Single<Response<DocumentProviderDataList>> getDocumentProviders(@Nullable @Header("If-None-Match") String eTag);
 
     /*
         Time
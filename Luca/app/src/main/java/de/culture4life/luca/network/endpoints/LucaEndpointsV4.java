@@ -2,6 +2,7 @@ package de.culture4life.luca.network.endpoints;
 
 import com.google.gson.JsonObject;
 
+import de.culture4life.luca.network.ResponseMemo;
 import io.reactivex.rxjava3.core.Single;
 import okhttp3.ResponseBody;
 import retrofit2.http.GET;
@@ -13,6 +14,7 @@ public interface LucaEndpointsV4 {
         Notifications
      */
 
+    @ResponseMemo(seconds = 60)
     @GET("notifications/config")
     Single<JsonObject> getNotificationConfig();
 
@@ -0,0 +1,25 @@
+package de.culture4life.luca.network.metrics;
+
+/**
+ * Measurements of a single call, durations are in milliseconds and -1 if the phase did not occur.
+ */
+class CallMetrics {
+
+    long dnsDuration = -1;
+    long connectDuration = -1;
+    long tlsDuration = -1;
+    long timeToFirstByte = -1;
+    long totalDuration = -1;
+    long requestBytes;
+    long responseBytes;
+    CacheResult cacheResult = CacheResult.NONE;
+    boolean failed;
+
+    enum CacheResult {
+        NONE,
+        HIT,
+        MISS,
+        CONDITIONAL_HIT
+    }
+
+}
@@ -0,0 +1,67 @@
+package de.culture4life.luca.network.metrics;
+
+/**
+ * Histogram of durations with fixed, roughly exponential buckets, so that its memory usage does
+ * not depend on the number of recorded values.
+ */
+public class DurationHistogram {
+
+    private static final long[] BUCKET_UPPER_BOUNDS = {1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000, 5000, 10000, 20000, 60000};
+
+    private final long[] bucketCounts = new long[BUCKET_UPPER_BOUNDS.length + 1];
+    private long count;
+    private long sum;
+    private long max;
+
+    /**
+     * @param duration in milliseconds
+     */
+    public synchronized void record(long duration) {
+        int bucketIndex = 0;
+        while (bucketIndex < BUCKET_UPPER_BOUNDS.length && duration > BUCKET_UPPER_BOUNDS[bucketIndex]) {
+            bucketIndex++;
+        }
+        bucketCounts[bucketIndex]++;
+        count++;
+        sum += duration;
+        max = Math.max(max, duration);
+    }
+
+    /**
+     * @param percentile between 0 and 1
+     * @return the upper bound of the bucket containing the percentile, in milliseconds. Values
+     * exceeding the largest bucket are reported as the maximum recorded duration.
+     */
+    public synchronized long getPercentile(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(percentile * count);
+        long cumulativeCount = 0;
+        for (int bucketIndex = 0; bucketIndex < BUCKET_UPPER_BOUNDS.length; bucketIndex++) {
+            cumulativeCount += bucketCounts[bucketIndex];
+            if (cumulativeCount >= rank) {
+                return Math.min(BUCKET_UPPER_BOUNDS[bucketIndex], max);
+            }
+        }
+        return max;
+    }
+
+    public synchronized long getCount() {
+        return count;
+    }
+
+    public synchronized long getMean() {
+        return count == 0 ? 0 : sum / count;
+    }
+
+    public synchronized long getMax() {
+        return max;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "{count=" + count + ", mean=" + getMean() + ", p50=" + getPercentile(0.5) + ", p90=" + getPercentile(0.9) + ", max=" + max + "}";
+    }
+
+}
@@ -0,0 +1,148 @@
+package de.culture4life.luca.network.metrics;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Aggregated metrics of all calls to one endpoint template.
+ */
+public class EndpointMetrics {
+
+    private final String endpoint;
+
+    private final DurationHistogram dnsDurations = new DurationHistogram();
+    private final DurationHistogram connectDurations = new DurationHistogram();
+    private final DurationHistogram tlsDurations = new DurationHistogram();
+    private final DurationHistogram timesToFirstByte = new DurationHistogram();
+    private final DurationHistogram totalDurations = new DurationHistogram();
+
+    private long callCount;
+    private long failureCount;
+    private long httpErrorCount;
+    private long cacheHitCount;
+    private long cacheMissCount;
+    private long conditionalCacheHitCount;
+    private long requestBytes;
+    private long responseBytes;
+
+    public EndpointMetrics(@NonNull String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    synchronized void record(@NonNull CallMetrics callMetrics) {
+        recordIfAvailable(dnsDurations, callMetrics.dnsDuration);
+        recordIfAvailable(connectDurations, callMetrics.connectDuration);
+        recordIfAvailable(tlsDurations, callMetrics.tlsDuration);
+        recordIfAvailable(timesToFirstByte, callMetrics.timeToFirstByte);
+        recordIfAvailable(totalDurations, callMetrics.totalDuration);
+        callCount++;
+        if (callMetrics.failed) {
+            failureCount++;
+        }
+        switch (callMetrics.cacheResult) {
+            case HIT:
+                cacheHitCount++;
+                break;
+            case MISS:
+                cacheMissCount++;
+                break;
+            case CONDITIONAL_HIT:
+                conditionalCacheHitCount++;
+                break;
+        }
+        requestBytes += callMetrics.requestBytes;
+        responseBytes += callMetrics.responseBytes;
+    }
+
+    synchronized void recordHttpError() {
+        httpErrorCount++;
+    }
+
+    private static void recordIfAvailable(@NonNull DurationHistogram histogram, long duration) {
+        if (duration >= 0) {
+            histogram.record(duration);
+        }
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public DurationHistogram getDnsDurations() {
+        return dnsDurations;
+    }
+
+    public DurationHistogram getConnectDurations() {
+        return connectDurations;
+    }
+
+    public DurationHistogram getTlsDurations() {
+        return tlsDurations;
+    }
+
+    public DurationHistogram getTimesToFirstByte() {
+        return timesToFirstByte;
+    }
+
+    public DurationHistogram getTotalDurations() {
+        return totalDurations;
+    }
+
+    public synchronized long getCallCount() {
+        return callCount;
+    }
+
+    /**
+     * @return the number of calls that failed without a response, e.g. due to I/O errors
+     */
+    public synchronized long getFailureCount() {
+        return failureCount;
+    }
+
+    /**
+     * @return the number of responses with an unsuccessful status code, except 304 Not Modified
+     */
+    public synchronized long getHttpErrorCount() {
+        return httpErrorCount;
+    }
+
+    public synchronized long getCacheHitCount() {
+        return cacheHitCount;
+    }
+
+    public synchronized long getCacheMissCount() {
+        return cacheMissCount;
+    }
+
+    public synchronized long getConditionalCacheHitCount() {
+        return conditionalCacheHitCount;
+    }
+
+    public synchronized long getRequestBytes() {
+        return requestBytes;
+    }
+
+    public synchronized long getResponseBytes() {
+        return responseBytes;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "EndpointMetrics{" +
+                "endpoint='" + endpoint + '\'' +
+                ", callCount=" + callCount +
+                ", failureCount=" + failureCount +
+                ", httpErrorCount=" + httpErrorCount +
+                ", cacheHitCount=" + cacheHitCount +
+                ", cacheMissCount=" + cacheMissCount +
+                ", conditionalCacheHitCount=" + conditionalCacheHitCount +
+                ", requestBytes=" + requestBytes +
+                ", responseBytes=" + responseBytes +
+                ", dnsDurations=" + dnsDurations +
+                ", connectDurations=" + connectDurations +
+                ", tlsDurations=" + tlsDurations +
+                ", timesToFirstByte=" + timesToFirstByte +
+                ", totalDurations=" + totalDurations +
+                '}';
+    }
+
+}
@@ -0,0 +1,150 @@
+package de.culture4life.luca.network.metrics;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Call;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Measures the phases, transferred bytes and cache usage of a single call and records them in the
+ * {@link NetworkMetricsStore} once the call ended or failed. Phases that occur multiple times, e.g.
+ * because of redirects or retries, are summed up.
+ */
+public class NetworkMetricsEventListener extends EventListener {
+
+    private final NetworkMetricsStore store;
+    private final CallMetrics callMetrics = new CallMetrics();
+
+    private long callStartTime;
+    private long dnsStartTime;
+    private long connectStartTime;
+    private long secureConnectStartTime;
+    private long requestStartTime;
+
+    public NetworkMetricsEventListener(@NonNull NetworkMetricsStore store) {
+        this.store = store;
+    }
+
+    public static EventListener.Factory createFactory(@NonNull NetworkMetricsStore store) {
+        return call -> new NetworkMetricsEventListener(store);
+    }
+
+    @Override
+    public void callStart(@NonNull Call call) {
+        callStartTime = System.nanoTime();
+    }
+
+    @Override
+    public void dnsStart(@NonNull Call call, @NonNull String domainName) {
+        dnsStartTime = System.nanoTime();
+    }
+
+    @Override
+    public void dnsEnd(@NonNull Call call, @NonNull String domainName, @NonNull List<InetAddress> inetAddressList) {
+        callMetrics.dnsDuration = addElapsedTime(callMetrics.dnsDuration, dnsStartTime);
+    }
+
+    @Override
+    public void connectStart(@NonNull Call call, @NonNull InetSocketAddress inetSocketAddress, @NonNull Proxy proxy) {
+        connectStartTime = System.nanoTime();
+    }
+
+    @Override
+    public void secureConnectStart(@NonNull Call call) {
+        secureConnectStartTime = System.nanoTime();
+    }
+
+    @Override
+    public void secureConnectEnd(@NonNull Call call, @Nullable Handshake handshake) {
+        callMetrics.tlsDuration = addElapsedTime(callMetrics.tlsDuration, secureConnectStartTime);
+    }
+
+    @Override
+    public void connectEnd(@NonNull Call call, @NonNull InetSocketAddress inetSocketAddress, @NonNull Proxy proxy, @Nullable Protocol protocol) {
+        callMetrics.connectDuration = addElapsedTime(callMetrics.connectDuration, connectStartTime);
+    }
+
+    @Override
+    public void connectFailed(@NonNull Call call, @NonNull InetSocketAddress inetSocketAddress, @NonNull Proxy proxy, @Nullable Protocol protocol, @NonNull IOException ioe) {
+        callMetrics.connectDuration = addElapsedTime(callMetrics.connectDuration, connectStartTime);
+    }
+
+    @Override
+    public void requestHeadersStart(@NonNull Call call) {
+        requestStartTime = System.nanoTime();
+    }
+
+    @Override
+    public void requestHeadersEnd(@NonNull Call call, @NonNull Request request) {
+        callMetrics.requestBytes += request.headers().byteCount();
+    }
+
+    @Override
+    public void requestBodyEnd(@NonNull Call call, long byteCount) {
+        callMetrics.requestBytes += byteCount;
+    }
+
+    @Override
+    public void responseHeadersStart(@NonNull Call call) {
+        callMetrics.timeToFirstByte = addElapsedTime(callMetrics.timeToFirstByte, requestStartTime);
+    }
+
+    @Override
+    public void responseHeadersEnd(@NonNull Call call, @NonNull Response response) {
+        callMetrics.responseBytes += response.headers().byteCount();
+    }
+
+    @Override
+    public void responseBodyEnd(@NonNull Call call, long byteCount) {
+        callMetrics.responseBytes += byteCount;
+    }
+
+    @Override
+    public void cacheHit(@NonNull Call call, @NonNull Response response) {
+        callMetrics.cacheResult = CallMetrics.CacheResult.HIT;
+    }
+
+    @Override
+    public void cacheMiss(@NonNull Call call) {
+        callMetrics.cacheResult = CallMetrics.CacheResult.MISS;
+    }
+
+    @Override
+    public void cacheConditionalHit(@NonNull Call call, @NonNull Response cachedResponse) {
+        callMetrics.cacheResult = CallMetrics.CacheResult.CONDITIONAL_HIT;
+    }
+
+    @Override
+    public void callEnd(@NonNull Call call) {
+        record(call, false);
+    }
+
+    @Override
+    public void callFailed(@NonNull Call call, @NonNull IOException ioe) {
+        record(call, true);
+    }
+
+    private void record(@NonNull Call call, boolean failed) {
+        callMetrics.totalDuration = addElapsedTime(0, callStartTime);
+        callMetrics.failed = failed;
+        store.getOrCreateEndpointMetrics(call.request()).record(callMetrics);
+    }
+
+    private static long addElapsedTime(long previousDuration, long startTime) {
+        long elapsedTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+        return Math.max(previousDuration, 0) + elapsedTime;
+    }
+
+}
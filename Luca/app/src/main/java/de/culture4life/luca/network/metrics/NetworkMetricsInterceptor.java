@@ -0,0 +1,33 @@
+package de.culture4life.luca.network.metrics;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+
+import okhttp3.Interceptor;
+import okhttp3.Response;
+
+/**
+ * Counts responses with unsuccessful status codes, which complete the call normally and are thus
+ * not reported as failures by the {@link NetworkMetricsEventListener}.
+ */
+public class NetworkMetricsInterceptor implements Interceptor {
+
+    private final NetworkMetricsStore store;
+
+    public NetworkMetricsInterceptor(@NonNull NetworkMetricsStore store) {
+        this.store = store;
+    }
+
+    @NonNull
+    @Override
+    public Response intercept(@NonNull Chain chain) throws IOException {
+        Response response = chain.proceed(chain.request());
+        if (!response.isSuccessful() && response.code() != HttpURLConnection.HTTP_NOT_MODIFIED) {
+            store.getOrCreateEndpointMetrics(chain.call().request()).recordHttpError();
+        }
+        return response;
+    }
+
+}
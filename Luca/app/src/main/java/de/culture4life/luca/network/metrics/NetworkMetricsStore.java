@@ -0,0 +1,124 @@
+package de.culture4life.luca.network.metrics;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import okhttp3.Request;
+import retrofit2.Invocation;
+import retrofit2.http.DELETE;
+import retrofit2.http.GET;
+import retrofit2.http.HTTP;
+import retrofit2.http.PATCH;
+import retrofit2.http.POST;
+import retrofit2.http.PUT;
+
+/**
+ * Bounded in-memory store of {@link EndpointMetrics}, keyed by endpoint template. Once {@link
+ * #maximumEndpointCount} endpoints are known, calls to further endpoints are aggregated as {@link
+ * #OTHER_ENDPOINTS}.
+ */
+public class NetworkMetricsStore {
+
+    public static final int DEFAULT_MAXIMUM_ENDPOINT_COUNT = 64;
+    public static final String OTHER_ENDPOINTS = "other";
+
+    private static final Pattern ID_SEGMENT_PATTERN = Pattern.compile("^([0-9]+|[0-9a-fA-F-]{16,}|[A-Za-z0-9_=-]{32,})$");
+
+    private final int maximumEndpointCount;
+    private final Map<String, EndpointMetrics> endpointMetrics = new LinkedHashMap<>();
+
+    public NetworkMetricsStore() {
+        this(DEFAULT_MAXIMUM_ENDPOINT_COUNT);
+    }
+
+    public NetworkMetricsStore(int maximumEndpointCount) {
+        this.maximumEndpointCount = maximumEndpointCount;
+    }
+
+    EndpointMetrics getOrCreateEndpointMetrics(@NonNull Request request) {
+        String endpoint = getEndpointTemplate(request);
+        synchronized (endpointMetrics) {
+            EndpointMetrics metrics = endpointMetrics.get(endpoint);
+            if (metrics == null) {
+                if (endpointMetrics.size() >= maximumEndpointCount - 1) {
+                    endpoint = OTHER_ENDPOINTS;
+                    metrics = endpointMetrics.get(endpoint);
+                }
+                if (metrics == null) {
+                    metrics = new EndpointMetrics(endpoint);
+                    endpointMetrics.put(endpoint, metrics);
+                }
+            }
+            return metrics;
+        }
+    }
+
+    @Nullable
+    public EndpointMetrics getEndpointMetrics(@NonNull String endpoint) {
+        synchronized (endpointMetrics) {
+            return endpointMetrics.get(endpoint);
+        }
+    }
+
+    public List<EndpointMetrics> getAllEndpointMetrics() {
+        synchronized (endpointMetrics) {
+            return new ArrayList<>(endpointMetrics.values());
+        }
+    }
+
+    public void clear() {
+        synchronized (endpointMetrics) {
+            endpointMetrics.clear();
+        }
+    }
+
+    /**
+     * Creates a template like <code>POST LucaEndpointsV3/traces/bulk</code> from the Retrofit
+     * annotation of the invoked endpoint. Requests not made through Retrofit use their host and
+     * path, with segments that look like IDs replaced by <code>{id}</code>.
+     */
+    static String getEndpointTemplate(@NonNull Request request) {
+        Invocation invocation = request.tag(Invocation.class);
+        if (invocation != null) {
+            String relativePath = getRelativePath(invocation.method().getAnnotations());
+            if (relativePath != null) {
+                return request.method() + " " + invocation.method().getDeclaringClass().getSimpleName() + "/" + relativePath;
+            }
+        }
+        StringBuilder template = new StringBuilder(request.method())
+                .append(' ')
+                .append(request.url().host());
+        for (String segment : request.url().pathSegments()) {
+            template.append('/').append(ID_SEGMENT_PATTERN.matcher(segment).matches() ? "{id}" : segment);
+        }
+        return template.toString();
+    }
+
+    @Nullable
+    private static String getRelativePath(@NonNull Annotation[] annotations) {
+        for (Annotation annotation : annotations) {
+            if (annotation instanceof GET) {
+                return ((GET) annotation).value();
+            } else if (annotation instanceof POST) {
+                return ((POST) annotation).value();
+            } else if (annotation instanceof PUT) {
+                return ((PUT) annotation).value();
+            } else if (annotation instanceof PATCH) {
+                return ((PATCH) annotation).value();
+            } else if (annotation instanceof DELETE) {
+                return ((DELETE) annotation).value();
+            } else if (annotation instanceof HTTP) {
+                return ((HTTP) annotation).path();
+            }
+        }
+        return null;
+    }
+
+}
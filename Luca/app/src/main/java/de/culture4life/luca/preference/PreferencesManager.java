@@ -14,6 +14,7 @@ import de.culture4life.luca.LucaApplication;
 import de.culture4life.luca.Manager;
 import de.culture4life.luca.crypto.TraceIdWrapper;
 import de.culture4life.luca.history.HistoryItem;
+import de.culture4life.luca.util.LucaTypeAdapterFactory;
 import io.reactivex.rxjava3.core.Completable;
 import io.reactivex.rxjava3.core.Maybe;
 import io.reactivex.rxjava3.core.Observable;
@@ -22,8 +23,8 @@ import io.reactivex.rxjava3.core.Single;
 public class PreferencesManager extends Manager implements PreferencesProvider {
 
     public static final GsonSerializer SERIALIZER = new GsonSerializer(new GsonBuilder()
-            .setPrettyPrinting()
             .excludeFieldsWithoutExposeAnnotation()
+            .registerTypeAdapterFactory(new LucaTypeAdapterFactory(true))
             .registerTypeAdapter(TraceIdWrapper.class, new TraceIdWrapper.TypeAdapter())
             .registerTypeAdapter(HistoryItem.class, new HistoryItem.TypeAdapter())
             .create());
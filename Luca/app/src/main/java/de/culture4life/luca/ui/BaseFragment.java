@@ -54,6 +54,8 @@ import io.reactivex.rxjava3.core.Completable;
 import io.reactivex.rxjava3.core.Observable;
 import io.reactivex.rxjava3.core.Single;
 import io.reactivex.rxjava3.disposables.CompositeDisposable;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import io.reactivex.rxjava3.subjects.CompletableSubject;
 import io.reactivex.rxjava3.subjects.PublishSubject;
 import timber.log.Timber;
 
@@ -81,6 +83,7 @@ public abstract class BaseFragment<ViewModelType extends BaseViewModel> extends
     protected ImageView menuImageView;
 
     protected boolean initialized;
+    private final CompletableSubject initializationCompleted = CompletableSubject.create();
 
     @Nullable
     protected ImageView backImageView;
@@ -124,7 +127,10 @@ public abstract class BaseFragment<ViewModelType extends BaseViewModel> extends
         initializeViewModel()
                 .observeOn(AndroidSchedulers.mainThread())
                 .andThen(initializeViews())
-                .doOnComplete(() -> this.initialized = true)
+                .doOnComplete(() -> {
+                    this.initialized = true;
+                    initializationCompleted.onComplete();
+                })
                 .subscribe(
                         () -> Timber.d("Initialized %s with %s", this, viewModel),
                         throwable -> Timber.e(throwable, "Unable to initialize %s with %s: %s", this, viewModel, throwable.toString())
@@ -185,10 +191,7 @@ public abstract class BaseFragment<ViewModelType extends BaseViewModel> extends
     protected abstract Class<ViewModelType> getViewModelClass();
 
     private Completable waitUntilInitializationCompleted() {
-        return Observable.interval(0, 50, TimeUnit.MILLISECONDS)
-                .filter(tick -> initialized)
-                .firstOrError()
-                .ignoreElement();
+        return initializationCompleted.observeOn(Schedulers.computation());
     }
 
     @CallSuper
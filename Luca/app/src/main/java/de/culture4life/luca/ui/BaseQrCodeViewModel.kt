@@ -27,6 +27,7 @@ abstract class BaseQrCodeViewModel(application: Application) :
 
     private val scanner by lazy { BarcodeScanning.getClient() }
     private var imageProcessingDisposable: Disposable? = null
+    private val processedBarcodeCache = ProcessedBarcodeCache()
     protected val showCameraPreview = MutableLiveData(CameraRequest(false))
     var pauseCameraImageProcessing = false
 
@@ -117,7 +118,15 @@ abstract class BaseQrCodeViewModel(application: Application) :
             .map { image -> InputImage.fromMediaImage(image!!, imageProxy.imageInfo.rotationDegrees) }
             .flatMapObservable { image -> detectBarcodes(image) }
             .flatMapMaybe { barcode -> Maybe.fromCallable { barcode.rawValue } }
-            .flatMapCompletable { barcodeData -> processBarcode(barcodeData) }
+            .flatMapCompletable { barcodeData -> processBarcodeIfNotRecentlyProcessed(barcodeData) }
+    }
+
+    /**
+     * Processes the barcode data, unless the same payload has recently been processed. In that
+     * case, the previous outcome is replayed without parsing or network requests.
+     */
+    private fun processBarcodeIfNotRecentlyProcessed(barcodeData: String): Completable {
+        return processedBarcodeCache.process(barcodeData) { processBarcode(it) }
     }
 
     private fun detectBarcodes(image: InputImage): Observable<Barcode> {
@@ -0,0 +1,63 @@
+package de.culture4life.luca.ui
+
+import de.culture4life.luca.util.CompletableOutcome
+import de.culture4life.luca.util.ExpiringLruCache
+import dgca.verifier.app.decoder.toHexString
+import io.reactivex.rxjava3.core.Completable
+import java.nio.charset.StandardCharsets
+import java.security.MessageDigest
+import java.util.concurrent.TimeUnit
+
+/**
+ * Remembers the outcome of recently processed barcodes, keyed by the SHA-256 digest of their
+ * payload. Holding a QR code in front of the camera yields the same payload on many consecutive
+ * frames, this cache allows replaying the previous outcome instead of parsing, verifying or
+ * checking in again.
+ *
+ * Entries expire after the [retentionDuration] and the least recently used entry is evicted once
+ * [maximumSize] is exceeded.
+ */
+class ProcessedBarcodeCache @JvmOverloads constructor(
+    maximumSize: Int = DEFAULT_MAXIMUM_SIZE,
+    private val retentionDuration: Long = DEFAULT_RETENTION_DURATION,
+    timeProvider: () -> Long = { System.currentTimeMillis() }
+) {
+
+    private val outcomes = ExpiringLruCache<String, CompletableOutcome>(maximumSize, timeProvider)
+
+    /**
+     * Subscribes to the [processor] for the specified barcode data, unless the same payload has
+     * been processed within the [retentionDuration]. In that case, the cached outcome is replayed.
+     */
+    fun process(barcodeData: String, processor: (String) -> Completable): Completable {
+        return Completable.defer {
+            val digest = getDigest(barcodeData)
+            val cachedOutcome = outcomes.get(digest)
+            if (cachedOutcome != null) {
+                cachedOutcome.toCompletable()
+            } else {
+                processor(barcodeData)
+                    .doOnComplete { putOutcome(digest, null) }
+                    .doOnError { putOutcome(digest, it) }
+            }
+        }
+    }
+
+    private fun putOutcome(digest: String, error: Throwable?) {
+        outcomes.put(digest, CompletableOutcome(error), outcomes.currentTime + retentionDuration)
+    }
+
+    companion object {
+
+        const val DEFAULT_MAXIMUM_SIZE = 16
+        val DEFAULT_RETENTION_DURATION = TimeUnit.SECONDS.toMillis(3)
+
+        private fun getDigest(barcodeData: String): String {
+            return MessageDigest.getInstance("SHA-256")
+                .digest(barcodeData.toByteArray(StandardCharsets.UTF_8))
+                .toHexString()
+        }
+
+    }
+
+}
@@ -17,7 +17,6 @@ import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
 import androidx.lifecycle.ViewModelProvider;
 
-import com.google.gson.Gson;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
@@ -47,13 +46,14 @@ import de.culture4life.luca.ui.BaseQrCodeViewModel;
 import de.culture4life.luca.ui.ViewError;
 import de.culture4life.luca.ui.ViewEvent;
 import de.culture4life.luca.ui.myluca.MyLucaViewModel;
+import de.culture4life.luca.util.PollingScheduler;
+import de.culture4life.luca.util.PollingTask;
 import de.culture4life.luca.util.SerializationUtil;
 import de.culture4life.luca.util.ThrowableUtil;
 import de.culture4life.luca.util.TimeUtil;
 import io.reactivex.rxjava3.android.schedulers.AndroidSchedulers;
 import io.reactivex.rxjava3.core.Completable;
 import io.reactivex.rxjava3.core.Maybe;
-import io.reactivex.rxjava3.core.Observable;
 import io.reactivex.rxjava3.core.Single;
 import io.reactivex.rxjava3.schedulers.Schedulers;
 import timber.log.Timber;
@@ -61,7 +61,14 @@ import timber.log.Timber;
 public class CheckInViewModel extends BaseQrCodeViewModel {
 
     private static final UUID DEBUGGING_SCANNER_ID = UUID.fromString("1444c1a2-1922-4c11-813d-710d9f901227");
-    private static final long CHECK_IN_POLLING_INTERVAL = TimeUnit.SECONDS.toMillis(3);
+    private static final PollingTask CHECK_IN_POLLING_TASK = new PollingTask.Builder("check_in_feedback")
+            .setIntervals(3, 6, TimeUnit.SECONDS)
+            .setPausedInBackground(true)
+            .build();
+    private static final PollingTask QR_CODE_UPDATE_POLLING_TASK = new PollingTask.Builder("check_in_qr_code_update")
+            .setInterval(1, TimeUnit.MINUTES)
+            .setPausedInBackground(true)
+            .build();
     private static final String KEY_SKIP_CHECK_IN_CONFIRMATION = "dont_ask_confirmation";
 
     private final RegistrationManager registrationManager;
@@ -149,7 +156,7 @@ public class CheckInViewModel extends BaseQrCodeViewModel {
      */
     private Completable observeCheckInDataChanges() {
         return Completable.mergeArray(
-                checkInManager.updateCheckInDataIfNecessary(CHECK_IN_POLLING_INTERVAL, false),
+                checkInManager.updateCheckInDataIfNecessary(CHECK_IN_POLLING_TASK, false),
                 checkInManager.getCheckInDataAndChanges()
                         .observeOn(AndroidSchedulers.mainThread())
                         .flatMapCompletable(updatedCheckInData -> Completable.fromAction(() -> {
@@ -199,8 +206,8 @@ public class CheckInViewModel extends BaseQrCodeViewModel {
      */
 
     private Completable keepUpdatingQrCodes() {
-        return Observable.interval(0, 1, TimeUnit.MINUTES, Schedulers.io())
-                .flatMapCompletable(tick -> generateQrCodeData()
+        return PollingScheduler.getInstance()
+                .poll(QR_CODE_UPDATE_POLLING_TASK, generateQrCodeData()
                         .doOnSubscribe(disposable -> Timber.d("Generating new QR code data"))
                         .doOnSuccess(qrCodeData -> Timber.i("Generated new QR code data: %s", qrCodeData))
                         .flatMap(this::serializeQrCodeData)
@@ -213,7 +220,7 @@ public class CheckInViewModel extends BaseQrCodeViewModel {
     }
 
     private Single<QrCodeData> generateQrCodeData() {
-        return Single.just(new QrCodeData())
+        return Single.fromCallable(QrCodeData::new)
                 .flatMap(qrCodeData -> cryptoManager.getTraceIdWrapper(userId)
                         .flatMapCompletable(userTraceIdWrapper -> Completable.mergeArray(
                                 cryptoManager.getDailyKeyPairPublicKeyWrapper()
@@ -391,7 +398,7 @@ public class CheckInViewModel extends BaseQrCodeViewModel {
         Single<String> additionalData = registrationManager
                 .getOrCreateRegistrationData()
                 .map(MeetingAdditionalData::new)
-                .map(meetingAdditionalData -> new Gson().toJson(meetingAdditionalData));
+                .map(meetingAdditionalData -> NetworkManager.GSON.toJson(meetingAdditionalData));
 
         return extractMeetingHostName.andThen(Single.zip(scannerId, additionalData, Pair::new))
                 .flatMapCompletable(scannerIdAndAdditionalData -> performSelfCheckIn(scannerIdAndAdditionalData.first, scannerIdAndAdditionalData.second, true));
@@ -400,7 +407,7 @@ public class CheckInViewModel extends BaseQrCodeViewModel {
     private static Single<MeetingAdditionalData> getMeetingAdditionalDataFromUrl(@NonNull String url) {
         return getAdditionalDataFromUrlIfAvailable(url)
                 .toSingle()
-                .map(json -> new Gson().fromJson(json, MeetingAdditionalData.class));
+                .map(json -> NetworkManager.GSON.fromJson(json, MeetingAdditionalData.class));
     }
 
     private Completable handleSelfCheckInDeepLinkConfirmIfNecessary(@NonNull String url) {
@@ -10,7 +10,6 @@ import androidx.annotation.Nullable;
 import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
 
-import com.google.gson.Gson;
 import com.google.zxing.EncodeHintType;
 
 import net.glxn.qrgen.android.QRCode;
@@ -28,10 +27,13 @@ import de.culture4life.luca.meeting.MeetingAdditionalData;
 import de.culture4life.luca.meeting.MeetingData;
 import de.culture4life.luca.meeting.MeetingGuestData;
 import de.culture4life.luca.meeting.MeetingManager;
+import de.culture4life.luca.network.NetworkManager;
 import de.culture4life.luca.registration.RegistrationManager;
 import de.culture4life.luca.ui.BaseViewModel;
 import de.culture4life.luca.ui.ViewError;
 import de.culture4life.luca.ui.venue.VenueDetailsViewModel;
+import de.culture4life.luca.util.PollingScheduler;
+import de.culture4life.luca.util.PollingTask;
 import de.culture4life.luca.util.SerializationUtil;
 import de.culture4life.luca.util.TimeUtil;
 import io.reactivex.rxjava3.core.Completable;
@@ -42,6 +44,15 @@ import timber.log.Timber;
 
 public class MeetingViewModel extends BaseViewModel {
 
+    private static final PollingTask GUEST_DATA_UPDATE_POLLING_TASK = new PollingTask.Builder("meeting_guest_data_update")
+            .setIntervals(5, 20, TimeUnit.SECONDS)
+            .setPausedInBackground(true)
+            .build();
+    private static final PollingTask QR_CODE_UPDATE_POLLING_TASK = new PollingTask.Builder("meeting_qr_code_update")
+            .setInterval(1, TimeUnit.MINUTES)
+            .setPausedInBackground(true)
+            .build();
+
     private final RegistrationManager registrationManager;
     private final MeetingManager meetingManager;
     private final CryptoManager cryptoManager;
@@ -104,16 +115,21 @@ public class MeetingViewModel extends BaseViewModel {
     }
 
     private Completable keepUpdatingMeetingData() {
-        return Observable.interval(0, 5, TimeUnit.SECONDS, Schedulers.io())
-                .flatMapCompletable(tick -> meetingManager.updateMeetingGuestData()
+        return PollingScheduler.getInstance()
+                .poll(GUEST_DATA_UPDATE_POLLING_TASK, meetingManager.updateMeetingGuestData()
                         .andThen(updateGuests())
                         .doOnError(throwable -> Timber.w("Unable to update guests: %s", throwable.toString()))
-                        .onErrorComplete());
+                        .onErrorReturnItem(new ArrayList<>()))
+                .ignoreElements();
     }
 
-    private Completable updateGuests() {
+    /**
+     * @return the guests of the current meeting, so that polling can slow down while they don't
+     * change
+     */
+    private Single<List<Guest>> updateGuests() {
         return meetingManager.getCurrentMeetingDataIfAvailable()
-                .flatMapCompletable(meetingData -> Completable.fromAction(() -> {
+                .map(meetingData -> {
                     List<Guest> guests = new ArrayList<>();
 
                     for (MeetingGuestData guestData : meetingData.getGuestData()) {
@@ -122,12 +138,14 @@ public class MeetingViewModel extends BaseViewModel {
                         guests.add(new Guest(name, !isCheckedOut));
                     }
                     updateAsSideEffect(allGuests, guests);
-                }));
+                    return guests;
+                })
+                .defaultIfEmpty(new ArrayList<>());
     }
 
     private Completable keepUpdatingQrCodes() {
-        return Observable.interval(0, 1, TimeUnit.MINUTES, Schedulers.io())
-                .flatMapCompletable(tick -> generateQrCodeData()
+        return PollingScheduler.getInstance()
+                .poll(QR_CODE_UPDATE_POLLING_TASK, generateQrCodeData()
                         .doOnSubscribe(disposable -> updateAsSideEffect(isLoading, true))
                         .doOnSuccess(qrCodeData -> Timber.i("Generated new QR code data: %s", qrCodeData))
                         .flatMap(this::generateQrCode)
@@ -142,7 +160,7 @@ public class MeetingViewModel extends BaseViewModel {
 
         Single<String> additionalData = registrationManager.getOrCreateRegistrationData()
                 .map(MeetingAdditionalData::new)
-                .map(meetingAdditionalData -> new Gson().toJson(meetingAdditionalData))
+                .map(meetingAdditionalData -> NetworkManager.GSON.toJson(meetingAdditionalData))
                 .map(json -> json.getBytes(StandardCharsets.UTF_8))
                 .flatMap(SerializationUtil::serializeToBase64);
 
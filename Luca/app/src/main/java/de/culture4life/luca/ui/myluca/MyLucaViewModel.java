@@ -43,7 +43,6 @@ import de.culture4life.luca.ui.accesseddata.AccessedDataListItem;
 import de.culture4life.luca.ui.checkin.CheckInViewModel;
 import de.culture4life.luca.ui.history.HistoryFragment;
 import de.culture4life.luca.util.TimeUtil;
-import dgca.verifier.app.decoder.BuildConfig;
 import io.reactivex.rxjava3.android.schedulers.AndroidSchedulers;
 import io.reactivex.rxjava3.core.Completable;
 import io.reactivex.rxjava3.core.CompletableSource;
@@ -144,8 +143,7 @@ public class MyLucaViewModel extends BaseQrCodeViewModel {
     }
 
     private Observable<MyLucaListItem> loadListItems() {
-        return Completable.defer(() -> BuildConfig.DEBUG ? Completable.complete() : documentManager.deleteExpiredDocuments())
-                .andThen(documentManager.getOrRestoreDocuments())
+        return documentManager.getOrRestoreDocuments()
                 .flatMapMaybe(this::createListItem)
                 .sorted((first, second) -> Long.compare(second.getTimestamp(), first.getTimestamp()));
     }
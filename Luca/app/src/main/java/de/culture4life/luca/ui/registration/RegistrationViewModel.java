@@ -423,7 +423,7 @@ public class RegistrationViewModel extends BaseViewModel {
                                 .withResolveAction(Completable.fromAction(this::requestPhoneNumberVerificationTan))
                                 .withResolveLabel(R.string.action_retry);
 
-                        if (NetworkManager.isHttpException(throwable, 429)) {
+                        if (NetworkManager.isHttpException(throwable, NetworkManager.HTTP_TOO_MANY_REQUESTS)) {
                             builder = builder
                                     .withTitle(R.string.verification_rate_limit_title)
                                     .withDescription(R.string.verification_rate_limit_description);
@@ -0,0 +1,65 @@
+package de.culture4life.luca.util
+
+import io.reactivex.rxjava3.core.Completable
+
+/**
+ * Thread-safe in-memory cache, evicting the least recently used entry once [maximumSize] is
+ * exceeded. Each entry expires at its own timestamp, as reported by the [timeProvider].
+ */
+class ExpiringLruCache<K : Any, V : Any> @JvmOverloads constructor(
+    private val maximumSize: Int,
+    private val timeProvider: () -> Long = { System.currentTimeMillis() }
+) {
+
+    private val entries = object : LinkedHashMap<K, Entry<V>>(maximumSize, 0.75f, true) {
+        override fun removeEldestEntry(eldest: MutableMap.MutableEntry<K, Entry<V>>): Boolean {
+            return size > maximumSize
+        }
+    }
+
+    val currentTime: Long
+        get() = timeProvider()
+
+    /**
+     * @return the value, or null if there is none or it expired
+     */
+    fun get(key: K): V? {
+        synchronized(entries) {
+            val entry = entries[key] ?: return null
+            if (timeProvider() > entry.expirationTimestamp) {
+                entries.remove(key)
+                return null
+            }
+            return entry.value
+        }
+    }
+
+    fun put(key: K, value: V, expirationTimestamp: Long) {
+        synchronized(entries) {
+            entries[key] = Entry(value, expirationTimestamp)
+        }
+    }
+
+    fun clear() {
+        synchronized(entries) {
+            entries.clear()
+        }
+    }
+
+    private class Entry<V>(
+        val value: V,
+        val expirationTimestamp: Long
+    )
+
+}
+
+/**
+ * Outcome of a [Completable] that can be stored in an [ExpiringLruCache] and replayed later.
+ */
+class CompletableOutcome(val error: Throwable?) {
+
+    fun toCompletable(): Completable {
+        return if (error == null) Completable.complete() else Completable.error(error)
+    }
+
+}
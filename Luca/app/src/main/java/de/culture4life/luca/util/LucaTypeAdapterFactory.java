@@ -0,0 +1,289 @@
+package de.culture4life.luca.util;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.UUID;
+
+import de.culture4life.luca.checkin.CheckInData;
+import de.culture4life.luca.meeting.MeetingAdditionalData;
+import de.culture4life.luca.network.pojo.LocationResponseData;
+import de.culture4life.luca.network.pojo.TraceData;
+
+/**
+ * Provides streaming {@link TypeAdapter}s for frequently (de)serialized models, so that Gson
+ * doesn't need to bind them using reflection.
+ * <p>
+ * The adapters use the names defined by the {@link com.google.gson.annotations.SerializedName}
+ * annotations of the models and write all of their fields. When adding or renaming fields of these
+ * models, the adapters need to be updated as well.
+ * <p>
+ * Gson instances that exclude fields without {@link com.google.gson.annotations.Expose} annotation
+ * need to set {@code exposedFieldsOnly}. Adapters are then only provided for models with all fields
+ * exposed, so that the output still matches the reflective binding.
+ */
+public class LucaTypeAdapterFactory implements TypeAdapterFactory {
+
+    private final boolean exposedFieldsOnly;
+
+    public LucaTypeAdapterFactory() {
+        this(false);
+    }
+
+    public LucaTypeAdapterFactory(boolean exposedFieldsOnly) {
+        this.exposedFieldsOnly = exposedFieldsOnly;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Nullable
+    @Override
+    public <T> TypeAdapter<T> create(@NonNull Gson gson, @NonNull TypeToken<T> type) {
+        Class<? super T> rawType = type.getRawType();
+        TypeAdapter<?> typeAdapter;
+        if (rawType == TraceData.class) {
+            typeAdapter = new TraceDataAdapter();
+        } else if (rawType == LocationResponseData.class && !exposedFieldsOnly) {
+            typeAdapter = new LocationResponseDataAdapter();
+        } else if (rawType == CheckInData.class) {
+            typeAdapter = new CheckInDataAdapter();
+        } else if (rawType == MeetingAdditionalData.class && !exposedFieldsOnly) {
+            typeAdapter = new MeetingAdditionalDataAdapter();
+        } else {
+            return null;
+        }
+        return (TypeAdapter<T>) typeAdapter.nullSafe();
+    }
+
+    private static class TraceDataAdapter extends TypeAdapter<TraceData> {
+
+        @Override
+        public void write(JsonWriter out, TraceData traceData) throws IOException {
+            out.beginObject();
+            out.name("traceId").value(traceData.getTraceId());
+            out.name("createdAt").value(traceData.getCheckInTimestamp());
+            out.name("checkout").value(traceData.getCheckOutTimestamp());
+            out.name("locationId").value(traceData.getLocationId());
+            out.endObject();
+        }
+
+        @Override
+        public TraceData read(JsonReader in) throws IOException {
+            TraceData traceData = new TraceData();
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (skipNull(in)) {
+                    continue;
+                }
+                switch (name) {
+                    case "traceId":
+                        traceData.setTraceId(in.nextString());
+                        break;
+                    case "createdAt":
+                        traceData.setCheckInTimestamp(in.nextLong());
+                        break;
+                    case "checkout":
+                        traceData.setCheckOutTimestamp(in.nextLong());
+                        break;
+                    case "locationId":
+                        traceData.setLocationId(in.nextString());
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+            return traceData;
+        }
+
+    }
+
+    private static class LocationResponseDataAdapter extends TypeAdapter<LocationResponseData> {
+
+        @Override
+        public void write(JsonWriter out, LocationResponseData locationData) throws IOException {
+            out.beginObject();
+            out.name("locationId").value(locationData.getLocationId());
+            out.name("locationName").value(locationData.getAreaName());
+            out.name("groupName").value(locationData.getGroupName());
+            out.name("lat").value(locationData.getLatitude());
+            out.name("lng").value(locationData.getLongitude());
+            out.name("radius").value(locationData.getRadius());
+            out.name("isPrivate").value(locationData.isPrivate());
+            out.endObject();
+        }
+
+        @Override
+        public LocationResponseData read(JsonReader in) throws IOException {
+            LocationResponseData locationData = new LocationResponseData();
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (skipNull(in)) {
+                    continue;
+                }
+                switch (name) {
+                    case "locationId":
+                        locationData.setLocationId(in.nextString());
+                        break;
+                    case "locationName":
+                        locationData.setAreaName(in.nextString());
+                        break;
+                    case "groupName":
+                        locationData.setGroupName(in.nextString());
+                        break;
+                    case "lat":
+                        locationData.setLatitude(in.nextDouble());
+                        break;
+                    case "lng":
+                        locationData.setLongitude(in.nextDouble());
+                        break;
+                    case "radius":
+                        locationData.setRadius(in.nextLong());
+                        break;
+                    case "isPrivate":
+                        locationData.setPrivate(nextBoolean(in));
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+            return locationData;
+        }
+
+    }
+
+    private static class CheckInDataAdapter extends TypeAdapter<CheckInData> {
+
+        @Override
+        public void write(JsonWriter out, CheckInData checkInData) throws IOException {
+            out.beginObject();
+            out.name("traceId").value(checkInData.getTraceId());
+            out.name("locationId").value(checkInData.getLocationId() != null ? checkInData.getLocationId().toString() : null);
+            out.name("locationName").value(checkInData.getLocationAreaName());
+            out.name("locationGroupName").value(checkInData.getLocationGroupName());
+            out.name("timestamp").value(checkInData.getTimestamp());
+            out.name("latitude").value(checkInData.getLatitude());
+            out.name("longitude").value(checkInData.getLongitude());
+            out.name("radius").value(checkInData.getRadius());
+            out.name("minimumDuration").value(checkInData.getMinimumDuration());
+            out.name("isPrivateMeeting").value(checkInData.isPrivateMeeting());
+            out.endObject();
+        }
+
+        @Override
+        public CheckInData read(JsonReader in) throws IOException {
+            CheckInData checkInData = new CheckInData();
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (skipNull(in)) {
+                    continue;
+                }
+                switch (name) {
+                    case "traceId":
+                        checkInData.setTraceId(in.nextString());
+                        break;
+                    case "locationId":
+                        checkInData.setLocationId(UUID.fromString(in.nextString()));
+                        break;
+                    case "locationName":
+                        checkInData.setLocationAreaName(in.nextString());
+                        break;
+                    case "locationGroupName":
+                        checkInData.setLocationGroupName(in.nextString());
+                        break;
+                    case "timestamp":
+                        checkInData.setTimestamp(in.nextLong());
+                        break;
+                    case "latitude":
+                        checkInData.setLatitude(in.nextDouble());
+                        break;
+                    case "longitude":
+                        checkInData.setLongitude(in.nextDouble());
+                        break;
+                    case "radius":
+                        checkInData.setRadius(in.nextLong());
+                        break;
+                    case "minimumDuration":
+                        checkInData.setMinimumDuration(in.nextLong());
+                        break;
+                    case "isPrivateMeeting":
+                        checkInData.setPrivateMeeting(nextBoolean(in));
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+            return checkInData;
+        }
+
+    }
+
+    private static class MeetingAdditionalDataAdapter extends TypeAdapter<MeetingAdditionalData> {
+
+        @Override
+        public void write(JsonWriter out, MeetingAdditionalData meetingAdditionalData) throws IOException {
+            out.beginObject();
+            out.name("fn").value(meetingAdditionalData.getFirstName());
+            out.name("ln").value(meetingAdditionalData.getLastName());
+            out.endObject();
+        }
+
+        @Override
+        public MeetingAdditionalData read(JsonReader in) throws IOException {
+            MeetingAdditionalData meetingAdditionalData = new MeetingAdditionalData();
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (skipNull(in)) {
+                    continue;
+                }
+                switch (name) {
+                    case "fn":
+                        meetingAdditionalData.setFirstName(in.nextString());
+                        break;
+                    case "ln":
+                        meetingAdditionalData.setLastName(in.nextString());
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+            return meetingAdditionalData;
+        }
+
+    }
+
+    /**
+     * Consumes the next value if it's null, leaving the default value of the field in place as
+     * reflective binding would.
+     */
+    private static boolean skipNull(@NonNull JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return true;
+        }
+        return false;
+    }
+
+    private static boolean nextBoolean(@NonNull JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.STRING) {
+            return Boolean.parseBoolean(in.nextString());
+        }
+        return in.nextBoolean();
+    }
+
+}
@@ -0,0 +1,155 @@
+package de.culture4life.luca.util;
+
+import androidx.annotation.NonNull;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import io.reactivex.rxjava3.subjects.BehaviorSubject;
+import timber.log.Timber;
+
+/**
+ * Runs {@link PollingTask}s with adaptive intervals, replacing fixed {@link
+ * Observable#interval(long, TimeUnit)} loops.
+ * <p>
+ * Each task starts at its minimum interval. Whenever a run yields the same result as the previous
+ * one, the interval is doubled until the maximum interval is reached. A changed result resets the
+ * interval to the minimum.
+ * <p>
+ * While the app is in background, tasks run at their maximum interval or, if {@link
+ * PollingTask#isPausedInBackground()}, not at all. When the app returns to foreground, intervals
+ * are reset and overdue tasks run immediately.
+ * <p>
+ * Wake-ups of tasks with intervals of at least {@link #ALIGNMENT_INTERVAL} are aligned to multiples
+ * of that interval, so that multiple tasks are likely to run together instead of waking the device
+ * independently.
+ */
+public class PollingScheduler {
+
+    public static final long ALIGNMENT_INTERVAL = TimeUnit.SECONDS.toMillis(1);
+
+    private static final Object NO_RESULT = new Object();
+
+    private static PollingScheduler instance;
+
+    private final Scheduler scheduler;
+    private final BehaviorSubject<Boolean> inForegroundSubject = BehaviorSubject.createDefault(false);
+
+    public PollingScheduler(@NonNull Scheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    public static synchronized PollingScheduler getInstance() {
+        if (instance == null) {
+            instance = new PollingScheduler(Schedulers.io());
+        }
+        return instance;
+    }
+
+    public void setInForeground(boolean inForeground) {
+        if (inForeground != isInForeground()) {
+            Timber.v("Polling in %s", inForeground ? "foreground" : "background");
+            inForegroundSubject.onNext(inForeground);
+        }
+    }
+
+    public boolean isInForeground() {
+        return Boolean.TRUE.equals(inForegroundSubject.getValue());
+    }
+
+    /**
+     * Subscribes to the source according to the task and emits every result. Equal consecutive
+     * results increase the interval. The source is subscribed to again for every run, so it should
+     * be lazy. Errors emitted by the source terminate the polling, so callers should handle them
+     * within the source if polling should continue.
+     */
+    public <T> Observable<T> poll(@NonNull PollingTask task, @NonNull Single<T> source) {
+        return Observable.defer(() -> {
+            TaskState state = new TaskState(task, isInForeground());
+            return awaitNextRun(task, state)
+                    .andThen(source.doOnSubscribe(disposable -> state.lastRunTimestamp = now()))
+                    .doOnSuccess(state::onResult)
+                    .toObservable()
+                    .repeat();
+        });
+    }
+
+    /**
+     * Subscribes to the source according to the task. As there is no result to compare, the interval
+     * increases with every run.
+     */
+    public Completable poll(@NonNull PollingTask task, @NonNull Completable source) {
+        return poll(task, source.andThen(Single.just(Boolean.TRUE))).ignoreElements();
+    }
+
+    private Completable awaitNextRun(@NonNull PollingTask task, @NonNull TaskState state) {
+        return inForegroundSubject.distinctUntilChanged()
+                .switchMap(inForeground -> {
+                    state.onVisibilityChanged(inForeground);
+                    if (!inForeground && task.isPausedInBackground()) {
+                        return Observable.never();
+                    }
+                    return Observable.timer(state.getDelayUntilNextRun(now()), TimeUnit.MILLISECONDS, scheduler);
+                })
+                .take(1)
+                .ignoreElements();
+    }
+
+    private long now() {
+        return scheduler.now(TimeUnit.MILLISECONDS);
+    }
+
+    static long alignTimestamp(long timestamp, long interval) {
+        if (interval < ALIGNMENT_INTERVAL) {
+            return timestamp;
+        }
+        return ((timestamp + ALIGNMENT_INTERVAL - 1) / ALIGNMENT_INTERVAL) * ALIGNMENT_INTERVAL;
+    }
+
+    private static class TaskState {
+
+        private final PollingTask task;
+        private volatile boolean inForeground;
+        private volatile long currentInterval;
+        private volatile long lastRunTimestamp = -1;
+        private volatile Object lastResult = NO_RESULT;
+
+        private TaskState(@NonNull PollingTask task, boolean inForeground) {
+            this.task = task;
+            this.inForeground = inForeground;
+            this.currentInterval = task.getMinimumInterval();
+        }
+
+        private void onVisibilityChanged(boolean inForeground) {
+            if (inForeground && !this.inForeground) {
+                currentInterval = task.getMinimumInterval();
+            }
+            this.inForeground = inForeground;
+        }
+
+        private void onResult(Object result) {
+            if (Objects.equals(result, lastResult)) {
+                currentInterval = Math.min(currentInterval * 2, task.getMaximumInterval());
+            } else {
+                currentInterval = task.getMinimumInterval();
+            }
+            lastResult = result;
+        }
+
+        private long getDelayUntilNextRun(long now) {
+            if (lastRunTimestamp < 0) {
+                return 0;
+            }
+            long interval = inForeground ? currentInterval : task.getMaximumInterval();
+            long nextRunTimestamp = alignTimestamp(lastRunTimestamp + interval, interval);
+            return Math.max(0, nextRunTimestamp - now);
+        }
+
+    }
+
+}
@@ -0,0 +1,92 @@
+package de.culture4life.luca.util;
+
+import androidx.annotation.NonNull;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Describes how often a task registered at the {@link PollingScheduler} should run.
+ */
+public class PollingTask {
+
+    private final String name;
+    private final long minimumInterval;
+    private final long maximumInterval;
+    private final boolean pausedInBackground;
+
+    private PollingTask(@NonNull Builder builder) {
+        this.name = builder.name;
+        this.minimumInterval = builder.minimumInterval;
+        this.maximumInterval = Math.max(builder.minimumInterval, builder.maximumInterval);
+        this.pausedInBackground = builder.pausedInBackground;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return interval in milliseconds used while results change or while the UI is visible
+     */
+    public long getMinimumInterval() {
+        return minimumInterval;
+    }
+
+    /**
+     * @return interval in milliseconds that the exponential back-off will not exceed, also used
+     * while the app is in background
+     */
+    public long getMaximumInterval() {
+        return maximumInterval;
+    }
+
+    /**
+     * @return true if the task only serves the UI and should not run while the app is in background
+     */
+    public boolean isPausedInBackground() {
+        return pausedInBackground;
+    }
+
+    @Override
+    public String toString() {
+        return "PollingTask{" +
+                "name='" + name + '\'' +
+                ", minimumInterval=" + minimumInterval +
+                ", maximumInterval=" + maximumInterval +
+                ", pausedInBackground=" + pausedInBackground +
+                '}';
+    }
+
+    public static class Builder {
+
+        private final String name;
+        private long minimumInterval;
+        private long maximumInterval;
+        private boolean pausedInBackground;
+
+        public Builder(@NonNull String name) {
+            this.name = name;
+        }
+
+        public Builder setInterval(long interval, @NonNull TimeUnit timeUnit) {
+            return setIntervals(interval, interval, timeUnit);
+        }
+
+        public Builder setIntervals(long minimumInterval, long maximumInterval, @NonNull TimeUnit timeUnit) {
+            this.minimumInterval = timeUnit.toMillis(minimumInterval);
+            this.maximumInterval = timeUnit.toMillis(maximumInterval);
+            return this;
+        }
+
+        public Builder setPausedInBackground(boolean pausedInBackground) {
+            this.pausedInBackground = pausedInBackground;
+            return this;
+        }
+
+        public PollingTask build() {
+            return new PollingTask(this);
+        }
+
+    }
+
+}
@@ -2,16 +2,77 @@ package de.culture4life.luca.checkin;
 
 import androidx.test.runner.AndroidJUnit4;
 
+import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.InOrder;
 import org.robolectric.annotation.Config;
 
+import java.net.HttpURLConnection;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import de.culture4life.luca.LucaUnitTest;
+import de.culture4life.luca.children.ChildrenManager;
+import de.culture4life.luca.crypto.CryptoManager;
+import de.culture4life.luca.genuinity.GenuinityManager;
+import de.culture4life.luca.history.HistoryManager;
+import de.culture4life.luca.location.GeofenceManager;
+import de.culture4life.luca.location.LocationManager;
+import de.culture4life.luca.network.NetworkManager;
+import de.culture4life.luca.network.NetworkUnavailableException;
+import de.culture4life.luca.network.endpoints.LucaEndpointsV3;
+import de.culture4life.luca.notification.LucaNotificationManager;
+import de.culture4life.luca.preference.PreferencesManager;
+import de.culture4life.luca.registration.RegistrationManager;
+import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.Single;
+import okhttp3.MediaType;
+import okhttp3.ResponseBody;
+import retrofit2.HttpException;
+import retrofit2.Response;
+
+import static de.culture4life.luca.history.HistoryManager.KEEP_DATA_DURATION;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 @Config(sdk = 28)
 @RunWith(AndroidJUnit4.class)
-public class CheckInManagerTest {
+public class CheckInManagerTest extends LucaUnitTest {
+
+    private static final String TRACE_ID = "qiqA2+SpnoioxRMWb7IDsw==";
+
+    PreferencesManager preferencesManager;
+    NetworkManager networkManager;
+    LucaEndpointsV3 lucaEndpointsV3;
+    CheckInManager checkInManager;
+
+    @Before
+    public void setUp() {
+        preferencesManager = new PreferencesManager();
+        networkManager = spy(new NetworkManager());
+        GenuinityManager genuinityManager = new GenuinityManager(preferencesManager, networkManager);
+        CryptoManager cryptoManager = new CryptoManager(preferencesManager, networkManager, genuinityManager);
+        RegistrationManager registrationManager = new RegistrationManager(preferencesManager, networkManager, cryptoManager);
+        ChildrenManager childrenManager = new ChildrenManager(preferencesManager, registrationManager);
+        HistoryManager historyManager = new HistoryManager(preferencesManager, childrenManager);
+
+        lucaEndpointsV3 = mock(LucaEndpointsV3.class);
+        doReturn(Single.just(lucaEndpointsV3)).when(networkManager).getLucaEndpointsV3();
+        doReturn(Completable.complete()).when(networkManager).assertNetworkConnected();
+
+        checkInManager = new CheckInManager(preferencesManager, networkManager, new GeofenceManager(), new LocationManager(), historyManager, cryptoManager, new LucaNotificationManager());
+    }
 
     @Test
     public void isSelfCheckInUrl_validUrls_returnsTrue() {
@@ -27,4 +88,147 @@ public class CheckInManagerTest {
         assertFalse(CheckInManager.isSelfCheckInUrl("https://app.luca-app.de/webapp/testresult/#eyJ0eXAi..."));
     }
 
-}
\ No newline at end of file
+    @Test
+    public void checkOut_networkUnavailable_checksOutAndAddsToOutbox() {
+        CheckInData checkInData = new CheckInData();
+        checkInData.setTraceId(TRACE_ID);
+        checkInData.setTimestamp(System.currentTimeMillis() - TimeUnit.HOURS.toMillis(1));
+        checkInData.setLocationId(UUID.randomUUID());
+        preferencesManager.initialize(application)
+                .andThen(preferencesManager.persist(CheckInManager.KEY_CHECK_IN_DATA, checkInData))
+                .blockingAwait();
+        doReturn(Completable.error(new NetworkUnavailableException("Network is not connected")))
+                .when(networkManager).assertNetworkConnected();
+        checkInManager.initialize(application).blockingAwait();
+
+        checkInManager.checkOut()
+                .andThen(checkInManager.isCheckedIn())
+                .test()
+                .assertValue(false);
+
+        OutboxEntry entry = checkInManager.getOrRestoreOutbox().blockingGet().peek();
+        assertEquals(OutboxEntry.TYPE_CHECK_OUT + "_" + TRACE_ID, entry.getIdempotencyKey());
+        verify(lucaEndpointsV3, never()).checkOut(any());
+    }
+
+    @Test
+    public void drainOutbox_multipleEntries_sendsInOrder() {
+        when(lucaEndpointsV3.addAdditionalCheckInProperties(any())).thenReturn(Completable.complete());
+        when(lucaEndpointsV3.checkOut(any())).thenReturn(Completable.complete());
+        Outbox outbox = initializeOutbox(
+                new OutboxEntry(OutboxEntry.TYPE_ADDITIONAL_CHECK_IN_PROPERTIES, TRACE_ID, "{}"),
+                new OutboxEntry(OutboxEntry.TYPE_CHECK_OUT, TRACE_ID, "{}")
+        );
+
+        checkInManager.drainOutbox().test().assertComplete();
+
+        InOrder inOrder = inOrder(lucaEndpointsV3);
+        inOrder.verify(lucaEndpointsV3).addAdditionalCheckInProperties(any());
+        inOrder.verify(lucaEndpointsV3).checkOut(any());
+        assertTrue(outbox.isEmpty());
+    }
+
+    @Test
+    public void drainOutbox_serverError_keepsEntries() {
+        assertRetryable(HttpURLConnection.HTTP_UNAVAILABLE);
+    }
+
+    @Test
+    public void drainOutbox_tooManyRequests_keepsEntries() {
+        assertRetryable(NetworkManager.HTTP_TOO_MANY_REQUESTS);
+    }
+
+    @Test
+    public void drainOutbox_networkUnavailable_keepsEntries() {
+        doReturn(Completable.error(new NetworkUnavailableException("Network is not connected")))
+                .when(networkManager).assertNetworkConnected();
+        Outbox outbox = initializeOutbox(new OutboxEntry(OutboxEntry.TYPE_CHECK_OUT, TRACE_ID, "{}"));
+
+        checkInManager.drainOutbox().test().assertError(NetworkUnavailableException.class);
+
+        assertEquals(1, outbox.getEntries().size());
+    }
+
+    @Test
+    public void drainOutbox_clientError_discardsEntryAndSendsNext() {
+        when(lucaEndpointsV3.addAdditionalCheckInProperties(any())).thenReturn(Completable.error(createHttpException(HttpURLConnection.HTTP_NOT_FOUND)));
+        when(lucaEndpointsV3.checkOut(any())).thenReturn(Completable.complete());
+        Outbox outbox = initializeOutbox(
+                new OutboxEntry(OutboxEntry.TYPE_ADDITIONAL_CHECK_IN_PROPERTIES, TRACE_ID, "{}"),
+                new OutboxEntry(OutboxEntry.TYPE_CHECK_OUT, TRACE_ID, "{}")
+        );
+
+        checkInManager.drainOutbox().test().assertComplete();
+
+        verify(lucaEndpointsV3).checkOut(any());
+        assertTrue(outbox.isEmpty());
+    }
+
+    @Test
+    public void drainOutbox_outdatedEntry_discardsEntryWithoutSending() {
+        long creationTimestamp = System.currentTimeMillis() - KEEP_DATA_DURATION - TimeUnit.MINUTES.toMillis(1);
+        Outbox outbox = initializeOutbox(new OutboxEntry(OutboxEntry.TYPE_CHECK_OUT, TRACE_ID, "{}", creationTimestamp));
+
+        checkInManager.drainOutbox().test().assertComplete();
+
+        verify(lucaEndpointsV3, never()).checkOut(any());
+        assertTrue(outbox.isEmpty());
+    }
+
+    @Test
+    public void drainOutbox_entryReplacedWhileSending_sendsReplacement() {
+        OutboxEntry entry = new OutboxEntry(OutboxEntry.TYPE_CHECK_OUT, TRACE_ID, "{}", System.currentTimeMillis() - 1000);
+        OutboxEntry replacement = new OutboxEntry(OutboxEntry.TYPE_CHECK_OUT, TRACE_ID, "{}");
+        Outbox outbox = initializeOutbox(entry);
+        when(lucaEndpointsV3.checkOut(any()))
+                .thenReturn(Completable.fromAction(() -> outbox.add(replacement)))
+                .thenReturn(Completable.complete());
+
+        checkInManager.drainOutbox().test().assertComplete();
+
+        verify(lucaEndpointsV3, times(2)).checkOut(any());
+        assertTrue(outbox.isEmpty());
+    }
+
+    @Test
+    public void deleteOutbox_withEntries_removesEntries() {
+        Outbox outbox = initializeOutbox(new OutboxEntry(OutboxEntry.TYPE_CHECK_OUT, TRACE_ID, "{}"));
+
+        checkInManager.deleteOutbox().test().assertComplete();
+
+        assertTrue(outbox.isEmpty());
+        checkInManager.drainOutbox().test().assertComplete();
+        verify(lucaEndpointsV3, never()).checkOut(any());
+    }
+
+    private void assertRetryable(int statusCode) {
+        when(lucaEndpointsV3.checkOut(any())).thenReturn(Completable.error(createHttpException(statusCode)));
+        Outbox outbox = initializeOutbox(
+                new OutboxEntry(OutboxEntry.TYPE_CHECK_OUT, TRACE_ID, "{}"),
+                new OutboxEntry(OutboxEntry.TYPE_ADDITIONAL_CHECK_IN_PROPERTIES, TRACE_ID, "{}")
+        );
+
+        checkInManager.drainOutbox().test().assertError(HttpException.class);
+
+        verify(lucaEndpointsV3, never()).addAdditionalCheckInProperties(any());
+        assertEquals(2, outbox.getEntries().size());
+        assertEquals(1, outbox.peek().getAttempts());
+    }
+
+    /**
+     * Adds the entries after initialization, so that no drain is scheduled.
+     */
+    private Outbox initializeOutbox(OutboxEntry... entries) {
+        checkInManager.initialize(application).blockingAwait();
+        Outbox outbox = checkInManager.getOrRestoreOutbox().blockingGet();
+        for (OutboxEntry entry : entries) {
+            outbox.add(entry);
+        }
+        return outbox;
+    }
+
+    private static HttpException createHttpException(int statusCode) {
+        return new HttpException(Response.error(statusCode, ResponseBody.create("", MediaType.get("text/plain"))));
+    }
+
+}
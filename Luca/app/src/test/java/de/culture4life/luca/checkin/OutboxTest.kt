@@ -0,0 +1,53 @@
+package de.culture4life.luca.checkin
+
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+class OutboxTest {
+
+    @Test
+    fun add_differentKeys_keepsOrder() {
+        val outbox = Outbox()
+        outbox.add(OutboxEntry(OutboxEntry.TYPE_ADDITIONAL_CHECK_IN_PROPERTIES, "trace", "{}"))
+        outbox.add(OutboxEntry(OutboxEntry.TYPE_CHECK_OUT, "trace", "{}"))
+
+        assertEquals(OutboxEntry.TYPE_ADDITIONAL_CHECK_IN_PROPERTIES, outbox.peek()!!.type)
+        assertEquals(2, outbox.entries.size)
+    }
+
+    @Test
+    fun add_sameKey_replacesPreviousEntry() {
+        val outbox = Outbox()
+        outbox.add(OutboxEntry(OutboxEntry.TYPE_CHECK_OUT, "trace", "first"))
+        outbox.add(OutboxEntry(OutboxEntry.TYPE_ADDITIONAL_CHECK_IN_PROPERTIES, "trace", "{}"))
+        outbox.add(OutboxEntry(OutboxEntry.TYPE_CHECK_OUT, "trace", "second"))
+
+        assertEquals(2, outbox.entries.size)
+        assertEquals("second", outbox.entries[1].payload)
+    }
+
+    @Test
+    fun remove_lastEntry_isEmpty() {
+        val outbox = Outbox()
+        val entry = OutboxEntry(OutboxEntry.TYPE_CHECK_OUT, "trace", "{}")
+        outbox.add(entry)
+        outbox.remove(entry.idempotencyKey)
+
+        assertTrue(outbox.isEmpty)
+        assertNull(outbox.peek())
+    }
+
+    @Test
+    fun remove_replacedEntry_keepsReplacement() {
+        val outbox = Outbox()
+        val entry = OutboxEntry(OutboxEntry.TYPE_CHECK_OUT, "trace", "first", 1)
+        outbox.add(entry)
+        outbox.add(OutboxEntry(OutboxEntry.TYPE_CHECK_OUT, "trace", "second", 2))
+        outbox.remove(entry)
+
+        assertEquals("second", outbox.peek()!!.payload)
+    }
+
+}
@@ -0,0 +1,180 @@
+package de.culture4life.luca.checkin;
+
+import androidx.annotation.NonNull;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import de.culture4life.luca.network.pojo.TraceData;
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.Single;
+
+import static de.culture4life.luca.history.HistoryManager.KEEP_DATA_DURATION;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TraceDataCacheTest {
+
+    /**
+     * Mimics the traces/bulk endpoint, which only returns data for trace IDs used for a check-in.
+     */
+    private static class FakeTracesEndpoint {
+
+        private final Map<String, TraceData> traceDataById = new HashMap<>();
+        private final List<Integer> requestSizes = new ArrayList<>();
+
+        Single<List<TraceData>> getTraces(@NonNull List<String> traceIds) {
+            return Single.fromCallable(() -> {
+                requestSizes.add(traceIds.size());
+                List<TraceData> traceDataList = new ArrayList<>();
+                for (String traceId : traceIds) {
+                    TraceData traceData = traceDataById.get(traceId);
+                    if (traceData != null) {
+                        traceDataList.add(copy(traceData));
+                    }
+                }
+                return traceDataList;
+            });
+        }
+
+        int getLastRequestSize() {
+            return requestSizes.get(requestSizes.size() - 1);
+        }
+
+    }
+
+    private FakeTracesEndpoint endpoint;
+    private TraceDataCache traceDataCache;
+    private List<String> traceIds;
+
+    @Before
+    public void setUp() {
+        endpoint = new FakeTracesEndpoint();
+        traceDataCache = new TraceDataCache(100);
+        traceIds = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            traceIds.add("trace" + i);
+        }
+    }
+
+    @Test
+    public void getTraceData_changingBackendState_matchesFullRequests() {
+        long now = System.currentTimeMillis();
+        endpoint.traceDataById.put("trace2", createTraceData("trace2", now - TimeUnit.HOURS.toMillis(1), now - TimeUnit.MINUTES.toMillis(30)));
+        endpoint.traceDataById.put("trace5", createTraceData("trace5", now - TimeUnit.MINUTES.toMillis(10), 0));
+
+        assertSameAsFullRequest();
+        assertEquals(10, endpoint.getLastRequestSize());
+
+        assertSameAsFullRequest();
+        assertEquals(9, endpoint.getLastRequestSize());
+
+        // a scheduled check-out in the future is not final yet
+        endpoint.traceDataById.get("trace5").setCheckOutTimestamp(toUnixTimestamp(now + TimeUnit.HOURS.toMillis(1)));
+        assertSameAsFullRequest();
+        assertSameAsFullRequest();
+        assertEquals(9, endpoint.getLastRequestSize());
+
+        endpoint.traceDataById.get("trace5").setCheckOutTimestamp(toUnixTimestamp(now));
+        assertSameAsFullRequest();
+        assertSameAsFullRequest();
+        assertEquals(8, endpoint.getLastRequestSize());
+
+        endpoint.traceDataById.put("trace8", createTraceData("trace8", now, 0));
+        assertSameAsFullRequest();
+        assertEquals(8, endpoint.getLastRequestSize());
+    }
+
+    @Test
+    public void getTraceData_allFinal_doesNotRequest() {
+        long now = System.currentTimeMillis();
+        for (String traceId : traceIds) {
+            endpoint.traceDataById.put(traceId, createTraceData(traceId, now - TimeUnit.HOURS.toMillis(1), now - TimeUnit.MINUTES.toMillis(1)));
+        }
+        assertSameAsFullRequest();
+        int requests = endpoint.requestSizes.size();
+
+        assertEquals(10, traceDataCache.getTraceData(traceIds, endpoint::getTraces).count().blockingGet().intValue());
+        assertEquals(requests, endpoint.requestSizes.size());
+    }
+
+    @Test
+    public void isFinal_checkedOutInPast_returnsTrue() {
+        long now = System.currentTimeMillis();
+        assertTrue(TraceDataCache.isFinal(createTraceData("trace", now - TimeUnit.HOURS.toMillis(1), now - TimeUnit.MINUTES.toMillis(1)), now));
+    }
+
+    @Test
+    public void isFinal_checkedOutInFuture_returnsFalse() {
+        long now = System.currentTimeMillis();
+        assertFalse(TraceDataCache.isFinal(createTraceData("trace", now - TimeUnit.HOURS.toMillis(1), now + TimeUnit.HOURS.toMillis(1)), now));
+    }
+
+    @Test
+    public void isFinal_expiredCheckIn_returnsTrue() {
+        long now = System.currentTimeMillis();
+        assertTrue(TraceDataCache.isFinal(createTraceData("trace", now - KEEP_DATA_DURATION - TimeUnit.DAYS.toMillis(1), 0), now));
+    }
+
+    @Test
+    public void putIfFinal_exceedingMaximumSize_evictsEldest() {
+        TraceDataCache cache = new TraceDataCache(2);
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < 3; i++) {
+            cache.putIfFinal(createTraceData("trace" + i, now - TimeUnit.HOURS.toMillis(1), now - TimeUnit.MINUTES.toMillis(1)));
+        }
+        assertEquals(2, cache.size());
+        assertEquals(null, cache.get("trace0"));
+    }
+
+    private void assertSameAsFullRequest() {
+        List<TraceData> expected = sort(endpoint.getTraces(traceIds).flatMapObservable(Observable::fromIterable));
+        endpoint.requestSizes.remove(endpoint.requestSizes.size() - 1);
+        List<TraceData> actual = sort(traceDataCache.getTraceData(traceIds, endpoint::getTraces));
+        assertEquals(toString(expected), toString(actual));
+    }
+
+    private static List<TraceData> sort(@NonNull Observable<TraceData> traceData) {
+        return traceData.sorted((first, second) -> Long.compare(first.getCheckInTimestamp(), second.getCheckInTimestamp()))
+                .toList()
+                .blockingGet();
+    }
+
+    private static String toString(@NonNull List<TraceData> traceDataList) {
+        StringBuilder stringBuilder = new StringBuilder();
+        for (TraceData traceData : traceDataList) {
+            stringBuilder.append(traceData).append('\n');
+        }
+        return stringBuilder.toString();
+    }
+
+    private static TraceData createTraceData(@NonNull String traceId, long checkInTimestamp, long checkOutTimestamp) {
+        TraceData traceData = new TraceData();
+        traceData.setTraceId(traceId);
+        traceData.setLocationId("location");
+        traceData.setCheckInTimestamp(toUnixTimestamp(checkInTimestamp));
+        traceData.setCheckOutTimestamp(toUnixTimestamp(checkOutTimestamp));
+        return traceData;
+    }
+
+    private static TraceData copy(@NonNull TraceData traceData) {
+        TraceData copy = new TraceData();
+        copy.setTraceId(traceData.getTraceId());
+        copy.setLocationId(traceData.getLocationId());
+        copy.setCheckInTimestamp(traceData.getCheckInTimestamp());
+        copy.setCheckOutTimestamp(traceData.getCheckOutTimestamp());
+        return copy;
+    }
+
+    private static long toUnixTimestamp(long timestamp) {
+        return TimeUnit.MILLISECONDS.toSeconds(timestamp);
+    }
+
+}
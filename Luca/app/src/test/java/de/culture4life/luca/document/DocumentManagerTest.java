@@ -7,6 +7,7 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.robolectric.annotation.Config;
 
+import java.net.HttpURLConnection;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
@@ -22,6 +23,7 @@ import de.culture4life.luca.document.provider.opentestcheck.OpenTestCheckDocumen
 import de.culture4life.luca.genuinity.GenuinityManager;
 import de.culture4life.luca.history.HistoryManager;
 import de.culture4life.luca.network.NetworkManager;
+import de.culture4life.luca.network.endpoints.LucaEndpointsV3;
 import de.culture4life.luca.network.pojo.DocumentProviderData;
 import de.culture4life.luca.network.pojo.DocumentProviderDataList;
 import de.culture4life.luca.preference.PreferencesManager;
@@ -31,6 +33,12 @@ import io.reactivex.rxjava3.core.Completable;
 import io.reactivex.rxjava3.core.Maybe;
 import io.reactivex.rxjava3.core.Observable;
 import io.reactivex.rxjava3.core.Single;
+import okhttp3.Headers;
+import okhttp3.MediaType;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.ResponseBody;
+import retrofit2.Response;
 
 import static de.culture4life.luca.document.provider.appointment.AppointmentProviderTest.VALID_APPOINTMENT;
 import static de.culture4life.luca.document.provider.opentestcheck.OpenTestCheckDocumentProviderTest.EXPIRED_TEST_RESULT_TICKET_IO;
@@ -41,24 +49,30 @@ import static org.junit.Assert.assertTrue;
 import static org.junit.Assume.assumeTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 @Config(sdk = 28)
 @RunWith(AndroidJUnit4.class)
 public class DocumentManagerTest extends LucaUnitTest {
 
+    PreferencesManager preferencesManager;
+    NetworkManager networkManager;
     RegistrationManager registrationManager;
     DocumentManager documentManager;
     ChildrenManager childrenManager;
 
+    private static final String E_TAG = "\"etag\"";
+
     private Document document;
 
     @Before
     public void setUp() {
-        PreferencesManager preferencesManager = new PreferencesManager();
-        NetworkManager networkManager = new NetworkManager();
+        preferencesManager = new PreferencesManager();
+        networkManager = spy(new NetworkManager());
         GenuinityManager genuinityManager = new GenuinityManager(preferencesManager, networkManager);
         CryptoManager cryptoManager = new CryptoManager(preferencesManager, networkManager, genuinityManager);
         registrationManager = spy(new RegistrationManager(preferencesManager, networkManager, cryptoManager));
@@ -229,6 +243,29 @@ public class DocumentManagerTest extends LucaUnitTest {
                 .assertValueCount(1);
     }
 
+    @Test
+    public void getOrRestoreDocuments_legacyDocuments_migratesDocuments() {
+        documentManager.clearDocuments()
+                .andThen(preferencesManager.persist(DocumentManager.KEY_DOCUMENTS, new Documents(Collections.singletonList(document))))
+                .andThen(documentManager.getOrRestoreDocuments())
+                .map(Document::getId)
+                .test()
+                .assertValue(document.getId());
+
+        preferencesManager.containsKey(DocumentManager.KEY_DOCUMENTS)
+                .test()
+                .assertValue(false);
+    }
+
+    @Test
+    public void addDocument_validDocument_persistsDocumentIndividually() {
+        documentManager.addDocument(document)
+                .andThen(preferencesManager.restore(DocumentManager.KEY_DOCUMENT_PREFIX + document.getId(), Document.class))
+                .map(Document::getId)
+                .test()
+                .assertValue(document.getId());
+    }
+
     @Test
     public void getDocumentProviderData_cachedFingerprint_emitsMatchingCachedData() {
         String cachedFingerprint = "1";
@@ -277,6 +314,93 @@ public class DocumentManagerTest extends LucaUnitTest {
                 .assertValue(fetchedDataList.size());
     }
 
+    @Test
+    public void getDocumentProviderData_recentlyUnknownFingerprint_doesNotFetchAgain() {
+        DocumentProviderDataList fetchedDataList = new DocumentProviderDataList(Collections.singletonList(
+                new DocumentProviderData("", "", "2")
+        ));
+        doReturn(Single.just(fetchedDataList)).when(documentManager).fetchDocumentProviderDataList();
+
+        documentManager.getDocumentProviderData("unknown")
+                .ignoreElements()
+                .andThen(documentManager.getDocumentProviderData("unknown"))
+                .toList()
+                .map(List::size)
+                .test()
+                .assertValue(fetchedDataList.size());
+
+        verify(documentManager, times(1)).fetchDocumentProviderDataList();
+    }
+
+    @Test
+    public void getDocumentProviderData_repeatedlyUnknownFingerprint_fetchesAgainAfterRetentionDuration() {
+        DocumentProviderDataList fetchedDataList = new DocumentProviderDataList(Collections.singletonList(
+                new DocumentProviderData("", "", "2")
+        ));
+        doReturn(Single.just(fetchedDataList)).when(documentManager).fetchDocumentProviderDataList();
+        long scanInterval = DocumentManager.UNKNOWN_FINGERPRINT_RETENTION_DURATION / 3;
+
+        for (int scan = 0; scan < 5; scan++) {
+            doReturn(scan * scanInterval).when(documentManager).getCurrentTimestamp();
+            documentManager.getDocumentProviderData("unknown")
+                    .test()
+                    .assertValueCount(fetchedDataList.size());
+        }
+
+        verify(documentManager, times(2)).fetchDocumentProviderDataList();
+    }
+
+    @Test
+    public void fetchDocumentProviderDataList_notModified_emitsPersistedData() {
+        DocumentProviderDataList persistedDataList = new DocumentProviderDataList(Collections.singletonList(
+                new DocumentProviderData("", "", "1")
+        ));
+        LucaEndpointsV3 lucaEndpointsV3 = mockLucaEndpointsV3();
+        when(lucaEndpointsV3.getDocumentProviders(E_TAG)).thenReturn(Single.just(createNotModifiedResponse()));
+
+        preferencesManager.persist(DocumentManager.KEY_PROVIDER_DATA, persistedDataList)
+                .andThen(preferencesManager.persist(DocumentManager.KEY_PROVIDER_DATA_METADATA, new DocumentProviderDataListMetadata(0, E_TAG)))
+                .andThen(documentManager.fetchDocumentProviderDataList())
+                .test()
+                .assertValue(persistedDataList);
+    }
+
+    @Test
+    public void fetchDocumentProviderDataList_notModifiedButDataMissing_fetchesWithoutEntityTag() {
+        DocumentProviderDataList fetchedDataList = new DocumentProviderDataList(Collections.singletonList(
+                new DocumentProviderData("", "", "2")
+        ));
+        LucaEndpointsV3 lucaEndpointsV3 = mockLucaEndpointsV3();
+        when(lucaEndpointsV3.getDocumentProviders(E_TAG)).thenReturn(Single.just(createNotModifiedResponse()));
+        when(lucaEndpointsV3.getDocumentProviders(null)).thenReturn(Single.just(Response.success(fetchedDataList, Headers.of("ETag", "\"new\""))));
+
+        preferencesManager.persist(DocumentManager.KEY_PROVIDER_DATA_METADATA, new DocumentProviderDataListMetadata(0, E_TAG))
+                .andThen(documentManager.fetchDocumentProviderDataList())
+                .test()
+                .assertValue(fetchedDataList);
+
+        preferencesManager.restore(DocumentManager.KEY_PROVIDER_DATA_METADATA, DocumentProviderDataListMetadata.class)
+                .map(DocumentProviderDataListMetadata::getETag)
+                .test()
+                .assertValue("\"new\"");
+    }
+
+    private LucaEndpointsV3 mockLucaEndpointsV3() {
+        LucaEndpointsV3 lucaEndpointsV3 = mock(LucaEndpointsV3.class);
+        doReturn(Single.just(lucaEndpointsV3)).when(networkManager).getLucaEndpointsV3();
+        return lucaEndpointsV3;
+    }
+
+    private static Response<DocumentProviderDataList> createNotModifiedResponse() {
+        okhttp3.Response rawResponse = new okhttp3.Response.Builder()
+                .code(HttpURLConnection.HTTP_NOT_MODIFIED)
+                .message("Not Modified")
+                .protocol(Protocol.HTTP_1_1)
+                .request(new Request.Builder().url("https://localhost/").build())
+                .build();
+        return Response.error(ResponseBody.create("", MediaType.get("text/plain")), rawResponse);
+    }
+
     @Test
     public void isTestResult_validUrls_returnsTrue() {
         assertTrue(DocumentManager.isTestResult("https://app.luca-app.de/webapp/testresult/#eyJ0eXAi..."));
@@ -0,0 +1,64 @@
+package de.culture4life.luca.document
+
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNull
+import org.junit.Test
+
+class DocumentStoreTest {
+
+    private val store = DocumentStore()
+
+    @Test
+    fun put_sameId_replacesDocumentAndIndexes() {
+        store.put(createDocument("1", Document.TYPE_FAST, 100))
+        store.put(createDocument("1", Document.TYPE_PCR, 200))
+        assertEquals(1, store.size())
+        assertEquals(Document.TYPE_PCR, store.get("1")!!.type)
+        assertEquals(emptyList<Document>(), store.getDocuments(Document.TYPE_FAST))
+        assertEquals(emptyList<String>(), store.getIdsExpiredBefore(150))
+    }
+
+    @Test
+    fun getDocuments_type_emitsOnlyMatchingDocuments() {
+        store.put(createDocument("1", Document.TYPE_FAST, 100))
+        store.put(createDocument("2", Document.TYPE_VACCINATION, 100))
+        store.put(createDocument("3", Document.TYPE_FAST, 100))
+        assertEquals(listOf("1", "3"), store.getDocuments(Document.TYPE_FAST).map { it.id })
+    }
+
+    @Test
+    fun getIdsExpiredBefore_timestamp_includesDocumentsExpiringAtTimestamp() {
+        store.put(createDocument("1", Document.TYPE_FAST, 100))
+        store.put(createDocument("2", Document.TYPE_FAST, 200))
+        store.put(createDocument("3", Document.TYPE_FAST, 300))
+        assertEquals(listOf("1", "2"), store.getIdsExpiredBefore(200))
+    }
+
+    @Test
+    fun getNextExpirationTimestamp_afterRemoval_emitsEarliestRemainingTimestamp() {
+        assertNull(store.nextExpirationTimestamp)
+        store.put(createDocument("1", Document.TYPE_FAST, 200))
+        store.put(createDocument("2", Document.TYPE_FAST, 100))
+        assertEquals(100L, store.nextExpirationTimestamp)
+        store.remove("2")
+        assertEquals(200L, store.nextExpirationTimestamp)
+    }
+
+    @Test
+    fun remove_existingId_removesFromIndexes() {
+        store.put(createDocument("1", Document.TYPE_FAST, 100))
+        store.remove("1")
+        assertNull(store.get("1"))
+        assertEquals(emptyList<Document>(), store.getDocuments(Document.TYPE_FAST))
+        assertEquals(emptyList<String>(), store.getIdsExpiredBefore(100))
+    }
+
+    private fun createDocument(id: String, type: Int, expirationTimestamp: Long): Document {
+        return Document().apply {
+            this.id = id
+            this.type = type
+            this.expirationTimestamp = expirationTimestamp
+        }
+    }
+
+}
@@ -0,0 +1,80 @@
+package de.culture4life.luca.document.provider
+
+import androidx.test.runner.AndroidJUnit4
+import de.culture4life.luca.LucaUnitTest
+import de.culture4life.luca.document.DocumentManager
+import de.culture4life.luca.document.provider.appointment.AppointmentProvider
+import de.culture4life.luca.document.provider.appointment.AppointmentProviderTest
+import de.culture4life.luca.document.provider.baercode.BaercodeDocumentProvider
+import de.culture4life.luca.document.provider.baercode.BaercodeTestResultProviderTest
+import de.culture4life.luca.document.provider.eudcc.EudccDocumentProvider
+import de.culture4life.luca.document.provider.eudcc.EudccDocumentProviderTest
+import de.culture4life.luca.document.provider.opentestcheck.OpenTestCheckDocumentProvider
+import de.culture4life.luca.document.provider.opentestcheck.OpenTestCheckDocumentProviderTest
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.mockito.Mockito.mock
+import org.robolectric.annotation.Config
+
+@Config(sdk = [28])
+@RunWith(AndroidJUnit4::class)
+class DocumentProviderRouterTest : LucaUnitTest() {
+
+    private val appointmentProvider = AppointmentProvider()
+    private val openTestCheckDocumentProvider = OpenTestCheckDocumentProvider(mock(DocumentManager::class.java))
+    private val eudccDocumentProvider = EudccDocumentProvider(application)
+    private val baercodeDocumentProvider = BaercodeDocumentProvider(application)
+
+    private val router = DocumentProviderRouter()
+        .register(appointmentProvider)
+        .register(openTestCheckDocumentProvider)
+        .register(eudccDocumentProvider)
+        .register(baercodeDocumentProvider)
+
+    @Test
+    fun route_appointment_routesToAppointmentProvider() {
+        router.route(AppointmentProviderTest.VALID_APPOINTMENT)
+            .test()
+            .assertValue(appointmentProvider)
+    }
+
+    @Test
+    fun route_openTestCheckDocument_routesToOpenTestCheckProvider() {
+        router.route(OpenTestCheckDocumentProviderTest.VALID_TEST_RESULT_TICKET_IO)
+            .test()
+            .assertValue(openTestCheckDocumentProvider)
+        router.route(OpenTestCheckDocumentProviderTest.VALID_TEST_RESULT_TICKET_IO_2)
+            .test()
+            .assertValue(openTestCheckDocumentProvider)
+    }
+
+    @Test
+    fun route_eudcc_routesToEudccProvider() {
+        router.route(EudccDocumentProviderTest.EUDCC_FULLY_VACCINATED)
+            .test()
+            .assertValue(eudccDocumentProvider)
+        router.route(EudccDocumentProviderTest.EUDCC_FULLY_VACCINATED.removePrefix("HC1:"))
+            .test()
+            .assertValue(eudccDocumentProvider)
+    }
+
+    @Test
+    fun route_baercode_routesToBaercodeProvider() {
+        router.route(BaercodeTestResultProviderTest.TEST_QR_CODE)
+            .test()
+            .assertValue(baercodeDocumentProvider)
+    }
+
+    @Test
+    fun route_unsupportedData_completesEmpty() {
+        router.route("anything")
+            .test()
+            .assertNoValues()
+            .assertComplete()
+        router.route(OpenTestCheckDocumentProviderTest.UNSUPPORTED_TEST_RESULT)
+            .test()
+            .assertNoValues()
+            .assertComplete()
+    }
+
+}
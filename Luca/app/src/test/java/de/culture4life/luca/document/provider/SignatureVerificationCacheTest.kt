@@ -0,0 +1,79 @@
+package de.culture4life.luca.document.provider
+
+import io.reactivex.rxjava3.core.Completable
+import org.junit.Assert.assertEquals
+import org.junit.Test
+
+class SignatureVerificationCacheTest {
+
+    private var currentTime = 0L
+    private var verificationCount = 0
+
+    private val cache = SignatureVerificationCache(2, 1000) { currentTime }
+
+    private val succeedingVerification = Completable.fromAction { verificationCount++ }
+
+    private val failingVerification = Completable.fromAction { verificationCount++ }
+        .andThen(Completable.error(IllegalStateException()))
+
+    @Test
+    fun verify_sameSignedData_verifiesOnce() {
+        verify("data", "kid", "1", 0, succeedingVerification).assertComplete()
+        verify("data", "kid", "1", 0, succeedingVerification).assertComplete()
+        assertEquals(1, verificationCount)
+    }
+
+    @Test
+    fun verify_previouslyFailed_replaysError() {
+        verify("data", "kid", "1", 0, failingVerification).assertError(IllegalStateException::class.java)
+        verify("data", "kid", "1", 0, succeedingVerification).assertError(IllegalStateException::class.java)
+        assertEquals(1, verificationCount)
+    }
+
+    @Test
+    fun verify_differentSignerKey_verifiesAgain() {
+        verify("data", "kid", "1", 0, succeedingVerification).assertComplete()
+        verify("data", "other kid", "1", 0, succeedingVerification).assertComplete()
+        assertEquals(2, verificationCount)
+    }
+
+    @Test
+    fun verify_differentTrustDataVersion_verifiesAgain() {
+        verify("data", "kid", "1", 0, failingVerification).assertError(IllegalStateException::class.java)
+        verify("data", "kid", "2", 0, succeedingVerification).assertComplete()
+        assertEquals(2, verificationCount)
+    }
+
+    @Test
+    fun verify_signerKeyExpired_verifiesAgain() {
+        verify("data", "kid", "1", 500, succeedingVerification).assertComplete()
+        currentTime = 501
+        verify("data", "kid", "1", 500, succeedingVerification).assertComplete()
+        assertEquals(2, verificationCount)
+    }
+
+    @Test
+    fun verify_maximumRetentionExceeded_verifiesAgain() {
+        verify("data", "kid", "1", 0, succeedingVerification).assertComplete()
+        currentTime = 1001
+        verify("data", "kid", "1", 0, succeedingVerification).assertComplete()
+        assertEquals(2, verificationCount)
+    }
+
+    @Test
+    fun verifyBlocking_sameSignedData_verifiesOnce() {
+        repeat(2) {
+            cache.verifyBlocking("data".toByteArray(), "kid", "1", 0) { verificationCount++ }
+        }
+        assertEquals(1, verificationCount)
+    }
+
+    private fun verify(
+        signedData: String,
+        signerKeyId: String,
+        trustDataVersion: String,
+        validUntil: Long,
+        verification: Completable
+    ) = cache.verify(signedData.toByteArray(), signerKeyId, trustDataVersion, validUntil, verification).test()
+
+}
@@ -0,0 +1,59 @@
+package de.culture4life.luca.document.provider.eudcc
+
+import de.culture4life.luca.document.provider.eudcc.EudccDecodingCache.DecodedEudcc
+import dgca.verifier.app.decoder.CertificateDecodingError
+import dgca.verifier.app.decoder.CertificateDecodingResult
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertSame
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+class EudccDecodingCacheTest {
+
+    private val cache = EudccDecodingCache(2)
+    private var decodingCount = 0
+
+    @Test
+    fun getOrDecode_exceedingDefaultSize_evictsEldest() {
+        decodeAll(3)
+        decodeAll(3)
+        assertEquals(6, decodingCount)
+    }
+
+    @Test
+    fun getOrDecode_withEnsuredCapacity_decodesBatchOnce() {
+        cache.ensureCapacity(3)
+        decodeAll(3)
+        decodeAll(3)
+        assertEquals(3, decodingCount)
+    }
+
+    @Test
+    fun clear_afterEnsuredCapacity_restoresDefaultSize() {
+        cache.ensureCapacity(3)
+        cache.clear()
+        decodeAll(3)
+        decodeAll(3)
+        assertEquals(6, decodingCount)
+    }
+
+    @Test
+    fun getOrDecode_afterPut_returnsPutResult() {
+        val decodedEudcc = createDecodedEudcc()
+        cache.put("0", decodedEudcc)
+        assertTrue(cache.contains("0"))
+        assertSame(decodedEudcc, cache.getOrDecode("0") { createDecodedEudcc() })
+    }
+
+    private fun decodeAll(count: Int) {
+        repeat(count) { index ->
+            cache.getOrDecode(index.toString()) {
+                decodingCount++
+                createDecodedEudcc()
+            }
+        }
+    }
+
+    private fun createDecodedEudcc() = DecodedEudcc(CertificateDecodingResult.Error(CertificateDecodingError.EmptyGreenCertificate), false)
+
+}
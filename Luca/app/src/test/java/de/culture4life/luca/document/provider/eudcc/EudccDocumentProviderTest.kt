@@ -1,5 +1,6 @@
 package de.culture4life.luca.document.provider.eudcc
 
+import android.util.Base64
 import androidx.test.runner.AndroidJUnit4
 import de.culture4life.luca.LucaUnitTest
 import de.culture4life.luca.document.Document
@@ -8,10 +9,17 @@ import de.culture4life.luca.document.DocumentVerificationException
 import de.culture4life.luca.document.provider.baercode.BaercodeTestResultProviderTest
 import de.culture4life.luca.document.provider.opentestcheck.OpenTestCheckDocumentProviderTest
 import de.culture4life.luca.registration.Person
+import dgca.verifier.app.decoder.CertificateDecodingResult
+import dgca.verifier.app.decoder.model.SignerCertificate
+import dgca.verifier.app.decoder.services.SignerCertificateStore
+import dgca.verifier.app.decoder.services.X509
 import org.junit.Assert.assertEquals
 import org.junit.Test
 import org.junit.runner.RunWith
 import org.robolectric.annotation.Config
+import java.io.ByteArrayInputStream
+import java.security.cert.CertificateFactory
+import java.security.cert.X509Certificate
 
 @Config(sdk = [28])
 @RunWith(AndroidJUnit4::class)
@@ -32,6 +40,11 @@ class EudccDocumentProviderTest : LucaUnitTest() {
             "HC1:6BF870*90T9WTWGSLKC 4769R174TF//5P30-AB5XK3F3Q:A7\$SAF3R.R-SCBJCSS9Y50.FK8ZKO/EZKEZ96LF6C56..DX%DZJC:.DET8Y CI3DOUCZ3E:.DW.C5WERS8XY8I3D6WEXH9F69JPCT3E6JD646Q478465W5X577:EDOL9WEQDD+Q6TW6FA7C466KCN9E%961A6DL6FA7D46.JCP9EJY8L/5M/5546.96VF6.JCBECB1A-:8\$966469L6OF6VX6FVCBJ0KQEBJ0LVC6JD846Y96D465W5VX6UPCBJCOT9+ED83EZED+EDKWE3EFX3E/34Z1BWJC0FD4X4:KEPH7M/ESDD746VG7TS9TB8ENA.Q667B7DBEL6657IS8X59Z09%M927BMJVMAFVGP:0S3WIX\$GLQOU-T *ENBE:QCY43OI7P.8J7RBF1WDSYCFQ15QOFBCU2:9P0BO8QWES5GB:S6DCD *7.R2:GB*L98C6Y*E"
         private const val EUDCC_CY_TEST_RESULT =
             "HC1:6BFOXN%TSMAHN-H/N8KMQ8/8.:91 P/R84KF2FCIJ9+\$VZT78WAY5SV9TXTI5K4SA3/-2E%5G%5TW5A 6YO6XL6Q3QR\$P*NIV1JIZT-8B*ZJWFL8UJ8/BGOJ ZJ83B8\$TR63Y.TVBD3\$T*+3LTTLZI99JO.A3DJKYJ.ZJ08KZ0KYPIA+2/JT6%T\$.T08K5OI9YI:8D+FD%PD5DL%9DDAB2DNAHLW 70SO:GOLIROGO3T5ZXK9UO GOP*OSV8WP4R/5UYP.28XYQ/HQBCQU96:/6F0P3IRPS4V77ZJ82HPPEPHCR6W9RDOT*OYGO.20G%UBT1%OKPJA5EQJ-HVPI5\$0JCA1W4/GJI+C7*4M:KCY05B9QIPMB4O-O4IJXKTAMP8EF/HL*E1YE9/MVE1C3ZCH13H0D3ZCL4JMYAZ+S-A5\$XKX6TVTCZW4P-AK.GNNVR*G0C7/JBA93%A75HB:U8LI3FCN\$RV-Z88LJWBJ4DJ7PN*M04RVWJB0JNO572J6E+70ZSCDWS:NQZ0/TJ2%O6 A0%59-SA9MUOT8ZE9D7109T4I/BQWF1M42JZB:5DZY9DFVTSD4ET3%V:+COJU+ HKFLR2G73K/E73*A:DI"
+        /**
+         * Vaccination document signer certificate that did not sign any of the documents above
+         */
+        private const val OTHER_SIGNER_CERTIFICATE =
+            "MIIBuTCCAWCgAwIBAgIBATAKBggqhkjOPQQDAjBAMQswCQYDVQQGEwJERTESMBAGA1UECgwJTHVjYSBUZXN0MR0wGwYDVQQDDBRUZXN0IERTQyBWYWNjaW5hdGlvbjAgFw0yNjEwMTkxNzMwNTlaGA8yMTI2MDkyNTE3MzA1OVowQDELMAkGA1UEBhMCREUxEjAQBgNVBAoMCUx1Y2EgVGVzdDEdMBsGA1UEAwwUVGVzdCBEU0MgVmFjY2luYXRpb24wWTATBgcqhkjOPQIBBggqhkjOPQMBBwNCAATS4zNNfofoovME1Q1g53I7NiItc9Y2xSx6CgwMzOkLPeQd3mWOXEpr6e9/0Ny6ss4CBOR0UuTZYVocitjWg18Qo0kwRzAOBgNVHQ8BAf8EBAMCB4AwFgYDVR0lBA8wDQYLKwYBBAGON49lAQIwHQYDVR0OBBYEFAWzdGSLyNy+FnDIS8OXs/SERNzJMAoGCCqGSM49BAMCA0cAMEQCIA/VZ9hf1Z+YYEMDB+kfzkqWyC4UNJdN4IAnYOO6y2o6AiBL0fjVe/kVTUZM4Oj8UMbXytYgyWadxUHO6E1Qo6giOA=="
         private const val EUDCC_FAKED_VACCINATION =
             "HC1:6BFOXN%TSMAHN-H+XO5XF7:UY%FJ.GO92\$:25B9O\$RZ CHJIACH.QQ-MPW\$NLEENKE\$JDVPL32KD0KSKE MCAOI8%M3/U8+S4-R9ZII%KP N7DS8+SX*OIO3Y9LZPK1\$I8%M0QIJ8CK.1Z2ACEIC.USMI92CD1D%09/-3T15K3449JP\$I/XK\$M8HK66YBCPC2L0:%OD3P5B9-NT0 2\$\$0X4PCY0+-CVYCDEBD0HX2JR\$4O1K.IA.C8KRDL4O54O4IGUJKJGI.IAHLCV5GVWNZIKXGG JMLII7EDTG90OA3DE0OARH9W/IO6AHCRTWA.DPN95*28+-OAC5G472N4GMK8C5H35N95ZTMV/M7755QLQQ5%YQ+GOOSPA1RP96RIR-ZOLOOBJ6NIR9SOC0P6YOH 71WR.RO91HVOR5*PDCMGAWRM3FGNR63%SA.26OA3W0FEF9\$JB04D/CHEHHOV3J.O*:A8QS6U3FM6HUEZXN.BS53GGOI96B:RKJTV VM39H430J2M/0"
     }
@@ -171,6 +184,25 @@ class EudccDocumentProviderTest : LucaUnitTest() {
             .test().assertError(DocumentParsingException::class.java)
     }
 
+    @Test
+    fun verify_withoutSignerCertificateStore_completes() {
+        provider.verify(EUDCC_FULLY_VACCINATED)
+            .test().assertComplete()
+    }
+
+    @Test
+    fun verify_signedWithOtherKey_failsWithInvalidSignature() {
+        val result = provider.decode(EUDCC_FULLY_VACCINATED).result as CertificateDecodingResult.Success
+        val otherCertificate = CertificateFactory.getInstance("X.509")
+            .generateCertificate(ByteArrayInputStream(Base64.decode(OTHER_SIGNER_CERTIFICATE, Base64.NO_WRAP))) as X509Certificate
+        val signerCertificate = SignerCertificate(result.decodedCertificate.kid!!, otherCertificate, X509())
+        provider.signerCertificateStore = SignerCertificateStore(listOf(signerCertificate), 1634601600)
+
+        provider.verify(EUDCC_FULLY_VACCINATED)
+            .test()
+            .assertError { it is DocumentVerificationException && it.reason == DocumentVerificationException.Reason.INVALID_SIGNATURE }
+    }
+
     @Test
     fun parseDateAndTime_differentDateStyles_canParse() {
         assertEquals(1622370615000, "2021-05-30T10:30:15Z".parseDate())
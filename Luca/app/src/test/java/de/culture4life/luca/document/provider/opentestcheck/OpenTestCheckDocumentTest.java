@@ -43,6 +43,18 @@ public class OpenTestCheckDocumentTest {
         Assert.assertEquals(result1.getDocument().getHashableEncodedData(), result2.getDocument().getHashableEncodedData());
     }
 
+    @Test
+    public void getExpirationTimestamp_expiredJwt_returnsExpirationInMilliseconds() {
+        long expirationTimestamp = OpenTestCheckDocument.getExpirationTimestamp("eyJhbGciOiJub25lIn0.eyJleHAiOjE2MDAwMDAwMDB9.");
+        Assert.assertEquals(1600000000000L, expirationTimestamp);
+    }
+
+    @Test
+    public void getExpirationTimestamp_withoutExpiration_returnsZero() {
+        long expirationTimestamp = OpenTestCheckDocument.getExpirationTimestamp("eyJhbGciOiJub25lIn0.eyJ2IjoyfQ.");
+        Assert.assertEquals(0, expirationTimestamp);
+    }
+
     @Test(expected = DecodingException.class)
     public void constructor_withNonBase64UrlCharacters_throwsDecodingException() {
         String validResultWithSpace = VALID_TEST_RESULT_TICKET_IO.substring(0, 50) + " " + VALID_TEST_RESULT_TICKET_IO.substring(50);
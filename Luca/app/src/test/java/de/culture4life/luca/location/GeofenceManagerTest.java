@@ -0,0 +1,65 @@
+package de.culture4life.luca.location;
+
+import com.google.android.gms.location.Geofence;
+import com.google.android.gms.location.GeofencingEvent;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import io.reactivex.rxjava3.observers.TestObserver;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class GeofenceManagerTest {
+
+    private final GeofenceManager geofenceManager = new GeofenceManager();
+    private final Geofence firstGeofence = createGeofence("first");
+    private final Geofence secondGeofence = createGeofence("second");
+
+    @Test
+    public void handleBroadcastedGeofencingEvent_triggeringGeofence_dispatchesToTriggeringGeofenceOnly() {
+        TestObserver<GeofenceEvent> firstObserver = geofenceManager.getGeofenceEvents(firstGeofence).test();
+        TestObserver<GeofenceEvent> secondObserver = geofenceManager.getGeofenceEvents(secondGeofence).test();
+        GeofencingEvent event = mock(GeofencingEvent.class);
+        when(event.getTriggeringGeofences()).thenReturn(Collections.singletonList(createGeofence("second")));
+
+        geofenceManager.handleBroadcastedGeofencingEvent(event).test().assertComplete();
+
+        firstObserver.assertNoValues();
+        secondObserver.assertValue(geofenceEvent -> geofenceEvent.getWrappedEvent() == event);
+    }
+
+    @Test
+    public void handleBroadcastedGeofencingEvent_duplicateTriggeringGeofences_dispatchesOnce() {
+        TestObserver<GeofenceEvent> firstObserver = geofenceManager.getGeofenceEvents(firstGeofence).test();
+        GeofencingEvent event = mock(GeofencingEvent.class);
+        when(event.getTriggeringGeofences()).thenReturn(Arrays.asList(firstGeofence, createGeofence("first")));
+
+        geofenceManager.handleBroadcastedGeofencingEvent(event).test().assertComplete();
+
+        firstObserver.assertValueCount(1);
+    }
+
+    @Test
+    public void handleBroadcastedGeofencingEvent_error_dispatchesToAllGeofences() {
+        TestObserver<GeofenceEvent> firstObserver = geofenceManager.getGeofenceEvents(firstGeofence).test();
+        TestObserver<GeofenceEvent> secondObserver = geofenceManager.getGeofenceEvents(secondGeofence).test();
+        GeofencingEvent event = mock(GeofencingEvent.class);
+        when(event.hasError()).thenReturn(true);
+
+        geofenceManager.handleBroadcastedGeofencingEvent(event).test().assertComplete();
+
+        firstObserver.assertValueCount(1);
+        secondObserver.assertValueCount(1);
+    }
+
+    private static Geofence createGeofence(String requestId) {
+        Geofence geofence = mock(Geofence.class);
+        when(geofence.getRequestId()).thenReturn(requestId);
+        return geofence;
+    }
+
+}
@@ -0,0 +1,98 @@
+package de.culture4life.luca.location;
+
+import android.location.Location;
+
+import com.google.android.gms.location.LocationRequest;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import de.culture4life.luca.location.LocationManager.DistanceTrackingTier;
+import io.reactivex.rxjava3.observers.TestObserver;
+import io.reactivex.rxjava3.subjects.PublishSubject;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.when;
+
+public class LocationManagerTest {
+
+    @Test
+    public void distanceTrackingTier_atBoundary_usesHighAccuracy() {
+        DistanceTrackingTier tier = DistanceTrackingTier.from(0);
+        assertEquals(DistanceTrackingTier.NEAR, tier);
+        assertEquals(LocationRequest.PRIORITY_HIGH_ACCURACY, tier.getPriority());
+    }
+
+    @Test
+    public void distanceTrackingTier_farFromBoundary_usesLowPower() {
+        DistanceTrackingTier tier = DistanceTrackingTier.from(5000);
+        assertEquals(DistanceTrackingTier.FAR, tier);
+        assertEquals(LocationRequest.PRIORITY_LOW_POWER, tier.getPriority());
+    }
+
+    @Test
+    public void distanceTrackingTier_increasingDistance_increasesInterval() {
+        long previousInterval = 0;
+        for (double distance = 0; distance <= 2000; distance += 10) {
+            long interval = DistanceTrackingTier.from(distance).getInterval();
+            assertTrue(interval >= previousInterval);
+            previousInterval = interval;
+        }
+    }
+
+    @Test
+    public void getDistanceUpdatesTo_changingDistanceToBoundary_adaptsLocationRequest() {
+        LocationManager locationManager = spy(new LocationManager());
+        List<LocationRequest> locationRequests = new ArrayList<>();
+        PublishSubject<Location> locationUpdates = PublishSubject.create();
+        doAnswer(invocation -> {
+            locationRequests.add(invocation.getArgument(0));
+            return locationUpdates;
+        }).when(locationManager).getLocationUpdates(any(LocationRequest.class));
+        Location venueLocation = mock(Location.class);
+
+        locationManager.getDistanceUpdatesTo(venueLocation, 100).test();
+        locationUpdates.onNext(createLocation(venueLocation, 5000, 20));
+        locationUpdates.onNext(createLocation(venueLocation, 120, 10));
+        locationUpdates.onNext(createLocation(venueLocation, 110, 10));
+
+        assertEquals(3, locationRequests.size());
+        assertLocationRequest(DistanceTrackingTier.INITIAL, locationRequests.get(0));
+        assertLocationRequest(DistanceTrackingTier.FAR, locationRequests.get(1));
+        assertLocationRequest(DistanceTrackingTier.NEAR, locationRequests.get(2));
+    }
+
+    @Test
+    public void getDistanceUpdatesTo_locationUpdates_emitsDistances() {
+        LocationManager locationManager = spy(new LocationManager());
+        PublishSubject<Location> locationUpdates = PublishSubject.create();
+        doAnswer(invocation -> locationUpdates).when(locationManager).getLocationUpdates(any(LocationRequest.class));
+        Location venueLocation = mock(Location.class);
+
+        TestObserver<Double> testObserver = locationManager.getDistanceUpdatesTo(venueLocation, 100).test();
+        locationUpdates.onNext(createLocation(venueLocation, 5000, 20));
+        locationUpdates.onNext(createLocation(venueLocation, 120, 10));
+
+        testObserver.assertValues(5000d, 120d);
+    }
+
+    private static Location createLocation(Location venueLocation, float distance, float accuracy) {
+        Location location = mock(Location.class);
+        when(location.distanceTo(venueLocation)).thenReturn(distance);
+        when(location.getAccuracy()).thenReturn(accuracy);
+        return location;
+    }
+
+    private static void assertLocationRequest(DistanceTrackingTier expectedTier, LocationRequest locationRequest) {
+        assertEquals(expectedTier.getPriority(), locationRequest.getPriority());
+        assertEquals(expectedTier.getInterval(), locationRequest.getInterval());
+    }
+
+}
@@ -0,0 +1,109 @@
+package de.culture4life.luca.network;
+
+import com.google.gson.JsonObject;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import retrofit2.HttpException;
+import retrofit2.Retrofit;
+import retrofit2.adapter.rxjava3.RxJava3CallAdapterFactory;
+import retrofit2.converter.gson.GsonConverterFactory;
+import retrofit2.http.GET;
+
+import static org.junit.Assert.assertEquals;
+
+public class CoalescingCallAdapterFactoryTest {
+
+    interface TestEndpoints {
+
+        @GET("data")
+        Single<JsonObject> getData();
+
+        @ResponseMemo(seconds = 60)
+        @GET("memoized")
+        Single<JsonObject> getMemoizedData();
+
+        @ResponseMemo(seconds = 60)
+        @GET("failing")
+        Single<JsonObject> getFailingData();
+
+    }
+
+    private final AtomicInteger requestCount = new AtomicInteger();
+    private TestEndpoints endpoints;
+
+    @Before
+    public void setUp() {
+        OkHttpClient client = new OkHttpClient.Builder()
+                .addInterceptor(chain -> {
+                    requestCount.incrementAndGet();
+                    Thread.sleep(100);
+                    boolean isFailing = chain.request().url().encodedPath().contains("failing");
+                    return new Response.Builder()
+                            .request(chain.request())
+                            .protocol(Protocol.HTTP_1_1)
+                            .code(isFailing ? 500 : 200)
+                            .message(isFailing ? "Internal Server Error" : "OK")
+                            .body(ResponseBody.create("{}", MediaType.get("application/json")))
+                            .build();
+                })
+                .build();
+
+        endpoints = new Retrofit.Builder()
+                .baseUrl("http://localhost/")
+                .addConverterFactory(GsonConverterFactory.create())
+                .addCallAdapterFactory(new CoalescingCallAdapterFactory())
+                .addCallAdapterFactory(RxJava3CallAdapterFactory.createWithScheduler(Schedulers.io()))
+                .client(client)
+                .build()
+                .create(TestEndpoints.class);
+    }
+
+    @Test
+    public void getData_concurrentSubscriptions_sharesCall() {
+        Single.zip(endpoints.getData(), endpoints.getData(), (first, second) -> first == second)
+                .test()
+                .awaitDone(5, TimeUnit.SECONDS)
+                .assertValue(true);
+        assertEquals(1, requestCount.get());
+    }
+
+    @Test
+    public void getData_subsequentSubscriptions_requestsAgain() {
+        endpoints.getData().blockingGet();
+        endpoints.getData().blockingGet();
+        assertEquals(2, requestCount.get());
+    }
+
+    @Test
+    public void getMemoizedData_subsequentSubscriptions_reusesResponse() {
+        endpoints.getMemoizedData().blockingGet();
+        endpoints.getMemoizedData().blockingGet();
+        assertEquals(1, requestCount.get());
+    }
+
+    @Test
+    public void getFailingData_subsequentSubscriptions_requestsAgain() {
+        endpoints.getFailingData()
+                .test()
+                .awaitDone(5, TimeUnit.SECONDS)
+                .assertError(HttpException.class);
+        endpoints.getFailingData()
+                .test()
+                .awaitDone(5, TimeUnit.SECONDS)
+                .assertError(HttpException.class);
+        assertEquals(2, requestCount.get());
+    }
+
+}
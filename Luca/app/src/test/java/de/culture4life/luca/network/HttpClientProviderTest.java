@@ -0,0 +1,39 @@
+package de.culture4life.luca.network;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class HttpClientProviderTest {
+
+    @Rule
+    public TemporaryFolder cacheDirectory = new TemporaryFolder();
+
+    @Test
+    public void deleteLegacyCacheFiles_legacyCacheInRoot_deletesOnlyCacheFiles() throws IOException {
+        File journal = cacheDirectory.newFile("journal");
+        File journalBackup = cacheDirectory.newFile("journal.bkp");
+        File metadata = cacheDirectory.newFile("0123456789abcdef0123456789abcdef.0");
+        File body = cacheDirectory.newFile("0123456789abcdef0123456789abcdef.1");
+        File otherFile = cacheDirectory.newFile("image.png");
+        File currentCache = cacheDirectory.newFolder("http");
+        File currentJournal = new File(currentCache, "journal");
+        assertTrue(currentJournal.createNewFile());
+
+        HttpClientProvider.deleteLegacyCacheFiles(cacheDirectory.getRoot());
+
+        assertFalse(journal.exists());
+        assertFalse(journalBackup.exists());
+        assertFalse(metadata.exists());
+        assertFalse(body.exists());
+        assertTrue(otherFile.exists());
+        assertTrue(currentJournal.exists());
+    }
+
+}
@@ -0,0 +1,357 @@
+package de.culture4life.luca.network;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+import okhttp3.HttpUrl;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
+
+/**
+ * Local HTTP server implementing the {@link de.culture4life.luca.network.endpoints.LucaEndpointsV3}
+ * and {@link de.culture4life.luca.network.endpoints.LucaEndpointsV4} routes used by the managers.
+ * <p>
+ * Responses are generated, not stored: every requested trace exists, guest lists and notification
+ * chunks contain {@link #setResponseSize(int)} entries and {@link #setNotificationChunkCount(int)}
+ * chunks are available before older chunks respond with 404, like deleted chunks on the backend.
+ * Every response is delayed by {@link #setLatency(long)} and fails with 503 at the configured
+ * {@link #setErrorRate(double)}.
+ */
+public class MockLucaBackend {
+
+    public enum Route {
+
+        TRACES_BULK("POST", "/api/v3/traces/bulk"),
+        CHECK_IN("POST", "/api/v3/traces/checkin"),
+        CHECK_OUT("POST", "/api/v3/traces/checkout"),
+        ADDITIONAL_CHECK_IN_PROPERTIES("POST", "/api/v3/traces/additionalData"),
+        LOCATION("GET", "/api/v3/locations/[^/]+"),
+        CREATE_PRIVATE_LOCATION("POST", "/api/v3/locations/private"),
+        CLOSE_PRIVATE_LOCATION("DELETE", "/api/v3/locations/[^/]+"),
+        GUEST_LIST("GET", "/api/v3/locations/traces/[^/]+"),
+        TIME_SYNC("GET", "/api/v3/timesync"),
+        NOTIFICATION_CONFIG("GET", "/api/v4/notifications/config"),
+        CURRENT_NOTIFICATION_CHUNK("GET", "/api/v4/notifications/traces"),
+        NOTIFICATION_CHUNK("GET", "/api/v4/notifications/traces/[^/]+"),
+        UNKNOWN("", "");
+
+        private final String method;
+        private final Pattern pathPattern;
+
+        Route(@NonNull String method, @NonNull String pathPattern) {
+            this.method = method;
+            this.pathPattern = Pattern.compile(pathPattern);
+        }
+
+        static Route from(@NonNull String method, @NonNull String path) {
+            for (Route route : values()) {
+                if (route.method.equals(method) && route.pathPattern.matcher(path).matches()) {
+                    return route;
+                }
+            }
+            return UNKNOWN;
+        }
+
+    }
+
+    private static final int NOTIFICATION_CHUNK_HASH_LENGTH = 16;
+    private static final int NOTIFICATION_CHUNK_HEADER_LENGTH = 32;
+
+    private final MockWebServer server = new MockWebServer();
+    private final Map<Route, AtomicLong> requestCounts = new EnumMap<>(Route.class);
+    private final Random random;
+
+    private volatile long latency;
+    private volatile double errorRate;
+    private volatile int responseSize = 10;
+    private volatile int notificationChunkCount = 3;
+
+    public MockLucaBackend() {
+        this(new Random());
+    }
+
+    /**
+     * @param random used to decide which requests fail and to generate trace IDs, pass a seeded
+     *               instance for reproducible runs
+     */
+    public MockLucaBackend(@NonNull Random random) {
+        this.random = random;
+        for (Route route : Route.values()) {
+            requestCounts.put(route, new AtomicLong());
+        }
+        server.setDispatcher(new Dispatcher() {
+            @NonNull
+            @Override
+            public MockResponse dispatch(@NonNull RecordedRequest request) {
+                return MockLucaBackend.this.dispatch(request);
+            }
+        });
+    }
+
+    public void start() throws IOException {
+        server.start();
+    }
+
+    public void shutdown() throws IOException {
+        server.shutdown();
+    }
+
+    /**
+     * @return the base URL for the specified API version, as used by {@link NetworkManager}
+     */
+    public HttpUrl getBaseUrl(int version) {
+        return server.url("/api/v" + version + "/");
+    }
+
+    public long getRequestCount(@NonNull Route route) {
+        return requestCounts.get(route).get();
+    }
+
+    public long getTotalRequestCount() {
+        long totalRequestCount = 0;
+        for (AtomicLong requestCount : requestCounts.values()) {
+            totalRequestCount += requestCount.get();
+        }
+        return totalRequestCount;
+    }
+
+    public void resetRequestCounts() {
+        for (AtomicLong requestCount : requestCounts.values()) {
+            requestCount.set(0);
+        }
+    }
+
+    /**
+     * @param latency delay before the response headers are sent, in milliseconds
+     */
+    public MockLucaBackend setLatency(long latency) {
+        this.latency = latency;
+        return this;
+    }
+
+    /**
+     * @param errorRate fraction of requests, between 0 and 1, that respond with 503
+     */
+    public MockLucaBackend setErrorRate(double errorRate) {
+        this.errorRate = errorRate;
+        return this;
+    }
+
+    /**
+     * @param responseSize amount of guests per guest list and of trace ID hashes per notification
+     *                     chunk
+     */
+    public MockLucaBackend setResponseSize(int responseSize) {
+        this.responseSize = responseSize;
+        return this;
+    }
+
+    public MockLucaBackend setNotificationChunkCount(int notificationChunkCount) {
+        this.notificationChunkCount = notificationChunkCount;
+        return this;
+    }
+
+    private MockResponse dispatch(@NonNull RecordedRequest request) {
+        Route route = Route.from(request.getMethod(), request.getRequestUrl().encodedPath());
+        requestCounts.get(route).incrementAndGet();
+        MockResponse response;
+        if (route != Route.UNKNOWN && random.nextDouble() < errorRate) {
+            response = new MockResponse().setResponseCode(HttpURLConnection.HTTP_UNAVAILABLE);
+        } else {
+            response = createResponse(route, request);
+        }
+        return response.setHeadersDelay(latency, TimeUnit.MILLISECONDS);
+    }
+
+    private MockResponse createResponse(@NonNull Route route, @NonNull RecordedRequest request) {
+        switch (route) {
+            case TRACES_BULK:
+                return createJsonResponse(createTraces(request.getBody()));
+            case CHECK_IN:
+            case CHECK_OUT:
+            case ADDITIONAL_CHECK_IN_PROPERTIES:
+            case CLOSE_PRIVATE_LOCATION:
+                return new MockResponse().setResponseCode(HttpURLConnection.HTTP_NO_CONTENT);
+            case LOCATION:
+                return createJsonResponse(createLocation(getLastPathSegment(request)));
+            case CREATE_PRIVATE_LOCATION:
+                return createJsonResponse(createPrivateLocation());
+            case GUEST_LIST:
+                return createJsonResponse(createGuestList());
+            case TIME_SYNC:
+                return createJsonResponse(createServerTime());
+            case NOTIFICATION_CONFIG:
+                return createJsonResponse(createNotificationConfig());
+            case CURRENT_NOTIFICATION_CHUNK:
+                return createChunkResponse(0);
+            case NOTIFICATION_CHUNK:
+                return createChunkResponse(getChunkIndex(getLastPathSegment(request)));
+            default:
+                return new MockResponse().setResponseCode(HttpURLConnection.HTTP_NOT_FOUND);
+        }
+    }
+
+    private static MockResponse createJsonResponse(@NonNull JsonElement body) {
+        return new MockResponse()
+                .setHeader("Content-Type", "application/json")
+                .setBody(body.toString());
+    }
+
+    private static String getLastPathSegment(@NonNull RecordedRequest request) {
+        return request.getRequestUrl().pathSegments().get(request.getRequestUrl().pathSize() - 1);
+    }
+
+    /*
+        Traces
+     */
+
+    private JsonArray createTraces(@NonNull Buffer requestBody) {
+        long checkInTimestamp = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis()) - 60;
+        JsonArray traceIds = JsonParser.parseString(requestBody.readUtf8())
+                .getAsJsonObject()
+                .getAsJsonArray("traceIds");
+        JsonArray traces = new JsonArray();
+        for (JsonElement traceId : traceIds) {
+            JsonObject trace = new JsonObject();
+            trace.addProperty("traceId", traceId.getAsString());
+            trace.addProperty("createdAt", checkInTimestamp);
+            trace.add("checkout", null);
+            trace.addProperty("locationId", UUID.randomUUID().toString());
+            traces.add(trace);
+        }
+        return traces;
+    }
+
+    /*
+        Locations
+     */
+
+    private static JsonObject createLocation(@NonNull String locationId) {
+        JsonObject location = new JsonObject();
+        location.addProperty("locationId", locationId);
+        location.addProperty("locationName", "Area");
+        location.addProperty("groupName", "Group");
+        location.addProperty("lat", 52.5200066);
+        location.addProperty("lng", 13.404954);
+        location.addProperty("radius", 50);
+        location.addProperty("isPrivate", false);
+        return location;
+    }
+
+    private static JsonObject createPrivateLocation() {
+        JsonObject privateLocation = new JsonObject();
+        privateLocation.addProperty("locationId", UUID.randomUUID().toString());
+        privateLocation.addProperty("scannerId", UUID.randomUUID().toString());
+        privateLocation.addProperty("accessId", UUID.randomUUID().toString());
+        return privateLocation;
+    }
+
+    private JsonArray createGuestList() {
+        long checkInTimestamp = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis()) - 60;
+        JsonArray guests = new JsonArray();
+        for (int i = 0; i < responseSize; i++) {
+            JsonObject additionalData = new JsonObject();
+            additionalData.addProperty("data", createRandomBase64(64));
+            additionalData.addProperty("iv", createRandomBase64(16));
+            additionalData.addProperty("mac", createRandomBase64(32));
+            additionalData.addProperty("publicKey", createRandomBase64(65));
+
+            JsonObject guest = new JsonObject();
+            guest.addProperty("traceId", createRandomBase64(16));
+            guest.addProperty("checkin", checkInTimestamp);
+            guest.add("checkout", null);
+            guest.add("data", additionalData);
+            guests.add(guest);
+        }
+        return guests;
+    }
+
+    /*
+        Time
+     */
+
+    private static JsonObject createServerTime() {
+        JsonObject serverTime = new JsonObject();
+        serverTime.addProperty("unix", TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis()));
+        return serverTime;
+    }
+
+    /*
+        Notifications
+     */
+
+    private static JsonObject createNotificationConfig() {
+        JsonObject notificationConfig = new JsonObject();
+        notificationConfig.add("default", new JsonObject());
+        notificationConfig.add("departments", new JsonArray());
+        return notificationConfig;
+    }
+
+    /**
+     * Creates a chunk in the binary format parsed by {@link de.culture4life.luca.dataaccess.NotificationDataChunk}.
+     * The first byte of the previous chunk ID is the index of that chunk.
+     */
+    private MockResponse createChunkResponse(int chunkIndex) {
+        if (chunkIndex < 0 || chunkIndex >= notificationChunkCount) {
+            return new MockResponse().setResponseCode(HttpURLConnection.HTTP_NOT_FOUND);
+        }
+        ByteBuffer chunk = ByteBuffer.allocate(NOTIFICATION_CHUNK_HEADER_LENGTH + responseSize * NOTIFICATION_CHUNK_HASH_LENGTH);
+        chunk.put((byte) 1); // version
+        chunk.put((byte) 0); // algorithm
+        chunk.put((byte) NOTIFICATION_CHUNK_HASH_LENGTH);
+        chunk.putLong(System.currentTimeMillis() - TimeUnit.HOURS.toMillis(chunkIndex + 1));
+        chunk.position(16);
+        chunk.put(createChunkId(chunkIndex + 1));
+        for (int i = 0; i < responseSize; i++) {
+            chunk.put(createRandomBytes(NOTIFICATION_CHUNK_HASH_LENGTH));
+        }
+        return new MockResponse()
+                .setHeader("Content-Type", "application/octet-stream")
+                .setBody(new Buffer().write(chunk.array()));
+    }
+
+    private static byte[] createChunkId(int chunkIndex) {
+        byte[] chunkId = new byte[16];
+        chunkId[0] = (byte) chunkIndex;
+        return chunkId;
+    }
+
+    private static int getChunkIndex(@Nullable String encodedChunkId) {
+        try {
+            return Base64.getDecoder().decode(encodedChunkId)[0];
+        } catch (IllegalArgumentException | NullPointerException | ArrayIndexOutOfBoundsException e) {
+            return -1;
+        }
+    }
+
+    private byte[] createRandomBytes(int length) {
+        byte[] bytes = new byte[length];
+        random.nextBytes(bytes);
+        return bytes;
+    }
+
+    private String createRandomBase64(int length) {
+        return Base64.getEncoder().encodeToString(createRandomBytes(length));
+    }
+
+}
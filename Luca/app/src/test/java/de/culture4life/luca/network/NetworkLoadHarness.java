@@ -0,0 +1,276 @@
+package de.culture4life.luca.network;
+
+import androidx.annotation.NonNull;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import java.net.HttpURLConnection;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import de.culture4life.luca.network.endpoints.LucaEndpointsV3;
+import de.culture4life.luca.network.endpoints.LucaEndpointsV4;
+import de.culture4life.luca.network.metrics.DurationHistogram;
+import de.culture4life.luca.network.metrics.EndpointMetrics;
+import de.culture4life.luca.network.metrics.NetworkMetricsEventListener;
+import de.culture4life.luca.network.metrics.NetworkMetricsInterceptor;
+import de.culture4life.luca.network.metrics.NetworkMetricsStore;
+import de.culture4life.luca.network.pojo.CheckInRequestData;
+import de.culture4life.luca.network.pojo.CheckOutRequestData;
+import de.culture4life.luca.network.pojo.TraceData;
+import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import okhttp3.OkHttpClient;
+import okhttp3.ResponseBody;
+import retrofit2.Retrofit;
+import retrofit2.adapter.rxjava3.RxJava3CallAdapterFactory;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+/**
+ * Drives the request sequences of the managers against a {@link MockLucaBackend}, using the same
+ * Retrofit setup as {@link NetworkManager}, and records the end-to-end latency of each {@link
+ * Flow}.
+ * <p>
+ * Failed flows are counted but not retried, so that error rates of the backend show up in the
+ * report instead of being hidden by the retry policies of the managers.
+ */
+public class NetworkLoadHarness {
+
+    public enum Flow {
+
+        /**
+         * Check-in, trace polling using {@code traces/bulk}, location lookup and check-out, see
+         * {@link de.culture4life.luca.checkin.CheckInManager}.
+         */
+        CHECK_IN,
+
+        /**
+         * Notification config and notification chunks until the oldest available chunk, see
+         * {@link de.culture4life.luca.dataaccess.DataAccessManager}.
+         */
+        DATA_ACCESS,
+
+        /**
+         * Private location creation, guest list polling and closing the location, see {@link
+         * de.culture4life.luca.meeting.MeetingManager}.
+         */
+        MEETING,
+
+        /**
+         * Server time, see {@link de.culture4life.luca.util.TimeUtil}.
+         */
+        TIME_SYNC
+
+    }
+
+    private static final int GUEST_LIST_POLLING_COUNT = 3;
+
+    private final MockLucaBackend backend;
+    private final NetworkMetricsStore metricsStore = new NetworkMetricsStore();
+    private final LucaEndpointsV3 lucaEndpointsV3;
+    private final LucaEndpointsV4 lucaEndpointsV4;
+    private final Map<Flow, DurationHistogram> flowDurations = new EnumMap<>(Flow.class);
+    private final Map<Flow, AtomicLong> flowFailures = new EnumMap<>(Flow.class);
+
+    public NetworkLoadHarness(@NonNull MockLucaBackend backend) {
+        this.backend = backend;
+        for (Flow flow : Flow.values()) {
+            flowDurations.put(flow, new DurationHistogram());
+            flowFailures.put(flow, new AtomicLong());
+        }
+        OkHttpClient okHttpClient = new OkHttpClient.Builder()
+                .addInterceptor(new NetworkMetricsInterceptor(metricsStore))
+                .eventListenerFactory(NetworkMetricsEventListener.createFactory(metricsStore))
+                .build();
+        lucaEndpointsV3 = createRetrofit(3, okHttpClient).create(LucaEndpointsV3.class);
+        lucaEndpointsV4 = createRetrofit(4, okHttpClient).create(LucaEndpointsV4.class);
+    }
+
+    private Retrofit createRetrofit(int version, @NonNull OkHttpClient okHttpClient) {
+        return new Retrofit.Builder()
+                .baseUrl(backend.getBaseUrl(version))
+                .addConverterFactory(GsonConverterFactory.create(NetworkManager.GSON))
+                .addCallAdapterFactory(new CoalescingCallAdapterFactory())
+                .addCallAdapterFactory(RxJava3CallAdapterFactory.createWithScheduler(Schedulers.io()))
+                .client(okHttpClient)
+                .build();
+    }
+
+    /**
+     * Runs the specified amount of flows, cycling through all {@link Flow}s, with at most {@code
+     * concurrency} flows in progress at the same time. Completes once all flows completed or
+     * failed.
+     */
+    public Completable run(int flowCount, int concurrency) {
+        Flow[] flows = Flow.values();
+        return Flowable.range(0, flowCount)
+                .flatMapCompletable(index -> runFlow(flows[index % flows.length])
+                        .onErrorComplete(), false, concurrency);
+    }
+
+    /**
+     * Runs the flow once, recording its duration if it succeeded or counting it as failure
+     * otherwise.
+     */
+    public Completable runFlow(@NonNull Flow flow) {
+        return Completable.defer(() -> {
+            long startTime = System.nanoTime();
+            return createFlow(flow)
+                    .doOnComplete(() -> flowDurations.get(flow).record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime)))
+                    .doOnError(throwable -> flowFailures.get(flow).incrementAndGet());
+        });
+    }
+
+    private Completable createFlow(@NonNull Flow flow) {
+        switch (flow) {
+            case CHECK_IN:
+                return checkInFlow();
+            case DATA_ACCESS:
+                return dataAccessFlow();
+            case MEETING:
+                return meetingFlow();
+            case TIME_SYNC:
+                return lucaEndpointsV3.getServerTime().ignoreElement();
+            default:
+                return Completable.error(new IllegalArgumentException("Unknown flow: " + flow));
+        }
+    }
+
+    /*
+        Flows
+     */
+
+    private Completable checkInFlow() {
+        String traceId = createTraceId();
+        return lucaEndpointsV3.checkIn(createCheckInRequestData(traceId))
+                .andThen(lucaEndpointsV3.getTraces(createTracesRequestData(traceId)))
+                .flatMapObservable(Observable::fromIterable)
+                .firstOrError()
+                .map(TraceData::getLocationId)
+                .flatMap(lucaEndpointsV3::getLocation)
+                .ignoreElement()
+                .andThen(lucaEndpointsV3.checkOut(createCheckOutRequestData(traceId)));
+    }
+
+    private Completable dataAccessFlow() {
+        return lucaEndpointsV4.getNotificationConfig()
+                .ignoreElement()
+                .andThen(fetchChunks(lucaEndpointsV4.getNotifications()));
+    }
+
+    /**
+     * Fetches the chunk and all of its predecessors, until the backend responds with 404.
+     */
+    private Completable fetchChunks(@NonNull Single<ResponseBody> chunk) {
+        return chunk.map(ResponseBody::bytes)
+                .map(NetworkLoadHarness::getPreviousChunkId)
+                .flatMapCompletable(previousChunkId -> fetchChunks(lucaEndpointsV4.getNotifications(previousChunkId))
+                        .onErrorResumeNext(throwable -> {
+                            if (NetworkManager.isHttpException(throwable, HttpURLConnection.HTTP_NOT_FOUND)) {
+                                return Completable.complete();
+                            } else {
+                                return Completable.error(throwable);
+                            }
+                        }));
+    }
+
+    private Completable meetingFlow() {
+        return lucaEndpointsV3.createPrivateLocation(new JsonObject())
+                .map(meetingCreationResponse -> meetingCreationResponse.getAccessUuid().toString())
+                .flatMapCompletable(accessId -> lucaEndpointsV3.fetchGuestList(accessId)
+                        .repeat(GUEST_LIST_POLLING_COUNT)
+                        .ignoreElements()
+                        .andThen(lucaEndpointsV3.closePrivateLocation(accessId)));
+    }
+
+    /*
+        Requests
+     */
+
+    private static String createTraceId() {
+        byte[] traceId = Arrays.copyOf(UUID.randomUUID().toString().getBytes(), 16);
+        return Base64.getEncoder().encodeToString(traceId);
+    }
+
+    private static CheckInRequestData createCheckInRequestData(@NonNull String traceId) {
+        CheckInRequestData checkInRequestData = new CheckInRequestData();
+        checkInRequestData.setTraceId(traceId);
+        checkInRequestData.setScannerId(UUID.randomUUID().toString());
+        checkInRequestData.setUnixTimestamp(TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis()));
+        return checkInRequestData;
+    }
+
+    private static JsonObject createTracesRequestData(@NonNull String traceId) {
+        JsonArray traceIds = new JsonArray();
+        traceIds.add(traceId);
+        JsonObject tracesRequestData = new JsonObject();
+        tracesRequestData.add("traceIds", traceIds);
+        return tracesRequestData;
+    }
+
+    private static CheckOutRequestData createCheckOutRequestData(@NonNull String traceId) {
+        CheckOutRequestData checkOutRequestData = new CheckOutRequestData();
+        checkOutRequestData.setTraceId(traceId);
+        checkOutRequestData.setRoundedUnixTimestamp(TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis()));
+        return checkOutRequestData;
+    }
+
+    private static String getPreviousChunkId(@NonNull byte[] chunk) {
+        byte[] previousChunkId = new byte[16];
+        ByteBuffer.wrap(chunk, 16, 16).get(previousChunkId);
+        return Base64.getEncoder().encodeToString(previousChunkId);
+    }
+
+    /*
+        Report
+     */
+
+    public DurationHistogram getFlowDurations(@NonNull Flow flow) {
+        return flowDurations.get(flow);
+    }
+
+    public long getFlowFailureCount(@NonNull Flow flow) {
+        return flowFailures.get(flow).get();
+    }
+
+    public NetworkMetricsStore getMetricsStore() {
+        return metricsStore;
+    }
+
+    /**
+     * @return end-to-end latency and failures per flow, requests received by the backend per route
+     * and the client side metrics per endpoint
+     */
+    public String createReport() {
+        StringBuilder report = new StringBuilder();
+        report.append("Flows:\n");
+        for (Flow flow : Flow.values()) {
+            report.append(String.format(Locale.US, "  %-28s %s failures=%d%n", flow, flowDurations.get(flow), flowFailures.get(flow).get()));
+        }
+        report.append("Backend requests:\n");
+        for (MockLucaBackend.Route route : MockLucaBackend.Route.values()) {
+            long requestCount = backend.getRequestCount(route);
+            if (requestCount > 0) {
+                report.append(String.format(Locale.US, "  %-28s %d%n", route, requestCount));
+            }
+        }
+        report.append(String.format(Locale.US, "  %-28s %d%n", "TOTAL", backend.getTotalRequestCount()));
+        report.append("Client endpoints:\n");
+        for (EndpointMetrics endpointMetrics : metricsStore.getAllEndpointMetrics()) {
+            report.append("  ").append(endpointMetrics).append('\n');
+        }
+        return report.toString();
+    }
+
+}
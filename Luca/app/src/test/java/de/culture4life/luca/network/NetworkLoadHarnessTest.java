@@ -0,0 +1,122 @@
+package de.culture4life.luca.network;
+
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import de.culture4life.luca.network.MockLucaBackend.Route;
+import de.culture4life.luca.network.NetworkLoadHarness.Flow;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class NetworkLoadHarnessTest {
+
+    private MockLucaBackend backend;
+    private NetworkLoadHarness harness;
+
+    @Before
+    public void setUp() throws IOException {
+        backend = new MockLucaBackend(new Random(0));
+        backend.start();
+        harness = new NetworkLoadHarness(backend);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        backend.shutdown();
+    }
+
+    @Test
+    public void runFlow_checkIn_requestsCheckInRoutes() {
+        runFlow(Flow.CHECK_IN);
+        assertEquals(1, backend.getRequestCount(Route.CHECK_IN));
+        assertEquals(1, backend.getRequestCount(Route.TRACES_BULK));
+        assertEquals(1, backend.getRequestCount(Route.LOCATION));
+        assertEquals(1, backend.getRequestCount(Route.CHECK_OUT));
+        assertEquals(4, backend.getTotalRequestCount());
+    }
+
+    @Test
+    public void runFlow_dataAccess_fetchesChunksUntilNotFound() {
+        backend.setNotificationChunkCount(3);
+        runFlow(Flow.DATA_ACCESS);
+        assertEquals(1, backend.getRequestCount(Route.NOTIFICATION_CONFIG));
+        assertEquals(1, backend.getRequestCount(Route.CURRENT_NOTIFICATION_CHUNK));
+        assertEquals(3, backend.getRequestCount(Route.NOTIFICATION_CHUNK));
+    }
+
+    @Test
+    public void runFlow_meeting_pollsGuestList() {
+        runFlow(Flow.MEETING);
+        assertEquals(1, backend.getRequestCount(Route.CREATE_PRIVATE_LOCATION));
+        assertEquals(3, backend.getRequestCount(Route.GUEST_LIST));
+        assertEquals(1, backend.getRequestCount(Route.CLOSE_PRIVATE_LOCATION));
+    }
+
+    @Test
+    public void runFlow_withLatency_recordsEndToEndDuration() {
+        backend.setLatency(100);
+        runFlow(Flow.TIME_SYNC);
+        assertEquals(1, backend.getRequestCount(Route.TIME_SYNC));
+        assertEquals(1, harness.getFlowDurations(Flow.TIME_SYNC).getCount());
+        assertTrue(harness.getFlowDurations(Flow.TIME_SYNC).getMax() >= 100);
+    }
+
+    @Test
+    public void run_withErrors_countsFailures() {
+        backend.setErrorRate(1);
+        harness.run(8, 4)
+                .test()
+                .awaitDone(10, TimeUnit.SECONDS)
+                .assertComplete();
+        for (Flow flow : Flow.values()) {
+            assertEquals(2, harness.getFlowFailureCount(flow));
+            assertEquals(0, harness.getFlowDurations(flow).getCount());
+        }
+    }
+
+    /**
+     * Runs all flows concurrently and prints the report. Only runs if the `NETWORK_LOAD_TEST`
+     * environment variable is set to `true`. Latency (ms), error rate, response size, flow count
+     * and concurrency can be set using the `NETWORK_LOAD_TEST_LATENCY`,
+     * `NETWORK_LOAD_TEST_ERROR_RATE`, `NETWORK_LOAD_TEST_RESPONSE_SIZE`,
+     * `NETWORK_LOAD_TEST_FLOWS` and `NETWORK_LOAD_TEST_CONCURRENCY` environment variables, e.g.
+     * `NETWORK_LOAD_TEST=true NETWORK_LOAD_TEST_LATENCY=150 ./gradlew :app:testDebugUnitTest
+     * --tests '*NetworkLoadHarnessTest'`.
+     */
+    @Test
+    public void load() {
+        Assume.assumeTrue("true".equals(System.getenv("NETWORK_LOAD_TEST")));
+
+        backend.setLatency(Long.parseLong(getEnv("NETWORK_LOAD_TEST_LATENCY", "50")))
+                .setErrorRate(Double.parseDouble(getEnv("NETWORK_LOAD_TEST_ERROR_RATE", "0.01")))
+                .setResponseSize(Integer.parseInt(getEnv("NETWORK_LOAD_TEST_RESPONSE_SIZE", "100")));
+        int flowCount = Integer.parseInt(getEnv("NETWORK_LOAD_TEST_FLOWS", "400"));
+        int concurrency = Integer.parseInt(getEnv("NETWORK_LOAD_TEST_CONCURRENCY", "16"));
+
+        harness.run(flowCount, concurrency)
+                .test()
+                .awaitDone(5, TimeUnit.MINUTES)
+                .assertComplete();
+        System.out.println(harness.createReport());
+    }
+
+    private void runFlow(Flow flow) {
+        harness.runFlow(flow)
+                .test()
+                .awaitDone(10, TimeUnit.SECONDS)
+                .assertComplete();
+    }
+
+    private static String getEnv(String name, String defaultValue) {
+        String value = System.getenv(name);
+        return value != null ? value : defaultValue;
+    }
+
+}
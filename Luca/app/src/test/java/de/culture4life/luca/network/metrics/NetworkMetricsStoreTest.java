@@ -0,0 +1,71 @@
+package de.culture4life.luca.network.metrics;
+
+import org.junit.Test;
+
+import java.io.IOException;
+
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+import static org.junit.Assert.assertEquals;
+
+public class NetworkMetricsStoreTest {
+
+    private final NetworkMetricsStore store = new NetworkMetricsStore(3);
+
+    @Test
+    public void getEndpointTemplate_urlWithIds_replacesIds() {
+        Request request = new Request.Builder()
+                .url("https://app.luca-app.de/api/v4/notifications/traces/9a5c8715-2810-4e17-a3c9-0c8190507dd5")
+                .build();
+        assertEquals("GET app.luca-app.de/api/v4/notifications/traces/{id}", NetworkMetricsStore.getEndpointTemplate(request));
+    }
+
+    @Test
+    public void getOrCreateEndpointMetrics_maximumCountExceeded_aggregatesAsOther() {
+        for (int i = 0; i < 5; i++) {
+            store.getOrCreateEndpointMetrics(new Request.Builder().url("https://luca-app.de/endpoint" + i).build());
+        }
+        assertEquals(3, store.getAllEndpointMetrics().size());
+        assertEquals(NetworkMetricsStore.OTHER_ENDPOINTS, store.getAllEndpointMetrics().get(2).getEndpoint());
+    }
+
+    @Test
+    public void eventListener_unsuccessfulResponse_recordsCallAndHttpError() throws IOException {
+        OkHttpClient client = new OkHttpClient.Builder()
+                .addInterceptor(new NetworkMetricsInterceptor(store))
+                .addInterceptor(chain -> new Response.Builder()
+                        .request(chain.request())
+                        .protocol(Protocol.HTTP_1_1)
+                        .code(500)
+                        .message("Internal Server Error")
+                        .body(ResponseBody.create("", MediaType.get("text/plain")))
+                        .build())
+                .eventListenerFactory(NetworkMetricsEventListener.createFactory(store))
+                .build();
+
+        client.newCall(new Request.Builder().url("https://luca-app.de/data").build()).execute().close();
+
+        EndpointMetrics metrics = store.getEndpointMetrics("GET luca-app.de/data");
+        assertEquals(1, metrics.getCallCount());
+        assertEquals(1, metrics.getHttpErrorCount());
+        assertEquals(0, metrics.getFailureCount());
+        assertEquals(1, metrics.getTotalDurations().getCount());
+    }
+
+    @Test
+    public void getPercentile_recordedDurations_emitsBucketUpperBound() {
+        DurationHistogram histogram = new DurationHistogram();
+        for (int duration = 1; duration <= 100; duration++) {
+            histogram.record(duration);
+        }
+        assertEquals(50, histogram.getPercentile(0.5));
+        assertEquals(100, histogram.getPercentile(0.9));
+        assertEquals(100, histogram.getMax());
+    }
+
+}
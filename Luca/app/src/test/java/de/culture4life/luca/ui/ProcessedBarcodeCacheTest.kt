@@ -0,0 +1,55 @@
+package de.culture4life.luca.ui
+
+import io.reactivex.rxjava3.core.Completable
+import org.junit.Assert.assertEquals
+import org.junit.Test
+
+class ProcessedBarcodeCacheTest {
+
+    private var currentTime = 0L
+    private var processingCount = 0
+
+    private val cache = ProcessedBarcodeCache(2, 1000) { currentTime }
+
+    private val succeedingProcessor: (String) -> Completable = {
+        Completable.fromAction { processingCount++ }
+    }
+
+    private val failingProcessor: (String) -> Completable = {
+        Completable.fromAction { processingCount++ }
+            .andThen(Completable.error(IllegalStateException()))
+    }
+
+    @Test
+    fun process_samePayloadWithinRetention_processesOnce() {
+        cache.process("payload", succeedingProcessor).test().assertComplete()
+        currentTime += 500
+        cache.process("payload", succeedingProcessor).test().assertComplete()
+        assertEquals(1, processingCount)
+    }
+
+    @Test
+    fun process_samePayloadAfterRetention_processesAgain() {
+        cache.process("payload", succeedingProcessor).test().assertComplete()
+        currentTime += 1001
+        cache.process("payload", succeedingProcessor).test().assertComplete()
+        assertEquals(2, processingCount)
+    }
+
+    @Test
+    fun process_previouslyFailed_replaysError() {
+        cache.process("payload", failingProcessor).test().assertError(IllegalStateException::class.java)
+        cache.process("payload", succeedingProcessor).test().assertError(IllegalStateException::class.java)
+        assertEquals(1, processingCount)
+    }
+
+    @Test
+    fun process_maximumSizeExceeded_evictsLeastRecentlyUsed() {
+        cache.process("first", succeedingProcessor).test().assertComplete()
+        cache.process("second", succeedingProcessor).test().assertComplete()
+        cache.process("third", succeedingProcessor).test().assertComplete()
+        cache.process("first", succeedingProcessor).test().assertComplete()
+        assertEquals(4, processingCount)
+    }
+
+}
@@ -0,0 +1,37 @@
+package de.culture4life.luca.util
+
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNull
+import org.junit.Test
+
+class ExpiringLruCacheTest {
+
+    private var currentTime = 0L
+    private val cache = ExpiringLruCache<String, String>(2) { currentTime }
+
+    @Test
+    fun get_beforeExpiration_returnsValue() {
+        cache.put("key", "value", 1000)
+        currentTime = 1000
+        assertEquals("value", cache.get("key"))
+    }
+
+    @Test
+    fun get_afterExpiration_returnsNull() {
+        cache.put("key", "value", 1000)
+        currentTime = 1001
+        assertNull(cache.get("key"))
+    }
+
+    @Test
+    fun put_maximumSizeExceeded_evictsLeastRecentlyUsed() {
+        cache.put("first", "1", 1000)
+        cache.put("second", "2", 1000)
+        cache.get("first")
+        cache.put("third", "3", 1000)
+        assertEquals("1", cache.get("first"))
+        assertNull(cache.get("second"))
+        assertEquals("3", cache.get("third"))
+    }
+
+}
@@ -0,0 +1,219 @@
+package de.culture4life.luca.util;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+import de.culture4life.luca.checkin.CheckInData;
+import de.culture4life.luca.meeting.MeetingAdditionalData;
+import de.culture4life.luca.network.pojo.LocationResponseData;
+import de.culture4life.luca.network.pojo.TraceData;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class LucaTypeAdapterFactoryTest {
+
+    private static final Gson REFLECTIVE_GSON = new GsonBuilder()
+            .excludeFieldsWithoutExposeAnnotation()
+            .create();
+
+    private static final Gson REFLECTIVE_NETWORK_GSON = new GsonBuilder()
+            .create();
+
+    private static final Gson GSON = new GsonBuilder()
+            .excludeFieldsWithoutExposeAnnotation()
+            .registerTypeAdapterFactory(new LucaTypeAdapterFactory(true))
+            .create();
+
+    private static final Gson NETWORK_GSON = new GsonBuilder()
+            .registerTypeAdapterFactory(new LucaTypeAdapterFactory())
+            .create();
+
+    @Test
+    public void toJson_checkInData_matchesReflectiveBinding() {
+        CheckInData checkInData = createCheckInData();
+        assertEquals(REFLECTIVE_GSON.toJson(checkInData), GSON.toJson(checkInData));
+    }
+
+    @Test
+    public void fromJson_checkInData_matchesReflectiveBinding() {
+        String json = REFLECTIVE_GSON.toJson(createCheckInData());
+        assertEquals(REFLECTIVE_GSON.toJson(REFLECTIVE_GSON.fromJson(json, CheckInData.class)), REFLECTIVE_GSON.toJson(GSON.fromJson(json, CheckInData.class)));
+    }
+
+    @Test
+    public void toJson_checkInDataWithoutLocation_omitsNullFields() {
+        CheckInData checkInData = new CheckInData();
+        checkInData.setTraceId("trace");
+        assertEquals(REFLECTIVE_GSON.toJson(checkInData), GSON.toJson(checkInData));
+    }
+
+    @Test
+    public void toJson_traceData_matchesReflectiveBinding() {
+        TraceData traceData = createTraceData();
+        assertEquals(REFLECTIVE_NETWORK_GSON.toJson(traceData), NETWORK_GSON.toJson(traceData));
+    }
+
+    @Test
+    public void fromJson_traceDataWithNullAndUnknownFields_matchesReflectiveBinding() {
+        String json = "{\"traceId\":\"trace\",\"createdAt\":1617000000,\"checkout\":null,\"locationId\":\"location\",\"unknown\":{\"a\":[1,2]}}";
+        TraceData traceData = NETWORK_GSON.fromJson(json, TraceData.class);
+        assertEquals(REFLECTIVE_NETWORK_GSON.toJson(REFLECTIVE_NETWORK_GSON.fromJson(json, TraceData.class)), REFLECTIVE_NETWORK_GSON.toJson(traceData));
+        assertEquals(0, traceData.getCheckOutTimestamp());
+    }
+
+    @Test
+    public void fromJson_locationResponseData_matchesReflectiveBinding() {
+        String json = "{\"locationId\":\"location\",\"locationName\":\"Area\",\"groupName\":null,\"lat\":52.5,\"lng\":13.4,\"radius\":50,\"isPrivate\":true}";
+        LocationResponseData locationData = NETWORK_GSON.fromJson(json, LocationResponseData.class);
+        assertEquals(REFLECTIVE_NETWORK_GSON.toJson(REFLECTIVE_NETWORK_GSON.fromJson(json, LocationResponseData.class)), REFLECTIVE_NETWORK_GSON.toJson(locationData));
+        assertNull(locationData.getGroupName());
+    }
+
+    @Test
+    public void toJson_meetingAdditionalData_matchesReflectiveBinding() {
+        MeetingAdditionalData meetingAdditionalData = new MeetingAdditionalData();
+        meetingAdditionalData.setFirstName("Erika");
+        meetingAdditionalData.setLastName("Mustermann");
+        assertEquals(REFLECTIVE_NETWORK_GSON.toJson(meetingAdditionalData), NETWORK_GSON.toJson(meetingAdditionalData));
+    }
+
+    @Test
+    public void fromJson_meetingAdditionalData_matchesReflectiveBinding() {
+        String json = "{\"fn\":\"Erika\",\"ln\":\"Mustermann\",\"unknown\":true}";
+        MeetingAdditionalData meetingAdditionalData = NETWORK_GSON.fromJson(json, MeetingAdditionalData.class);
+        assertEquals(REFLECTIVE_NETWORK_GSON.toJson(REFLECTIVE_NETWORK_GSON.fromJson(json, MeetingAdditionalData.class)), REFLECTIVE_NETWORK_GSON.toJson(meetingAdditionalData));
+        assertEquals("Erika", meetingAdditionalData.getFirstName());
+    }
+
+    @Test
+    public void toJson_traceDataExposedFieldsOnly_matchesReflectiveBinding() {
+        TraceData traceData = createTraceData();
+        assertEquals(REFLECTIVE_GSON.toJson(traceData), GSON.toJson(traceData));
+    }
+
+    @Test
+    public void toJson_modelsWithoutExposeAnnotation_matchesReflectiveBinding() {
+        MeetingAdditionalData meetingAdditionalData = new MeetingAdditionalData();
+        meetingAdditionalData.setFirstName("Erika");
+        meetingAdditionalData.setLastName("Mustermann");
+        assertEquals(REFLECTIVE_GSON.toJson(meetingAdditionalData), GSON.toJson(meetingAdditionalData));
+
+        LocationResponseData locationData = new LocationResponseData();
+        locationData.setLocationId("location");
+        locationData.setAreaName("Area");
+        assertEquals(REFLECTIVE_GSON.toJson(locationData), GSON.toJson(locationData));
+    }
+
+    @Test
+    public void fromJson_locationResponseDataExposedFieldsOnly_matchesReflectiveBinding() {
+        String json = "{\"locationId\":\"location\",\"locationName\":\"Area\",\"lat\":52.5,\"isPrivate\":true}";
+        assertEquals(REFLECTIVE_NETWORK_GSON.toJson(REFLECTIVE_GSON.fromJson(json, LocationResponseData.class)), REFLECTIVE_NETWORK_GSON.toJson(GSON.fromJson(json, LocationResponseData.class)));
+    }
+
+    @Test
+    public void toJson_null_writesNull() {
+        assertEquals("null", NETWORK_GSON.toJson(null, TraceData.class));
+    }
+
+    /**
+     * Compares the reflective binding with the adapters of {@link LucaTypeAdapterFactory}. Only
+     * runs if the `GSON_BENCHMARK` environment variable is set to `true`, e.g. `GSON_BENCHMARK=true
+     * ./gradlew :app:testDebugUnitTest --tests '*LucaTypeAdapterFactoryTest'`.
+     */
+    @Test
+    public void benchmark() {
+        Assume.assumeTrue("true".equals(System.getenv("GSON_BENCHMARK")));
+
+        List<CheckInData> checkIns = new ArrayList<>();
+        List<TraceData> traces = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            checkIns.add(createCheckInData());
+            traces.add(createTraceData());
+        }
+        Type checkInsType = new TypeToken<List<CheckInData>>() {
+        }.getType();
+        Type tracesType = new TypeToken<List<TraceData>>() {
+        }.getType();
+        String checkInsJson = REFLECTIVE_GSON.toJson(checkIns, checkInsType);
+        String tracesJson = REFLECTIVE_NETWORK_GSON.toJson(traces, tracesType);
+
+        List<String> results = Arrays.asList(
+                measure("CheckInData serialize reflective", () -> REFLECTIVE_GSON.toJson(checkIns, checkInsType)),
+                measure("CheckInData serialize adapter", () -> GSON.toJson(checkIns, checkInsType)),
+                measure("CheckInData deserialize reflective", () -> REFLECTIVE_GSON.fromJson(checkInsJson, checkInsType)),
+                measure("CheckInData deserialize adapter", () -> GSON.fromJson(checkInsJson, checkInsType)),
+                measure("TraceData serialize reflective", () -> REFLECTIVE_NETWORK_GSON.toJson(traces, tracesType)),
+                measure("TraceData serialize adapter", () -> NETWORK_GSON.toJson(traces, tracesType)),
+                measure("TraceData deserialize reflective", () -> REFLECTIVE_NETWORK_GSON.fromJson(tracesJson, tracesType)),
+                measure("TraceData deserialize adapter", () -> NETWORK_GSON.fromJson(tracesJson, tracesType))
+        );
+        for (String result : results) {
+            System.out.println(result);
+        }
+    }
+
+    private static String measure(String name, Runnable runnable) {
+        int warmUpRounds = 2_000;
+        int rounds = 10_000;
+        for (int i = 0; i < warmUpRounds; i++) {
+            runnable.run();
+        }
+        com.sun.management.ThreadMXBean threadMXBean = getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long allocatedBytesBefore = threadMXBean != null ? threadMXBean.getThreadAllocatedBytes(threadId) : 0;
+        long startTime = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            runnable.run();
+        }
+        long duration = System.nanoTime() - startTime;
+        long allocatedBytes = threadMXBean != null ? threadMXBean.getThreadAllocatedBytes(threadId) - allocatedBytesBefore : -1;
+        return String.format(Locale.US, "%-36s %10.1f µs/op %12d bytes/op", name, duration / 1000d / rounds, allocatedBytes / rounds);
+    }
+
+    private static com.sun.management.ThreadMXBean getThreadMXBean() {
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        if (threadMXBean instanceof com.sun.management.ThreadMXBean) {
+            return (com.sun.management.ThreadMXBean) threadMXBean;
+        }
+        return null;
+    }
+
+    private static CheckInData createCheckInData() {
+        CheckInData checkInData = new CheckInData();
+        checkInData.setTraceId("w2p2RzGZw/Ai0Fkzj6HlVQ==");
+        checkInData.setLocationId(UUID.fromString("512875cb-17e6-4dad-ac62-3e792d94e03f"));
+        checkInData.setLocationAreaName("Area");
+        checkInData.setLocationGroupName("Group");
+        checkInData.setTimestamp(1617000000000L);
+        checkInData.setLatitude(52.5200066);
+        checkInData.setLongitude(13.404954);
+        checkInData.setRadius(50);
+        checkInData.setMinimumDuration(120000);
+        checkInData.setPrivateMeeting(true);
+        return checkInData;
+    }
+
+    private static TraceData createTraceData() {
+        TraceData traceData = new TraceData();
+        traceData.setTraceId("w2p2RzGZw/Ai0Fkzj6HlVQ==");
+        traceData.setCheckInTimestamp(1617000000);
+        traceData.setCheckOutTimestamp(1617003600);
+        traceData.setLocationId("512875cb-17e6-4dad-ac62-3e792d94e03f");
+        return traceData;
+    }
+
+}
@@ -0,0 +1,120 @@
+package de.culture4life.luca.util
+
+import io.reactivex.rxjava3.core.Completable
+import io.reactivex.rxjava3.core.Single
+import io.reactivex.rxjava3.schedulers.TestScheduler
+import org.junit.Assert.assertEquals
+import org.junit.Before
+import org.junit.Test
+import java.util.concurrent.TimeUnit
+
+class PollingSchedulerTest {
+
+    private lateinit var testScheduler: TestScheduler
+    private lateinit var pollingScheduler: PollingScheduler
+    private var runs = 0
+
+    @Before
+    fun setup() {
+        testScheduler = TestScheduler()
+        pollingScheduler = PollingScheduler(testScheduler)
+        runs = 0
+    }
+
+    @Test
+    fun poll_unchangedResults_backsOffUntilMaximumInterval() {
+        pollingScheduler.setInForeground(true)
+        val task = createTask(1, 4)
+        pollingScheduler.poll(task, Single.fromCallable { runs++; true }).test()
+
+        testScheduler.triggerActions()
+        assertEquals(1, runs)
+
+        // runs at 1s, 3s, 7s and 11s, as the interval doubles from 1s up to 4s
+        testScheduler.advanceTimeTo(7, TimeUnit.SECONDS)
+        assertEquals(4, runs)
+        testScheduler.advanceTimeTo(11, TimeUnit.SECONDS)
+        assertEquals(5, runs)
+        testScheduler.advanceTimeTo(14, TimeUnit.SECONDS)
+        assertEquals(5, runs)
+    }
+
+    @Test
+    fun poll_changedResults_keepsMinimumInterval() {
+        pollingScheduler.setInForeground(true)
+        val task = createTask(1, 4)
+        pollingScheduler.poll(task, Single.fromCallable { ++runs }).test()
+
+        testScheduler.advanceTimeTo(5, TimeUnit.SECONDS)
+        assertEquals(6, runs)
+    }
+
+    @Test
+    fun poll_inBackground_usesMaximumInterval() {
+        val task = createTask(1, 10)
+        pollingScheduler.poll(task, Single.fromCallable { ++runs }).test()
+
+        testScheduler.advanceTimeTo(20, TimeUnit.SECONDS)
+        assertEquals(3, runs)
+    }
+
+    @Test
+    fun poll_pausedInBackground_waitsForForeground() {
+        val task = createTask(1, 10, true)
+        pollingScheduler.poll(task, Single.fromCallable { ++runs }).test()
+
+        testScheduler.advanceTimeTo(30, TimeUnit.SECONDS)
+        assertEquals(0, runs)
+
+        pollingScheduler.setInForeground(true)
+        testScheduler.triggerActions()
+        assertEquals(1, runs)
+
+        pollingScheduler.setInForeground(false)
+        testScheduler.advanceTimeBy(30, TimeUnit.SECONDS)
+        assertEquals(1, runs)
+    }
+
+    @Test
+    fun setInForeground_overdueTask_runsImmediately() {
+        val task = createTask(1, 10)
+        pollingScheduler.poll(task, Single.fromCallable { runs++; true }).test()
+
+        testScheduler.advanceTimeTo(5, TimeUnit.SECONDS)
+        assertEquals(1, runs)
+
+        pollingScheduler.setInForeground(true)
+        testScheduler.triggerActions()
+        assertEquals(2, runs)
+    }
+
+    @Test
+    fun poll_completable_backsOff() {
+        pollingScheduler.setInForeground(true)
+        val task = createTask(1, 2)
+        pollingScheduler.poll(task, Completable.fromAction { runs++ }).test()
+
+        // runs at 0s, 1s, 3s and 5s
+        testScheduler.advanceTimeTo(5, TimeUnit.SECONDS)
+        assertEquals(4, runs)
+    }
+
+    @Test
+    fun alignTimestamp_longInterval_alignsToFullSeconds() {
+        assertEquals(2000L, PollingScheduler.alignTimestamp(1500, 1000))
+        assertEquals(2000L, PollingScheduler.alignTimestamp(2000, 1000))
+    }
+
+    @Test
+    fun alignTimestamp_shortInterval_keepsTimestamp() {
+        assertEquals(1500L, PollingScheduler.alignTimestamp(1500, 500))
+    }
+
+    private fun createTask(minimumSeconds: Long, maximumSeconds: Long, pausedInBackground: Boolean = false): PollingTask {
+        return PollingTask.Builder("test")
+            .setIntervals(minimumSeconds, maximumSeconds, TimeUnit.SECONDS)
+            .setPausedInBackground(pausedInBackground)
+            .build()
+    }
+
+}
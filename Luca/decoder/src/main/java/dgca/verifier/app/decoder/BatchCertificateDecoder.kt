@@ -0,0 +1,82 @@
+package dgca.verifier.app.decoder
+
+import dgca.verifier.app.decoder.cose.VerificationCryptoService
+import dgca.verifier.app.decoder.model.VerificationResult
+import dgca.verifier.app.decoder.services.SignerCertificateStore
+import dgca.verifier.app.decoder.services.X509
+import io.reactivex.rxjava3.core.Flowable
+import io.reactivex.rxjava3.core.Scheduler
+import io.reactivex.rxjava3.schedulers.Schedulers
+
+/**
+ * Decodes and verifies multiple certificates in parallel, e.g. when re-importing or migrating
+ * stored documents.
+ *
+ * Work is distributed on the [scheduler], with at most [parallelism] payloads being processed at the
+ * same time. Failures are isolated per payload and results are returned in input order.
+ */
+class BatchCertificateDecoder @JvmOverloads constructor(
+    private val decoder: CertificateDecoder,
+    private val parallelism: Int = DEFAULT_PARALLELISM,
+    private val scheduler: Scheduler = Schedulers.computation()
+) {
+
+    fun decodeCertificates(qrCodeTexts: List<String>): List<CertificateDecodingResult> {
+        return mapInParallel(qrCodeTexts, decoder::decodeCertificate) { _, error ->
+            CertificateDecodingResult.Error(CertificateDecodingError.CertificateConversionError(error))
+        }
+    }
+
+    /**
+     * Decodes the certificates and verifies their signatures using the signer certificates from the
+     * [signerCertificateStore].
+     */
+    @JvmOverloads
+    fun decodeAndVerifyCertificates(
+        qrCodeTexts: List<String>,
+        signerCertificateStore: SignerCertificateStore,
+        cryptoService: VerificationCryptoService = VerificationCryptoService(X509())
+    ): List<VerifiedDecodingResult> {
+        return mapInParallel(qrCodeTexts, { qrCodeText ->
+            val result = decoder.decodeCertificate(qrCodeText)
+            val isSignatureValid = if (result is CertificateDecodingResult.Success) {
+                val verificationResult = VerificationResult()
+                val certificateType = result.greenCertificate.getType()
+                cryptoService.validate(result.decodedCertificate.cose, signerCertificateStore, verificationResult, certificateType)
+                verificationResult.coseVerified
+            } else {
+                false
+            }
+            VerifiedDecodingResult(result, isSignatureValid)
+        }) { _, error ->
+            VerifiedDecodingResult(CertificateDecodingResult.Error(CertificateDecodingError.CertificateConversionError(error)), false)
+        }
+    }
+
+    /**
+     * Applies the [operation] to all [inputs] in parallel. If the operation throws, the result for
+     * that input is provided by [onError] instead.
+     */
+    private fun <T : Any> mapInParallel(inputs: List<String>, operation: (String) -> T, onError: (String, Throwable) -> T): List<T> {
+        return Flowable.fromIterable(inputs)
+            .concatMapEager({ input ->
+                Flowable.fromCallable { operation(input) }
+                    .onErrorReturn { onError(input, it) }
+                    .subscribeOn(scheduler)
+            }, parallelism, 1)
+            .toList()
+            .blockingGet()
+    }
+
+    /**
+     * @param isSignatureValid if the signature could be verified with a suitable signer certificate
+     */
+    class VerifiedDecodingResult(
+        val result: CertificateDecodingResult,
+        val isSignatureValid: Boolean
+    )
+
+    companion object {
+        val DEFAULT_PARALLELISM = maxOf(1, Runtime.getRuntime().availableProcessors())
+    }
+}
@@ -22,6 +22,8 @@
 
 package dgca.verifier.app.decoder
 
+import dgca.verifier.app.decoder.model.CoseData
+import dgca.verifier.app.decoder.model.DecodedCertificate
 import dgca.verifier.app.decoder.model.GreenCertificate
 
 /**
@@ -41,8 +43,23 @@ sealed class CertificateDecodingError(val error: Throwable? = null) {
  * specific descriptive error {@link Error}.
  */
 sealed class CertificateDecodingResult {
-    class Success(val greenCertificate: GreenCertificate) : CertificateDecodingResult()
-    data class Error(val error: CertificateDecodingError) : CertificateDecodingResult()
+
+    /**
+     * The decoded COSE payload, if decoding got that far. Also available for errors that occurred
+     * after the COSE stage, e.g. to validate the schema of certificates that could not be mapped.
+     */
+    abstract val coseData: CoseData?
+
+    class Success(val decodedCertificate: DecodedCertificate) : CertificateDecodingResult() {
+
+        val greenCertificate: GreenCertificate
+            get() = decodedCertificate.greenCertificate
+
+        override val coseData: CoseData
+            get() = decodedCertificate.coseData
+    }
+
+    data class Error(val error: CertificateDecodingError, override val coseData: CoseData? = null) : CertificateDecodingResult()
 }
 
 /**
@@ -54,4 +71,13 @@ interface CertificateDecoder {
      * Returns success result with {@link CertificateModel} or descriptive error model.
      */
     fun decodeCertificate(qrCodeText: String): CertificateDecodingResult
+
+    /**
+     * Decodes all payloads in parallel, returning the results in input order.
+     *
+     * @see BatchCertificateDecoder
+     */
+    fun decodeCertificates(qrCodeTexts: List<String>): List<CertificateDecodingResult> {
+        return BatchCertificateDecoder(this).decodeCertificates(qrCodeTexts)
+    }
 }
\ No newline at end of file
@@ -22,17 +22,16 @@
 
 package dgca.verifier.app.decoder
 
-import COSE.HeaderKeys
 import android.text.TextUtils
-import com.upokecenter.cbor.CBORObject
 import dgca.verifier.app.decoder.base45.Base45Decoder
 import dgca.verifier.app.decoder.cbor.DefaultGreenCertificateMapper
 import dgca.verifier.app.decoder.cbor.GreenCertificateMapper
-import dgca.verifier.app.decoder.cwt.CwtHeaderKeys
+import dgca.verifier.app.decoder.compression.ZlibDecompressor
+import dgca.verifier.app.decoder.cose.CoseSign1
 import dgca.verifier.app.decoder.model.CoseData
+import dgca.verifier.app.decoder.model.DecodedCertificate
 import dgca.verifier.app.decoder.model.GreenCertificate
 import java.time.Instant
-import java.util.zip.InflaterInputStream
 
 @ExperimentalUnsignedTypes
 class DefaultCertificateDecoder(private val base45Decoder: Base45Decoder, private val greenCertificateMapper: GreenCertificateMapper = DefaultGreenCertificateMapper()) :
@@ -62,60 +61,40 @@ class DefaultCertificateDecoder(private val base45Decoder: Base45Decoder, privat
         }
 
         val greenCertificate: GreenCertificate = try {
-            coseData.cbor.decodeGreenCertificate()
+            coseData.decodeGreenCertificate()
         } catch (error: Throwable) {
-            return CertificateDecodingResult.Error(CertificateDecodingError.GreenCertificateDecodingError(error))
+            return CertificateDecodingResult.Error(CertificateDecodingError.GreenCertificateDecodingError(error), coseData)
         }
 
-
-        return CertificateDecodingResult.Success(greenCertificate)
+        return CertificateDecodingResult.Success(DecodedCertificate(decompressed, coseData, greenCertificate))
     }
 
-    private fun ByteArray.decodeGreenCertificate(): GreenCertificate {
-        val map = CBORObject.DecodeFromBytes(this)
-
-        val issuingCountry = map[CwtHeaderKeys.ISSUING_COUNTRY.asCBOR()].AsString()
+    private fun CoseData.decodeGreenCertificate(): GreenCertificate {
+        val issuingCountry = cwt.issuingCountry
         if (TextUtils.isEmpty(issuingCountry)) throw IllegalArgumentException("Issuing country not correct: $issuingCountry")
 
-        val issuedAt = Instant.ofEpochSecond(map[CwtHeaderKeys.ISSUED_AT.asCBOR()].AsInt64())
+        val issuedAt = cwt.issuedAt
         if (issuedAt.isAfter(Instant.now())) throw IllegalArgumentException("IssuedAt not correct: $issuedAt")
 
-        val expirationTime = Instant.ofEpochSecond(map[CwtHeaderKeys.EXPIRATION.asCBOR()].AsInt64())
+        val expirationTime = cwt.expirationTime
         if (expirationTime.isBefore(Instant.now())) throw IllegalArgumentException("Expiration not correct: $expirationTime")
 
-        val hcert = map[CwtHeaderKeys.HCERT.asCBOR()]
-        val cborObject = hcert[CBORObject.FromObject(1)]
-
         return greenCertificateMapper
-                .readValue(cborObject)
+                .readValue(cwt.hcert)
     }
 }
 
 
 fun ByteArray.decompressBase45DecodedData(): ByteArray {
-    // ZLIB magic headers
-    return if (this.size >= 2 && this[0] == 0x78.toByte() && (
-                this[1] == 0x01.toByte() || // Level 1
-                        this[1] == 0x5E.toByte() || // Level 2 - 5
-                        this[1] == 0x9C.toByte() || // Level 6
-                        this[1] == 0xDA.toByte()
-                )
-    ) {
-        InflaterInputStream(this.inputStream()).readBytes()
+    return if (ZlibDecompressor.isZlibCompressed(this)) {
+        ZlibDecompressor.inflate(this)
     } else this
 }
 
 fun ByteArray.decodeCose(): CoseData {
-    val messageObject = CBORObject.DecodeFromBytes(this)
-    val content = messageObject[2].GetByteString()
-    val rgbProtected = messageObject[0].GetByteString()
-    val rgbUnprotected = messageObject[1]
-    val key = HeaderKeys.KID.AsCBOR()
-
-    if (!CBORObject.DecodeFromBytes(rgbProtected).keys.contains(key)) {
-        val objunprotected = rgbUnprotected.get(key).GetByteString()
-        return CoseData(content, objunprotected)
+    val coseData = CoseSign1.decode(this).toCoseData()
+    if (coseData.kid == null) {
+        throw IllegalArgumentException("COSE message does not contain a kid")
     }
-    val objProtected = CBORObject.DecodeFromBytes(rgbProtected).get(key).GetByteString()
-    return CoseData(content, objProtected)
-}
\ No newline at end of file
+    return coseData
+}
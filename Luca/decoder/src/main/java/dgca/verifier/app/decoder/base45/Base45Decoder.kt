@@ -22,45 +22,62 @@
 
 package dgca.verifier.app.decoder.base45
 
-import java.math.BigInteger
-
 /**
  *  The Base45 Data Decoding
  *
  *  https://datatracker.ietf.org/doc/draft-faltstrom-base45/?include_text=1
+ *
+ *  Characters are looked up in a 256 entry table and each group of three characters is decoded
+ *  using integer arithmetic directly into a pre-sized [ByteArray]. Input that is not valid Base45,
+ *  i.e. containing unknown characters, having a length of 3n + 1 or encoding values that do not
+ *  fit into the decoded bytes, is rejected with an [IllegalArgumentException].
  */
-@ExperimentalUnsignedTypes
 class Base45Decoder {
 
-    private val alphabet = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ $%*+-./:"
-    private val int45 = BigInteger.valueOf(45)
-
-    fun decode(input: String) =
-        input.chunked(3).map(this::decodeThreeCharsPadded)
-            .flatten().map { it.toByte() }.toByteArray()
-
-    private fun decodeThreeCharsPadded(input: String): List<UByte> {
-        val result = decodeThreeChars(input).toMutableList()
-        when (input.length) {
-            3 -> while (result.size < 2) result += 0U
+    fun decode(input: String): ByteArray {
+        val remainder = input.length % 3
+        if (remainder == 1) {
+            throw IllegalArgumentException("Invalid Base45 length: ${input.length}")
+        }
+        val output = ByteArray(input.length / 3 * 2 + remainder / 2)
+        var inputIndex = 0
+        var outputIndex = 0
+        while (inputIndex + 3 <= input.length) {
+            val value = valueOf(input[inputIndex]) +
+                    valueOf(input[inputIndex + 1]) * 45 +
+                    valueOf(input[inputIndex + 2]) * 45 * 45
+            if (value > 0xFFFF) {
+                throw IllegalArgumentException("Invalid Base45 triplet at index $inputIndex")
+            }
+            output[outputIndex++] = (value shr 8).toByte()
+            output[outputIndex++] = value.toByte()
+            inputIndex += 3
+        }
+        if (remainder == 2) {
+            val value = valueOf(input[inputIndex]) + valueOf(input[inputIndex + 1]) * 45
+            if (value > 0xFF) {
+                throw IllegalArgumentException("Invalid Base45 pair at index $inputIndex")
+            }
+            output[outputIndex] = value.toByte()
         }
-        return result.reversed()
+        return output
     }
 
-    private fun decodeThreeChars(list: String) =
-        generateSequenceByDivRem(fromThreeCharValue(list))
-            .map { it.toUByte() }.toList()
-
-    private fun fromThreeCharValue(list: String): Long {
-        return list.foldIndexed(0L, { index, acc: Long, element ->
-            if (!alphabet.contains(element)) throw IllegalArgumentException()
-            pow(int45, index) * alphabet.indexOf(element) + acc
-        })
+    private fun valueOf(char: Char): Int {
+        val code = char.code
+        val value = if (code < DECODING_TABLE.size) DECODING_TABLE[code] else -1
+        if (value < 0) {
+            throw IllegalArgumentException("Invalid Base45 character: $char")
+        }
+        return value
     }
 
-    private fun generateSequenceByDivRem(seed: Long) =
-        generateSequence(seed) { if (it >= 256) it.div(256) else null }
-            .map { it.rem(256).toInt() }
+    companion object {
+
+        const val ALPHABET = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ $%*+-./:"
 
-    private fun pow(base: BigInteger, exp: Int) = base.pow(exp).toLong()
+        private val DECODING_TABLE = IntArray(256) { -1 }.also { table ->
+            ALPHABET.forEachIndexed { index, char -> table[char.code] = index }
+        }
+    }
 }
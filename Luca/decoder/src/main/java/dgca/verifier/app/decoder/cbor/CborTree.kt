@@ -0,0 +1,18 @@
+package dgca.verifier.app.decoder.cbor
+
+import com.fasterxml.jackson.databind.JsonNode
+import com.fasterxml.jackson.databind.node.MissingNode
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper
+
+/**
+ * Mapper used to read COSE messages, headers and CWT payloads into Jackson trees, so that the
+ * decoder makes a single pass over the CBOR bytes with a single CBOR library.
+ */
+internal val cborTreeMapper = CBORMapper()
+
+internal fun readCborTree(cbor: ByteArray): JsonNode {
+    if (cbor.isEmpty()) {
+        return MissingNode.getInstance()
+    }
+    return cborTreeMapper.readTree(cbor) ?: MissingNode.getInstance()
+}
@@ -22,8 +22,7 @@
 
 package dgca.verifier.app.decoder.cbor
 
-import com.upokecenter.cbor.CBORObject
-import dgca.verifier.app.decoder.cwt.CwtHeaderKeys
+import dgca.verifier.app.decoder.cwt.CwtPayload
 import dgca.verifier.app.decoder.model.GreenCertificate
 import dgca.verifier.app.decoder.model.VerificationResult
 import java.time.Instant
@@ -45,23 +44,19 @@ class DefaultCborService(private val greenCertificateMapper: GreenCertificateMap
     ): GreenCertificateData? {
         verificationResult.cborDecoded = false
         return try {
-            val map = CBORObject.DecodeFromBytes(input)
+            val cwt = CwtPayload.read(input)
 
-            val issuingCountry: String? = map[CwtHeaderKeys.ISSUING_COUNTRY.asCBOR()]?.AsString()
+            val issuingCountry: String? = cwt.issuingCountry
 
-            val issuedAt = Instant.ofEpochSecond(map[CwtHeaderKeys.ISSUED_AT.asCBOR()].AsInt64())
+            val issuedAt = cwt.issuedAt
             verificationResult.isIssuedTimeCorrect = issuedAt.isBefore(Instant.now())
 
-            val expirationTime = Instant.ofEpochSecond(map[CwtHeaderKeys.EXPIRATION.asCBOR()].AsInt64())
+            val expirationTime = cwt.expirationTime
             verificationResult.isNotExpired = expirationTime.isAfter(Instant.now())
 
-            val hcert = map[CwtHeaderKeys.HCERT.asCBOR()]
-
-            val cborObject = hcert[CBORObject.FromObject(1)]
-
-            val greenCertificate: GreenCertificate = greenCertificateMapper.readValue(cborObject)
+            val greenCertificate: GreenCertificate = greenCertificateMapper.readValue(cwt.hcert)
                     .also { verificationResult.cborDecoded = true }
-            GreenCertificateData(issuingCountry, cborObject.ToJSONString(), greenCertificate, issuedAt.atZone(ZoneOffset.UTC), expirationTime.atZone(ZoneOffset.UTC))
+            GreenCertificateData(issuingCountry, cwt.hcertJson, greenCertificate, issuedAt.atZone(ZoneOffset.UTC), expirationTime.atZone(ZoneOffset.UTC))
         } catch (e: Throwable) {
             null
         }
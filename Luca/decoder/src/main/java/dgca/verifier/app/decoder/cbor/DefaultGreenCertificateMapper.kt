@@ -24,6 +24,7 @@ package dgca.verifier.app.decoder.cbor
 
 import com.fasterxml.jackson.core.JsonParser
 import com.fasterxml.jackson.databind.DeserializationContext
+import com.fasterxml.jackson.databind.JsonNode
 import com.fasterxml.jackson.databind.JsonDeserializer
 import com.fasterxml.jackson.databind.module.SimpleModule
 import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper
@@ -46,4 +47,8 @@ class DefaultGreenCertificateMapper : GreenCertificateMapper, CBORMapper() {
         val bytes = cborObject.EncodeToBytes()
         return readValue(bytes, GreenCertificate::class.java)
     }
+
+    override fun readValue(hcert: JsonNode): GreenCertificate {
+        return treeToValue(hcert, GreenCertificate::class.java)
+    }
 }
\ No newline at end of file
@@ -22,9 +22,16 @@
 
 package dgca.verifier.app.decoder.cbor
 
+import com.fasterxml.jackson.databind.JsonNode
 import com.upokecenter.cbor.CBORObject
 import dgca.verifier.app.decoder.model.GreenCertificate
 
 interface GreenCertificateMapper {
+
     fun readValue(cborObject: CBORObject): GreenCertificate
+
+    /**
+     * Maps the health certificate claim, as read by [HcertTreeReader], without encoding it again.
+     */
+    fun readValue(hcert: JsonNode): GreenCertificate
 }
\ No newline at end of file
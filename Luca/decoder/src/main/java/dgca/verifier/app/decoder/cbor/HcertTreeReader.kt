@@ -0,0 +1,15 @@
+package dgca.verifier.app.decoder.cbor
+
+import com.fasterxml.jackson.databind.JsonNode
+import dgca.verifier.app.decoder.cwt.CwtPayload
+
+/**
+ * Reads the health certificate claim of a CWT payload into a Jackson tree directly from the CBOR
+ * bytes, without converting it to a JSON string and parsing that again.
+ */
+object HcertTreeReader {
+
+    fun readHcert(cbor: ByteArray): JsonNode {
+        return CwtPayload.read(cbor).hcert
+    }
+}
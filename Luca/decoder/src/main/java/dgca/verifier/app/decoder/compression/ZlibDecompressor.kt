@@ -0,0 +1,91 @@
+package dgca.verifier.app.decoder.compression
+
+import java.util.concurrent.ArrayBlockingQueue
+import java.util.zip.DataFormatException
+import java.util.zip.Inflater
+
+/**
+ * Inflates ZLIB compressed data using a small pool of reusable [Inflater]s.
+ *
+ * Inflaters hold native memory, which is otherwise only released on finalization. Pooled inflaters
+ * are reset after each use and inflaters that don't fit into the pool are ended right away.
+ */
+object ZlibDecompressor {
+
+    /**
+     * Limit the byte array size after decompression to 5 MB.
+     *
+     * Reasoning:
+     * 1. QR codes can hold at most < 4500 alphanumeric chars (https://www.qrcode.com/en/about/version.html)
+     *    Sidenote: The EHN spec recommends a compression level of Q, which limits it to at most < 2500 alphanumeric chars
+     * 	  (https://ec.europa.eu/health/sites/default/files/ehealth/docs/digital-green-certificates_v1_en.pdf#page=7)
+     *    This is a lower bound (since any DCC should be encodable in both Aztec and QR codes).
+     * 2. As an additional upper bound: base45 encodes 2 bytes into 3 chars (https://datatracker.ietf.org/doc/html/draft-faltstrom-base45-04#section-4)
+     * 3.  zlib's maximum compression factor is roughly 1000:1 (http://www.zlib.net/zlib_tech.html)
+     */
+    const val MAX_DECOMPRESSED_SIZE = 5 * 1024 * 1024
+
+    /**
+     * Decompressed EU DCCs are usually below 1 KB, so most certificates fit into the initial buffer.
+     */
+    private const val INITIAL_BUFFER_SIZE = 2 * 1024
+
+    private const val POOL_SIZE = 4
+
+    private val inflaterPool = ArrayBlockingQueue<Inflater>(POOL_SIZE)
+
+    /**
+     * Checks for the ZLIB magic headers.
+     */
+    fun isZlibCompressed(input: ByteArray): Boolean {
+        return input.size >= 2 && input[0] == 0x78.toByte() &&
+                (input[1] == 0x01.toByte() || // Level 1
+                        input[1] == 0x5E.toByte() || // Level 2 - 5
+                        input[1] == 0x9C.toByte() || // Level 6
+                        input[1] == 0xDA.toByte()) // Level 7 - 9
+    }
+
+    /**
+     * Inflates the [input], failing with a [DecompressedSizeExceededException] if the inflated data
+     * would exceed [maximumSize] bytes.
+     */
+    @Throws(DataFormatException::class, DecompressedSizeExceededException::class)
+    fun inflate(input: ByteArray, maximumSize: Int = MAX_DECOMPRESSED_SIZE): ByteArray {
+        val inflater = inflaterPool.poll() ?: Inflater()
+        try {
+            inflater.setInput(input)
+            var output = ByteArray(minOf(INITIAL_BUFFER_SIZE, maximumSize + 1))
+            var length = 0
+            while (!inflater.finished()) {
+                if (length == output.size) {
+                    if (output.size > maximumSize) {
+                        throw DecompressedSizeExceededException(maximumSize)
+                    }
+                    output = output.copyOf(minOf(output.size * 2, maximumSize + 1))
+                }
+                val inflated = inflater.inflate(output, length, output.size - length)
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw DataFormatException("Unexpected end of ZLIB input")
+                }
+                length += inflated
+            }
+            if (length > maximumSize) {
+                throw DecompressedSizeExceededException(maximumSize)
+            }
+            return output.copyOf(length)
+        } finally {
+            release(inflater)
+        }
+    }
+
+    private fun release(inflater: Inflater) {
+        inflater.reset()
+        if (!inflaterPool.offer(inflater)) {
+            inflater.end()
+        }
+    }
+
+}
+
+class DecompressedSizeExceededException(maximumSize: Int) :
+    IllegalStateException("Decompressed data exceeds $maximumSize bytes")
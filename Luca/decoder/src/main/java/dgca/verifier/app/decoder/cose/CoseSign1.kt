@@ -0,0 +1,116 @@
+package dgca.verifier.app.decoder.cose
+
+import com.fasterxml.jackson.databind.JsonNode
+import com.fasterxml.jackson.databind.node.MissingNode
+import dgca.verifier.app.decoder.cbor.readCborTree
+import dgca.verifier.app.decoder.model.CoseData
+import java.io.ByteArrayOutputStream
+
+/**
+ * A COSE_Sign1 message (RFC8152), read in a single pass. The protected header is decoded at most
+ * once, when the key identifier or the algorithm is accessed.
+ */
+class CoseSign1(
+    val protectedHeader: ByteArray,
+    private val unprotectedHeader: JsonNode,
+    val content: ByteArray,
+    val signature: ByteArray?
+) {
+
+    private val protectedHeaderMap: JsonNode by lazy {
+        try {
+            readCborTree(protectedHeader)
+        } catch (e: Exception) {
+            MissingNode.getInstance()
+        }
+    }
+
+    val kid: ByteArray?
+        get() = getHeader(HEADER_KID)?.takeIf { it.isBinary }?.binaryValue()
+
+    val algorithm: Int?
+        get() = getHeader(HEADER_ALGORITHM)?.takeIf { it.isIntegralNumber }?.asInt()
+
+    fun toCoseData(): CoseData {
+        return CoseData(content, kid)
+    }
+
+    /**
+     * Encodes the Sig_structure for a COSE_Sign1 message without external data, which is the input
+     * of the signature algorithm.
+     */
+    fun getDataToBeVerified(): ByteArray {
+        return ByteArrayOutputStream(SIGNATURE_CONTEXT.size + protectedHeader.size + content.size + 16).apply {
+            writeTypeAndLength(MAJOR_TYPE_ARRAY, 4)
+            writeTypeAndLength(MAJOR_TYPE_TEXT, SIGNATURE_CONTEXT.size)
+            write(SIGNATURE_CONTEXT)
+            writeTypeAndLength(MAJOR_TYPE_BYTES, protectedHeader.size)
+            write(protectedHeader)
+            writeTypeAndLength(MAJOR_TYPE_BYTES, 0)
+            writeTypeAndLength(MAJOR_TYPE_BYTES, content.size)
+            write(content)
+        }.toByteArray()
+    }
+
+    /**
+     * Headers in the protected bucket take precedence over the ones in the unprotected bucket.
+     */
+    private fun getHeader(key: String): JsonNode? {
+        return protectedHeaderMap.get(key) ?: unprotectedHeader.get(key)
+    }
+
+    companion object {
+
+        private const val HEADER_ALGORITHM = "1"
+        private const val HEADER_KID = "4"
+
+        private const val MAJOR_TYPE_BYTES = 0x40
+        private const val MAJOR_TYPE_TEXT = 0x60
+        private const val MAJOR_TYPE_ARRAY = 0x80
+
+        private val SIGNATURE_CONTEXT = "Signature1".toByteArray(Charsets.US_ASCII)
+
+        @JvmStatic
+        fun decode(cose: ByteArray): CoseSign1 {
+            val message = readCborTree(cose)
+            if (!message.isArray || message.size() < 3) {
+                throw IllegalArgumentException("Not a COSE_Sign1 message")
+            }
+            return CoseSign1(
+                message[0].requireBinary(),
+                message[1],
+                message[2].requireBinary(),
+                message[3]?.takeIf { it.isBinary }?.binaryValue()
+            )
+        }
+
+        private fun JsonNode.requireBinary(): ByteArray {
+            if (!isBinary) {
+                throw IllegalArgumentException("Expected a byte string but got $nodeType")
+            }
+            return binaryValue()
+        }
+
+        private fun ByteArrayOutputStream.writeTypeAndLength(majorType: Int, length: Int) {
+            when {
+                length < 24 -> write(majorType or length)
+                length < 0x100 -> {
+                    write(majorType or 24)
+                    write(length)
+                }
+                length < 0x10000 -> {
+                    write(majorType or 25)
+                    write(length shr 8)
+                    write(length and 0xFF)
+                }
+                else -> {
+                    write(majorType or 26)
+                    write(length ushr 24)
+                    write((length shr 16) and 0xFF)
+                    write((length shr 8) and 0xFF)
+                    write(length and 0xFF)
+                }
+            }
+        }
+    }
+}
@@ -22,8 +22,6 @@
 
 package dgca.verifier.app.decoder.cose
 
-import COSE.HeaderKeys
-import com.upokecenter.cbor.CBORObject
 import dgca.verifier.app.decoder.model.CoseData
 import dgca.verifier.app.decoder.model.VerificationResult
 
@@ -34,30 +32,9 @@ class DefaultCoseService : CoseService {
 
     override fun decode(input: ByteArray, verificationResult: VerificationResult): CoseData? {
         return try {
-            val messageObject = CBORObject.DecodeFromBytes(input)
-            val content = messageObject[2].GetByteString()
-            val protectedHeader = messageObject[0].GetByteString()
-            val unprotectedHeader = messageObject[1]
-            val kid = getKid(protectedHeader, unprotectedHeader)
-            val kidByteString = kid?.GetByteString()
-            CoseData(content, kidByteString)
-
+            CoseSign1.decode(input).toCoseData()
         } catch (e: Throwable) {
             null
         }
     }
-
-    private fun getKid(protectedHeader: ByteArray, unprotectedHeader: CBORObject): CBORObject? {
-        val key = HeaderKeys.KID.AsCBOR()
-        return if (protectedHeader.isNotEmpty()) {
-            try {
-                val kid = CBORObject.DecodeFromBytes(protectedHeader).get(key)
-                kid ?: unprotectedHeader.get(key)
-            } catch (ex: Exception) {
-                unprotectedHeader.get(key)
-            }
-        } else {
-            unprotectedHeader.get(key)
-        }
-    }
 }
\ No newline at end of file
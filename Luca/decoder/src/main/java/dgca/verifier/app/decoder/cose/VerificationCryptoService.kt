@@ -22,17 +22,18 @@
 
 package dgca.verifier.app.decoder.cose
 
-import com.upokecenter.cbor.CBORObject
 import dgca.verifier.app.decoder.ECDSA_256
 import dgca.verifier.app.decoder.RSA_PSS_256
 import dgca.verifier.app.decoder.convertToDer
 import dgca.verifier.app.decoder.model.CertificateType
 import dgca.verifier.app.decoder.model.VerificationResult
+import dgca.verifier.app.decoder.services.SignerCertificateStore
 import dgca.verifier.app.decoder.services.X509
 import dgca.verifier.app.decoder.verify
 import org.bouncycastle.asn1.x509.SubjectPublicKeyInfo
 import org.bouncycastle.jce.provider.BouncyCastleProvider
 import java.security.KeyFactory
+import java.security.PublicKey
 import java.security.Security
 import java.security.Signature
 import java.security.cert.Certificate
@@ -67,69 +68,74 @@ class VerificationCryptoService(private val x509: X509) : CryptoService {
         certificate: Certificate,
         verificationResult: VerificationResult
     ) {
-        val verificationKey = certificate.publicKey
         verificationResult.coseVerified = try {
-            val messageObject = CBORObject.DecodeFromBytes(cose)
-            var coseSignature = messageObject.get(3).GetByteString()
-            val protectedHeader = messageObject[0].GetByteString()
-            val unprotectedHeader = messageObject[1]
-            val content = messageObject[2].GetByteString()
-            val dataToBeVerified = getValidationData(protectedHeader, content)
-
-            // get algorithm from header and verify signature
-            when (getAlgoFromHeader(protectedHeader, unprotectedHeader)) {
-                ECDSA_256 -> {
-                    coseSignature = coseSignature.convertToDer()
-                    Signature.getInstance(Algo.ALGO_ECDSA256.value).verify(
-                        verificationKey,
-                        dataToBeVerified,
-                        coseSignature
-                    )
-                }
-                RSA_PSS_256 -> {
-                    val bytes =
-                        SubjectPublicKeyInfo.getInstance(certificate.publicKey.encoded).publicKeyData.bytes
-                    val rsaPublicKey = org.bouncycastle.asn1.pkcs.RSAPublicKey.getInstance(bytes)
-                    val spec = RSAPublicKeySpec(rsaPublicKey.modulus, rsaPublicKey.publicExponent)
-                    val key = KeyFactory.getInstance("RSA").generatePublic(spec)
+            verify(CoseSign1.decode(cose), certificate.publicKey) { createRsaPublicKey(certificate.publicKey) }
+        } catch (ex: Exception) {
+            false
+        }
+    }
 
-                    Signature.getInstance(Algo.ALGO_RSA256_PSS.value).verify(
-                        key,
-                        dataToBeVerified,
-                        coseSignature
-                    )
+    /**
+     * Looks up the signer certificates for the kid of the COSE message and verifies the signature
+     * with their cached public keys, without requiring a network round-trip.
+     */
+    fun validate(
+        cose: ByteArray,
+        signerCertificateStore: SignerCertificateStore,
+        verificationResult: VerificationResult,
+        certificateType: CertificateType = CertificateType.UNKNOWN
+    ) {
+        verificationResult.coseVerified = try {
+            val coseSign1 = CoseSign1.decode(cose)
+            val kid = coseSign1.kid ?: throw IllegalArgumentException("COSE message does not contain a kid")
+            signerCertificateStore.getCertificates(kid).any { signerCertificate ->
+                signerCertificate.isSuitable(certificateType) && verify(coseSign1, signerCertificate.publicKey) {
+                    signerCertificate.rsaPublicKey ?: throw IllegalArgumentException("Not an RSA key")
                 }
-                else -> false
             }
         } catch (ex: Exception) {
             false
         }
     }
 
-    private fun getAlgoFromHeader(protectedHeader: ByteArray, unprotectedHeader: CBORObject): Int {
-        return if (protectedHeader.isNotEmpty()) {
-            try {
-                val algo = CBORObject.DecodeFromBytes(protectedHeader).get(1)
-                algo?.AsInt32Value() ?: unprotectedHeader.get(1).AsInt32Value()
-            } catch (ex: Exception) {
-                unprotectedHeader.get(1).AsInt32Value()
+    private fun verify(coseSign1: CoseSign1, verificationKey: PublicKey, rsaPublicKey: () -> PublicKey): Boolean {
+        var coseSignature = coseSign1.signature
+            ?: throw IllegalArgumentException("COSE message does not contain a signature")
+        val dataToBeVerified = coseSign1.getDataToBeVerified()
+
+        // get algorithm from header and verify signature
+        return when (coseSign1.algorithm) {
+            ECDSA_256 -> {
+                coseSignature = coseSignature.convertToDer()
+                Signature.getInstance(Algo.ALGO_ECDSA256.value).verify(
+                    verificationKey,
+                    dataToBeVerified,
+                    coseSignature
+                )
+            }
+            RSA_PSS_256 -> {
+                Signature.getInstance(Algo.ALGO_RSA256_PSS.value).verify(
+                    rsaPublicKey(),
+                    dataToBeVerified,
+                    coseSignature
+                )
             }
-        } else {
-            unprotectedHeader.get(1).AsInt32Value()
+            else -> false
         }
     }
 
-    private fun getValidationData(protected: ByteArray, content: ByteArray): ByteArray {
-        return CBORObject.NewArray().apply {
-            Add("Signature1")
-            Add(protected)
-            Add(ByteArray(0))
-            Add(content)
-        }.EncodeToBytes()
-    }
-
     enum class Algo(val value: String) {
         ALGO_ECDSA256("SHA256withECDSA"),
         ALGO_RSA256_PSS("SHA256withRSA/PSS")
     }
+
+    companion object {
+
+        fun createRsaPublicKey(publicKey: PublicKey): PublicKey {
+            val bytes = SubjectPublicKeyInfo.getInstance(publicKey.encoded).publicKeyData.bytes
+            val rsaPublicKey = org.bouncycastle.asn1.pkcs.RSAPublicKey.getInstance(bytes)
+            val spec = RSAPublicKeySpec(rsaPublicKey.modulus, rsaPublicKey.publicExponent)
+            return KeyFactory.getInstance("RSA").generatePublic(spec)
+        }
+    }
 }
\ No newline at end of file
@@ -32,10 +32,19 @@ sealed class CwtHeaderKeys(value: Int) {
 
     private val value: CBORObject = CBORObject.FromObject(value)
 
+    private val fieldName: String = value.toString()
+
     fun asCBOR(): CBORObject {
         return value
     }
 
+    /**
+     * Name of the key when the CWT is read as a Jackson tree, which represents integer keys as text.
+     */
+    fun asFieldName(): String {
+        return fieldName
+    }
+
     object ISSUING_COUNTRY : CwtHeaderKeys(1)
     object EXPIRATION : CwtHeaderKeys(4)
     object ISSUED_AT : CwtHeaderKeys(6)
@@ -0,0 +1,48 @@
+package dgca.verifier.app.decoder.cwt
+
+import com.fasterxml.jackson.databind.JsonNode
+import dgca.verifier.app.decoder.cbor.readCborTree
+import java.time.Instant
+
+/**
+ * Claims of a CWT payload, read once into a Jackson tree. The health certificate and its JSON
+ * representation are only extracted when accessed.
+ */
+class CwtPayload(private val claims: JsonNode) {
+
+    val issuingCountry: String?
+        get() = claims.get(CwtHeaderKeys.ISSUING_COUNTRY.asFieldName())?.takeIf { it.isTextual }?.textValue()
+
+    val issuedAt: Instant
+        get() = Instant.ofEpochSecond(getNumericClaim(CwtHeaderKeys.ISSUED_AT))
+
+    val expirationTime: Instant
+        get() = Instant.ofEpochSecond(getNumericClaim(CwtHeaderKeys.EXPIRATION))
+
+    val hcert: JsonNode by lazy {
+        claims.path(CwtHeaderKeys.HCERT.asFieldName()).get(HCERT_VERSION_1)
+            ?: throw IllegalArgumentException("CWT does not contain a health certificate")
+    }
+
+    val hcertJson: String by lazy {
+        hcert.toString()
+    }
+
+    private fun getNumericClaim(key: CwtHeaderKeys): Long {
+        val claim = claims.get(key.asFieldName())
+        if (claim == null || !claim.isNumber) {
+            throw IllegalArgumentException("CWT does not contain a numeric claim ${key.asFieldName()}")
+        }
+        return claim.asLong()
+    }
+
+    companion object {
+
+        private const val HCERT_VERSION_1 = "1"
+
+        @JvmStatic
+        fun read(cbor: ByteArray): CwtPayload {
+            return CwtPayload(readCborTree(cbor))
+        }
+    }
+}
@@ -22,10 +22,18 @@
 
 package dgca.verifier.app.decoder.model
 
+import dgca.verifier.app.decoder.cwt.CwtPayload
+
 data class CoseData(
     val cbor: ByteArray,
     val kid: ByteArray? = null
 ) {
+
+    /**
+     * The CWT payload, read once on first access and shared by schema validation and mapping.
+     */
+    val cwt: CwtPayload by lazy { CwtPayload.read(cbor) }
+
     override fun equals(other: Any?): Boolean {
         if (this === other) return true
         if (javaClass != other?.javaClass) return false
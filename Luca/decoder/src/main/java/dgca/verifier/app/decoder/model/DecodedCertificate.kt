@@ -0,0 +1,22 @@
+package dgca.verifier.app.decoder.model
+
+/**
+ * Immutable intermediate result of decoding a QR code once, holding everything later stages like
+ * schema validation, mapping and signature verification need without decoding the payload again.
+ *
+ * @param cose the raw COSE message, after Base45 decoding and decompression
+ * @param coseData the CBOR payload and key identifier extracted from the COSE message
+ * @param greenCertificate the mapped health certificate
+ */
+class DecodedCertificate(
+    val cose: ByteArray,
+    val coseData: CoseData,
+    val greenCertificate: GreenCertificate
+) {
+
+    val cbor: ByteArray
+        get() = coseData.cbor
+
+    val kid: ByteArray?
+        get() = coseData.kid
+}
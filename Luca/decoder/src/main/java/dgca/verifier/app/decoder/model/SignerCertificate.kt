@@ -0,0 +1,37 @@
+package dgca.verifier.app.decoder.model
+
+import dgca.verifier.app.decoder.cose.VerificationCryptoService
+import dgca.verifier.app.decoder.services.X509
+import java.security.PublicKey
+import java.security.cert.X509Certificate
+
+/**
+ * Document signer certificate, identified by the COSE key identifier (kid) of the certificates it
+ * signed. The public key and the certificate types it may sign are only determined once.
+ */
+class SignerCertificate(
+    val kid: ByteArray,
+    val certificate: X509Certificate,
+    x509: X509
+) {
+
+    val publicKey: PublicKey = certificate.publicKey
+
+    /**
+     * RSA key in the representation required for RSASSA-PSS verification, only created for RSA keys.
+     */
+    val rsaPublicKey: PublicKey? by lazy {
+        if (publicKey.algorithm == "RSA") VerificationCryptoService.createRsaPublicKey(publicKey) else null
+    }
+
+    private val suitableCertificateTypes: Set<CertificateType> = CertificateType.values()
+        .filter { it != CertificateType.UNKNOWN && x509.isSuitable(certificate, it) }
+        .toSet()
+
+    /**
+     * Checks the precomputed extended key usage. [CertificateType.UNKNOWN] is not restricted.
+     */
+    fun isSuitable(certificateType: CertificateType): Boolean {
+        return certificateType == CertificateType.UNKNOWN || suitableCertificateTypes.contains(certificateType)
+    }
+}
@@ -22,19 +22,20 @@
 
 package dgca.verifier.app.decoder.schema
 
-import com.fasterxml.jackson.databind.JsonNode
 import com.fasterxml.jackson.databind.ObjectMapper
 import com.github.fge.jsonschema.core.report.ProcessingReport
 import com.github.fge.jsonschema.main.JsonSchema
 import com.github.fge.jsonschema.main.JsonSchemaFactory
-import com.upokecenter.cbor.CBORObject
 import dgca.verifier.app.decoder.JSON_SCHEMA_V1
-import dgca.verifier.app.decoder.cwt.CwtHeaderKeys
+import dgca.verifier.app.decoder.cbor.HcertTreeReader
 import dgca.verifier.app.decoder.model.VerificationResult
 
 /**
  * Verifies CBOR with predefined schema
  *
+ * The schema is compiled once per process and the CBOR payload is validated as a Jackson tree,
+ * without a round-trip through JSON text.
+ *
  * @see JSON_SCHEMA_V1
  */
 class DefaultSchemaValidator : SchemaValidator {
@@ -42,18 +43,7 @@ class DefaultSchemaValidator : SchemaValidator {
     override fun validate(cbor: ByteArray, verificationResult: VerificationResult): Boolean {
         var isValid = false
         try {
-            val map = CBORObject.DecodeFromBytes(cbor)
-            val hcert = map[CwtHeaderKeys.HCERT.asCBOR()]
-            val json = hcert[CBORObject.FromObject(1)].ToJSONString()
-
-            val mapper = ObjectMapper()
-            val schemaNode: JsonNode = mapper.readTree(JSON_SCHEMA_V1)
-            val jsonNode: JsonNode = mapper.readTree(json)
-
-            val factory = JsonSchemaFactory.byDefault()
-            val schema: JsonSchema = factory.getJsonSchema(schemaNode)
-
-            val report: ProcessingReport = schema.validate(jsonNode)
+            val report: ProcessingReport = SCHEMA.validate(HcertTreeReader.readHcert(cbor))
 
             isValid = report.isSuccess
             verificationResult.isSchemaValid = isValid
@@ -63,4 +53,10 @@ class DefaultSchemaValidator : SchemaValidator {
 
         return isValid
     }
-}
\ No newline at end of file
+
+    companion object {
+        private val SCHEMA: JsonSchema by lazy {
+            JsonSchemaFactory.byDefault().getJsonSchema(ObjectMapper().readTree(JSON_SCHEMA_V1))
+        }
+    }
+}
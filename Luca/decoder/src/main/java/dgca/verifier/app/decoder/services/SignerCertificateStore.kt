@@ -0,0 +1,117 @@
+package dgca.verifier.app.decoder.services
+
+import com.fasterxml.jackson.databind.JsonNode
+import com.fasterxml.jackson.databind.ObjectMapper
+import dgca.verifier.app.decoder.model.CoseData
+import dgca.verifier.app.decoder.model.SignerCertificate
+import dgca.verifier.app.decoder.toHexString
+import org.bouncycastle.util.encoders.Base64
+import java.io.ByteArrayInputStream
+import java.io.IOException
+import java.security.GeneralSecurityException
+import java.security.PublicKey
+import java.security.Signature
+import java.security.cert.CertificateFactory
+import java.security.cert.X509Certificate
+import java.util.concurrent.TimeUnit
+
+/**
+ * Document signer certificates indexed by their COSE key identifier (kid), allowing to verify
+ * certificates locally without a network round-trip.
+ *
+ * Stores are created from a signed trust list snapshot:
+ *
+ * ```
+ * {
+ *   "content": "<Base64 encoded trust list JSON>",
+ *   "signature": "<Base64 encoded SHA256withECDSA signature of the decoded content>"
+ * }
+ * ```
+ *
+ * with the trust list JSON being:
+ *
+ * ```
+ * {
+ *   "timestamp": <creation time in seconds since epoch>,
+ *   "certificates": [{ "kid": "<Base64 kid>", "rawData": "<Base64 DER certificate>" }]
+ * }
+ * ```
+ */
+class SignerCertificateStore(
+    certificates: Collection<SignerCertificate>,
+    val timestamp: Long
+) {
+
+    /**
+     * Key identifiers only have 8 bytes, so multiple certificates may share one.
+     */
+    private val certificatesByKid: Map<String, List<SignerCertificate>> = certificates.groupBy { it.kid.toHexString() }
+
+    val size: Int = certificates.size
+
+    fun getCertificates(kid: ByteArray): List<SignerCertificate> {
+        return certificatesByKid[kid.toHexString()].orEmpty()
+    }
+
+    fun getCertificates(coseData: CoseData): List<SignerCertificate> {
+        return coseData.kid?.let { getCertificates(it) }.orEmpty()
+    }
+
+    /**
+     * Rejects stale snapshots, as revoked signer certificates would remain trusted otherwise.
+     *
+     * @throws GeneralSecurityException if the snapshot was created more than [maximumAge]
+     * milliseconds before [currentTime]
+     */
+    @Throws(GeneralSecurityException::class)
+    fun requireNotOlderThan(maximumAge: Long, currentTime: Long): SignerCertificateStore {
+        if (currentTime - TimeUnit.SECONDS.toMillis(timestamp) > maximumAge) {
+            throw GeneralSecurityException("Trust list snapshot from $timestamp is outdated")
+        }
+        return this
+    }
+
+    companion object {
+
+        private const val SIGNATURE_ALGORITHM = "SHA256withECDSA"
+
+        /**
+         * Verifies the snapshot signature with the [trustAnchor] and parses all certificates once.
+         *
+         * @throws GeneralSecurityException if the signature is invalid or a certificate can't be parsed
+         * @throws IOException if the snapshot is not valid JSON
+         */
+        @JvmStatic
+        @JvmOverloads
+        @Throws(GeneralSecurityException::class, IOException::class)
+        fun fromSnapshot(snapshot: ByteArray, trustAnchor: PublicKey, x509: X509 = X509()): SignerCertificateStore {
+            val mapper = ObjectMapper()
+            val envelope = mapper.readTree(snapshot)
+            val content = Base64.decode(envelope.requireText("content"))
+            val signature = Base64.decode(envelope.requireText("signature"))
+
+            val isSignatureValid = Signature.getInstance(SIGNATURE_ALGORITHM).run {
+                initVerify(trustAnchor)
+                update(content)
+                verify(signature)
+            }
+            if (!isSignatureValid) {
+                throw GeneralSecurityException("Invalid trust list snapshot signature")
+            }
+
+            val trustList = mapper.readTree(content)
+            val certificateFactory = CertificateFactory.getInstance("X.509")
+            val certificates = trustList.path("certificates").map {
+                val rawData = Base64.decode(it.requireText("rawData"))
+                val certificate = certificateFactory.generateCertificate(ByteArrayInputStream(rawData)) as X509Certificate
+                SignerCertificate(Base64.decode(it.requireText("kid")), certificate, x509)
+            }
+            return SignerCertificateStore(certificates, trustList.path("timestamp").asLong())
+        }
+
+        private fun JsonNode.requireText(fieldName: String): String {
+            return get(fieldName)?.takeIf { it.isTextual }?.textValue()
+                ?: throw GeneralSecurityException("Trust list snapshot does not contain $fieldName")
+        }
+    }
+}
@@ -22,7 +22,19 @@ class X509 {
         try {
             val cf: CertificateFactory = CertificateFactory.getInstance("X.509")
             val cert: Certificate = cf.generateCertificate(ByteArrayInputStream(data))
-            if (isType(cert as X509Certificate)) {
+            return isSuitable(cert as X509Certificate, certificateType)
+        } catch (e: CertificateException) {
+            return false
+        }
+    }
+
+    /**
+     * Checks the extended key usage of an already parsed certificate. Certificates without any
+     * certificate type specific extended key usage are suitable for all types.
+     */
+    fun isSuitable(cert: X509Certificate, certificateType: CertificateType?): Boolean {
+        try {
+            if (isType(cert)) {
                 val extendedKeys = cert.extendedKeyUsage
                 return when (certificateType) {
                     CertificateType.TEST -> extendedKeys.contains(OID_TEST) || extendedKeys.contains(
@@ -0,0 +1,60 @@
+package dgca.verifier.app.decoder
+
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import java.util.concurrent.atomic.AtomicInteger
+import kotlin.random.Random
+
+internal class BatchCertificateDecoderTest {
+
+    private val activeDecodings = AtomicInteger()
+    private val maximumActiveDecodings = AtomicInteger()
+
+    private val batchDecoder = BatchCertificateDecoder(object : CertificateDecoder {
+        override fun decodeCertificate(qrCodeText: String): CertificateDecodingResult {
+            maximumActiveDecodings.accumulateAndGet(activeDecodings.incrementAndGet()) { a, b -> maxOf(a, b) }
+            try {
+                Thread.sleep(Random.nextLong(5))
+                if (qrCodeText == INVALID_QR_CODE_TEXT) {
+                    throw IllegalStateException(qrCodeText)
+                }
+                return CertificateDecodingResult.Error(CertificateDecodingError.Base45DecodingError(IllegalArgumentException(qrCodeText)))
+            } finally {
+                activeDecodings.decrementAndGet()
+            }
+        }
+    }, 4)
+
+    @Test
+    fun decodeCertificates_varyingDurations_returnsResultsInInputOrder() {
+        val inputs = (0 until 100).map { it.toString() }
+        val results = batchDecoder.decodeCertificates(inputs)
+        assertEquals(inputs, results.map { (it as CertificateDecodingResult.Error).error.error!!.message })
+    }
+
+    @Test
+    fun decodeCertificates_decoderThrows_isolatesError() {
+        val results = batchDecoder.decodeCertificates(listOf("1", INVALID_QR_CODE_TEXT, "3"))
+        assertEquals(3, results.size)
+        assertTrue((results[0] as CertificateDecodingResult.Error).error is CertificateDecodingError.Base45DecodingError)
+        assertTrue((results[1] as CertificateDecodingResult.Error).error is CertificateDecodingError.CertificateConversionError)
+        assertTrue((results[2] as CertificateDecodingResult.Error).error is CertificateDecodingError.Base45DecodingError)
+    }
+
+    @Test
+    fun decodeCertificates_manyItems_respectsParallelism() {
+        batchDecoder.decodeCertificates((0 until 50).map { it.toString() })
+        assertTrue(maximumActiveDecodings.get() <= 4)
+    }
+
+    @Test
+    fun decodeCertificates_noItems_returnsEmptyList() {
+        assertEquals(emptyList<CertificateDecodingResult>(), batchDecoder.decodeCertificates(emptyList()))
+    }
+
+    companion object {
+        private const val INVALID_QR_CODE_TEXT = "invalid"
+    }
+
+}
@@ -0,0 +1,179 @@
+package dgca.verifier.app.decoder
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import com.fasterxml.jackson.databind.SerializationFeature
+import dgca.verifier.app.decoder.base45.DefaultBase45Service
+import dgca.verifier.app.decoder.cbor.DefaultCborService
+import dgca.verifier.app.decoder.compression.DefaultCompressorService
+import dgca.verifier.app.decoder.cose.DefaultCoseService
+import dgca.verifier.app.decoder.cose.VerificationCryptoService
+import dgca.verifier.app.decoder.model.VerificationResult
+import dgca.verifier.app.decoder.prefixvalidation.DefaultPrefixValidationService
+import dgca.verifier.app.decoder.schema.DefaultSchemaValidator
+import dgca.verifier.app.decoder.services.X509
+import org.bouncycastle.util.encoders.Base64
+import org.junit.Assume.assumeTrue
+import org.junit.Test
+import java.io.ByteArrayInputStream
+import java.io.File
+import java.lang.management.ManagementFactory
+import java.security.cert.Certificate
+import java.security.cert.CertificateFactory
+
+/**
+ * Replays the DGC test corpus from [TestCorpus] and measures the latency of each
+ * decoding stage, as well as the bytes allocated per certificate.
+ *
+ * Only runs if the `DECODER_BENCHMARK` environment variable is set to `true`, e.g.
+ * `DECODER_BENCHMARK=true ./gradlew :decoder:testDebugUnitTest --tests '*CertificateBenchmarkRunner'`.
+ * The number of measured rounds can be set with `DECODER_BENCHMARK_ROUNDS`. Results are printed and
+ * written as JSON to `build/reports/benchmark/decoder-benchmark.json`, so that decoder changes can be
+ * compared against a baseline.
+ */
+internal class CertificateBenchmarkRunner {
+
+    private val prefixValidationService = DefaultPrefixValidationService()
+    private val base45Service = DefaultBase45Service()
+    private val compressorService = DefaultCompressorService()
+    private val coseService = DefaultCoseService()
+    private val cborService = DefaultCborService()
+    private val schemaValidator = DefaultSchemaValidator()
+    private val cryptoService = VerificationCryptoService(X509())
+
+    private val threadMXBean = ManagementFactory.getThreadMXBean() as? com.sun.management.ThreadMXBean
+
+    @Test
+    fun benchmark() {
+        assumeTrue("true" == System.getenv("DECODER_BENCHMARK"))
+
+        val testCases = TestCorpus.load().values
+            .filter { it.base45WithPrefix != null }
+            .map { BenchmarkCase(it.base45WithPrefix!!, it.context.certificate?.let(::toCertificate)) }
+        if (testCases.isEmpty()) {
+            println("No test cases found, make sure that the DGC test data is available")
+            return
+        }
+
+        val rounds = System.getenv("DECODER_BENCHMARK_ROUNDS")?.toIntOrNull() ?: DEFAULT_ROUNDS
+        repeat(WARM_UP_ROUNDS) { testCases.forEach { decode(it, null) } }
+
+        val samples = Samples()
+        repeat(rounds) { testCases.forEach { decode(it, samples) } }
+
+        val report = linkedMapOf<String, Any?>(
+            "certificates" to testCases.size,
+            "rounds" to rounds,
+            "stages" to STAGES.associateWith { samples.getPercentiles(it) },
+            "total" to samples.getPercentiles(TOTAL),
+            "allocatedBytesPerCertificate" to samples.getMeanAllocatedBytes()
+        )
+        val json = ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValueAsString(report)
+        println(json)
+        File(REPORT_PATH).apply {
+            parentFile?.mkdirs()
+            writeText(json)
+        }
+    }
+
+    private fun decode(case: BenchmarkCase, samples: Samples?) {
+        val verificationResult = VerificationResult()
+        val allocatedBytesBefore = getAllocatedBytes()
+        val startTime = System.nanoTime()
+        var stageStartTime = startTime
+
+        fun <T> measure(stage: String, block: () -> T): T {
+            return block().also {
+                val now = System.nanoTime()
+                samples?.add(stage, now - stageStartTime)
+                stageStartTime = now
+            }
+        }
+
+        val base45 = measure(STAGE_PREFIX) { prefixValidationService.decode(case.qrCode, verificationResult) }
+        val compressed = measure(STAGE_BASE45) { base45Service.decode(base45, verificationResult) }
+        val cose = measure(STAGE_INFLATE) { compressorService.decode(compressed, verificationResult) } ?: return
+        val coseData = measure(STAGE_COSE) { coseService.decode(cose, verificationResult) } ?: return
+        measure(STAGE_CBOR) { cborService.decode(coseData.cbor, verificationResult) }
+        measure(STAGE_SCHEMA) { schemaValidator.validate(coseData.cbor, verificationResult) }
+        case.certificate?.let {
+            measure(STAGE_SIGNATURE) { cryptoService.validate(cose, it, verificationResult) }
+        }
+
+        samples?.add(TOTAL, System.nanoTime() - startTime)
+        if (allocatedBytesBefore >= 0) {
+            samples?.addAllocatedBytes(getAllocatedBytes() - allocatedBytesBefore)
+        }
+    }
+
+    private fun getAllocatedBytes(): Long {
+        return threadMXBean?.getThreadAllocatedBytes(Thread.currentThread().id) ?: -1
+    }
+
+    private fun toCertificate(base64: String): Certificate? {
+        return try {
+            CertificateFactory.getInstance("X.509").generateCertificate(ByteArrayInputStream(Base64.decode(base64)))
+        } catch (e: Exception) {
+            null
+        }
+    }
+
+    private class BenchmarkCase(
+        val qrCode: String,
+        val certificate: Certificate?
+    )
+
+    private class Samples {
+
+        private val durations = mutableMapOf<String, MutableList<Long>>()
+        private val allocatedBytes = mutableListOf<Long>()
+
+        fun add(stage: String, durationNanos: Long) {
+            durations.getOrPut(stage) { mutableListOf() }.add(durationNanos)
+        }
+
+        fun addAllocatedBytes(bytes: Long) {
+            allocatedBytes.add(bytes)
+        }
+
+        fun getPercentiles(stage: String): Map<String, Any> {
+            val sorted = durations[stage].orEmpty().sorted()
+            if (sorted.isEmpty()) {
+                return mapOf("samples" to 0)
+            }
+            fun percentileMicros(percentile: Double): Double {
+                val index = ((sorted.size - 1) * percentile).toInt()
+                return sorted[index] / 1000.0
+            }
+            return linkedMapOf(
+                "samples" to sorted.size,
+                "p50Micros" to percentileMicros(0.5),
+                "p90Micros" to percentileMicros(0.9),
+                "p99Micros" to percentileMicros(0.99),
+                "maxMicros" to sorted.last() / 1000.0
+            )
+        }
+
+        fun getMeanAllocatedBytes(): Long? {
+            return if (allocatedBytes.isEmpty()) null else allocatedBytes.sum() / allocatedBytes.size
+        }
+    }
+
+    companion object {
+
+        private const val WARM_UP_ROUNDS = 5
+        private const val DEFAULT_ROUNDS = 20
+        private const val REPORT_PATH = "build/reports/benchmark/decoder-benchmark.json"
+
+        private const val STAGE_PREFIX = "prefix"
+        private const val STAGE_BASE45 = "base45"
+        private const val STAGE_INFLATE = "inflate"
+        private const val STAGE_COSE = "cose"
+        private const val STAGE_CBOR = "cbor"
+        private const val STAGE_SCHEMA = "schema"
+        private const val STAGE_SIGNATURE = "signature"
+        private const val TOTAL = "total"
+
+        private val STAGES = listOf(STAGE_PREFIX, STAGE_BASE45, STAGE_INFLATE, STAGE_COSE, STAGE_CBOR, STAGE_SCHEMA, STAGE_SIGNATURE)
+    }
+
+}
@@ -1,6 +1,5 @@
 package dgca.verifier.app.decoder
 
-import com.fasterxml.jackson.databind.ObjectMapper
 import dgca.verifier.app.decoder.base45.Base45Service
 import dgca.verifier.app.decoder.base45.DefaultBase45Service
 import dgca.verifier.app.decoder.cbor.CborService
@@ -27,7 +26,6 @@ import org.junit.jupiter.api.BeforeEach
 import org.junit.jupiter.params.ParameterizedTest
 import org.junit.jupiter.params.provider.Arguments
 import org.junit.jupiter.params.provider.MethodSource
-import java.io.File
 
 @ExperimentalUnsignedTypes
 class CertificateTestRunner {
@@ -123,24 +121,10 @@ class CertificateTestRunner {
 
     companion object {
 
-        private const val TEST_CASE_REPOSITORY_PATH = "dgc-testdata/"
-
         @JvmStatic
         @Suppress("unused")
         fun verificationProvider(): List<Arguments> {
-            val testcaseFiles = mutableMapOf<String, TestCase>()
-            File("../../$TEST_CASE_REPOSITORY_PATH/").walkTopDown().forEach { file ->
-                if (file.isFile && file.extension == "json") {
-                    val data = try {
-                        ObjectMapper().readValue(file.bufferedReader().readText(), TestCase::class.java)
-                    } catch (ex: Exception) {
-                        null
-                    }
-                    data?.let { testcaseFiles.put(file.path, it) }
-                }
-            }
-
-            return testcaseFiles.map {
+            return TestCorpus.load().map {
                 println("Loading $it...")
                 Arguments.of(it.key, it.value)
             }
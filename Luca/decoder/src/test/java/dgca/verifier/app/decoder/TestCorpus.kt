@@ -0,0 +1,31 @@
+package dgca.verifier.app.decoder
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import java.io.File
+
+/**
+ * Loads the DGC test data, which is expected to be checked out next to this repository.
+ */
+object TestCorpus {
+
+    private const val TEST_CASE_REPOSITORY_PATH = "dgc-testdata/"
+
+    /**
+     * @return the test cases keyed by their file path, empty if the test data is not available
+     */
+    fun load(): Map<String, TestCase> {
+        val testcaseFiles = mutableMapOf<String, TestCase>()
+        File("../../$TEST_CASE_REPOSITORY_PATH/").walkTopDown().forEach { file ->
+            if (file.isFile && file.extension == "json") {
+                val data = try {
+                    ObjectMapper().readValue(file.bufferedReader().readText(), TestCase::class.java)
+                } catch (ex: Exception) {
+                    null
+                }
+                data?.let { testcaseFiles.put(file.path, it) }
+            }
+        }
+        return testcaseFiles
+    }
+
+}
@@ -0,0 +1,60 @@
+package dgca.verifier.app.decoder.base45
+
+import dgca.verifier.app.decoder.DefaultCertificateDecoder.Companion.PREFIX
+import dgca.verifier.app.decoder.TestCase
+import dgca.verifier.app.decoder.TestCorpus
+import org.junit.Assert.assertArrayEquals
+import org.junit.Assert.assertNotEquals
+import org.junit.Assume.assumeTrue
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.junit.runners.Parameterized
+
+/**
+ * Compares [Base45Decoder] with [LegacyBase45Decoder] for every case of the DGC test data. Skipped
+ * if the test data is not available.
+ */
+@ExperimentalUnsignedTypes
+@RunWith(Parameterized::class)
+internal class Base45DecoderCorpusTest(
+    private val filename: String,
+    private val case: TestCase?
+) {
+
+    private val decoder = Base45Decoder()
+    private val legacyDecoder = LegacyBase45Decoder()
+
+    @Test
+    fun decode_testCorpus_equalsLegacyDecoder() {
+        assumeTrue("DGC test data not available", case != null)
+        val base45 = case!!.base45 ?: case.base45WithPrefix?.removePrefix(PREFIX) ?: return
+        val actual = decodeOrNull(decoder::decode, base45)
+        val expected = decodeOrNull(legacyDecoder::decode, base45)
+        if (actual != null) {
+            assertArrayEquals(filename, expected, actual)
+        } else if (expected != null) {
+            // the legacy decoder accepted invalid input, but never with a valid output length
+            assertNotEquals(filename, base45.length / 3 * 2 + base45.length % 3 / 2, expected.size)
+        }
+    }
+
+    private fun decodeOrNull(decode: (String) -> ByteArray, input: String): ByteArray? {
+        return try {
+            decode(input)
+        } catch (e: IllegalArgumentException) {
+            null
+        }
+    }
+
+    companion object {
+
+        @JvmStatic
+        @Parameterized.Parameters(name = "{0}")
+        fun testCases(): List<Array<Any?>> {
+            val testCases = TestCorpus.load().map { arrayOf<Any?>(it.key, it.value) }
+            return testCases.ifEmpty { listOf(arrayOf<Any?>("unavailable", null)) }
+        }
+
+    }
+
+}
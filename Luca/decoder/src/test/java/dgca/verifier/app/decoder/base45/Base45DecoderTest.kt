@@ -0,0 +1,69 @@
+package dgca.verifier.app.decoder.base45
+
+import org.junit.Assert.assertArrayEquals
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertThrows
+import org.junit.Test
+import kotlin.random.Random
+
+@ExperimentalUnsignedTypes
+internal class Base45DecoderTest {
+
+    private val decoder = Base45Decoder()
+    private val legacyDecoder = LegacyBase45Decoder()
+
+    @Test
+    fun decode_specificationExamples_decodesCorrectly() {
+        assertEquals("AB", String(decoder.decode("BB8")))
+        assertEquals("Hello!!", String(decoder.decode("%69 VD92EX0")))
+        assertEquals("base-45", String(decoder.decode("UJCLQE7W581")))
+        assertEquals("ietf!", String(decoder.decode("QED8WEX0")))
+        assertEquals(0, decoder.decode("").size)
+    }
+
+    @Test
+    fun decode_randomData_equalsLegacyDecoder() {
+        val random = Random(45)
+        repeat(1000) {
+            val encoded = encode(random.nextBytes(random.nextInt(0, 600)))
+            assertArrayEquals(legacyDecoder.decode(encoded), decoder.decode(encoded))
+        }
+    }
+
+    @Test
+    fun decode_invalidCharacter_throws() {
+        assertThrows(IllegalArgumentException::class.java) { decoder.decode("bb8") }
+        assertThrows(IllegalArgumentException::class.java) { decoder.decode("BB€") }
+    }
+
+    @Test
+    fun decode_invalidLength_throws() {
+        assertThrows(IllegalArgumentException::class.java) { decoder.decode("BB8B") }
+    }
+
+    @Test
+    fun decode_valueOutOfRange_throws() {
+        assertThrows(IllegalArgumentException::class.java) { decoder.decode(":::") } // 91124 > 65535
+        assertThrows(IllegalArgumentException::class.java) { decoder.decode("::") } // 2024 > 255
+    }
+
+    private fun encode(bytes: ByteArray): String {
+        val builder = StringBuilder()
+        var index = 0
+        while (index + 2 <= bytes.size) {
+            var value = (bytes[index].toInt() and 0xFF shl 8) or (bytes[index + 1].toInt() and 0xFF)
+            repeat(3) {
+                builder.append(Base45Decoder.ALPHABET[value % 45])
+                value /= 45
+            }
+            index += 2
+        }
+        if (index < bytes.size) {
+            val value = bytes[index].toInt() and 0xFF
+            builder.append(Base45Decoder.ALPHABET[value % 45])
+            builder.append(Base45Decoder.ALPHABET[value / 45])
+        }
+        return builder.toString()
+    }
+
+}
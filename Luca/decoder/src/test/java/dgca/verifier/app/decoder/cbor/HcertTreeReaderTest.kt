@@ -0,0 +1,37 @@
+package dgca.verifier.app.decoder.cbor
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import com.upokecenter.cbor.CBORObject
+import dgca.verifier.app.decoder.cwt.CwtHeaderKeys
+import org.junit.Assert.assertEquals
+import org.junit.Test
+
+internal class HcertTreeReaderTest {
+
+    private val json = "{\"ver\":\"1.3.0\",\"nam\":{\"fn\":\"Musterfrau\",\"fnt\":\"MUSTERFRAU\"}," +
+            "\"dob\":\"1980-01-01\",\"v\":[{\"dn\":2,\"sd\":2,\"dt\":\"2021-05-29\"}]}"
+
+    @Test
+    fun readHcert_cwtPayload_equalsJsonTree() {
+        val hcert = CBORObject.NewMap().apply {
+            Add(CBORObject.FromObject(1), CBORObject.FromJSONString(json))
+        }
+        val cwt = CBORObject.NewMap().apply {
+            Add(CwtHeaderKeys.ISSUING_COUNTRY.asCBOR(), "DE")
+            Add(CwtHeaderKeys.HCERT.asCBOR(), hcert)
+        }
+
+        val tree = HcertTreeReader.readHcert(cwt.EncodeToBytes())
+
+        assertEquals(ObjectMapper().readTree(json), tree)
+    }
+
+    @Test(expected = IllegalArgumentException::class)
+    fun readHcert_missingHcert_throws() {
+        val cwt = CBORObject.NewMap().apply {
+            Add(CwtHeaderKeys.ISSUING_COUNTRY.asCBOR(), "DE")
+        }
+        HcertTreeReader.readHcert(cwt.EncodeToBytes())
+    }
+
+}
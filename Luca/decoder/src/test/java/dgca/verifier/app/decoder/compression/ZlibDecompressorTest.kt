@@ -0,0 +1,64 @@
+package dgca.verifier.app.decoder.compression
+
+import dgca.verifier.app.decoder.model.VerificationResult
+import org.junit.Assert.assertArrayEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertThrows
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import java.io.ByteArrayOutputStream
+import java.util.zip.DataFormatException
+import java.util.zip.DeflaterOutputStream
+import kotlin.random.Random
+
+internal class ZlibDecompressorTest {
+
+    @Test
+    fun inflate_compressedData_returnsOriginalData() {
+        val random = Random(78)
+        repeat(100) {
+            val data = random.nextBytes(random.nextInt(0, 10_000))
+            assertArrayEquals(data, ZlibDecompressor.inflate(deflate(data)))
+        }
+    }
+
+    @Test
+    fun inflate_exceedsMaximumSize_throws() {
+        val compressed = deflate(ByteArray(1025))
+        assertThrows(DecompressedSizeExceededException::class.java) {
+            ZlibDecompressor.inflate(compressed, 1024)
+        }
+        assertArrayEquals(ByteArray(1025), ZlibDecompressor.inflate(compressed, 1025))
+    }
+
+    @Test
+    fun inflate_truncatedData_throws() {
+        val compressed = deflate(Random(45).nextBytes(1000))
+        assertThrows(DataFormatException::class.java) {
+            ZlibDecompressor.inflate(compressed.copyOf(compressed.size / 2))
+        }
+    }
+
+    @Test
+    fun decode_zipBomb_returnsNull() {
+        val compressed = deflate(ByteArray(ZlibDecompressor.MAX_DECOMPRESSED_SIZE + 1))
+        val verificationResult = VerificationResult()
+        assertNull(DefaultCompressorService().decode(compressed, verificationResult))
+        assertFalse(verificationResult.zlibDecoded)
+    }
+
+    @Test
+    fun isZlibCompressed_uncompressedData_returnsFalse() {
+        assertTrue(ZlibDecompressor.isZlibCompressed(deflate(byteArrayOf(1, 2, 3))))
+        assertFalse(ZlibDecompressor.isZlibCompressed(byteArrayOf(0xD2.toByte(), 0x84.toByte())))
+        assertFalse(ZlibDecompressor.isZlibCompressed(byteArrayOf(0x78)))
+    }
+
+    private fun deflate(data: ByteArray): ByteArray {
+        val outputStream = ByteArrayOutputStream()
+        DeflaterOutputStream(outputStream).use { it.write(data) }
+        return outputStream.toByteArray()
+    }
+
+}
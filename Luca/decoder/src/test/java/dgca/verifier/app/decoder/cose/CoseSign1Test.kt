@@ -0,0 +1,97 @@
+package dgca.verifier.app.decoder.cose
+
+import com.upokecenter.cbor.CBORObject
+import dgca.verifier.app.decoder.ECDSA_256
+import dgca.verifier.app.decoder.RSA_PSS_256
+import org.junit.Assert.assertArrayEquals
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNull
+import org.junit.Test
+import kotlin.random.Random
+
+internal class CoseSign1Test {
+
+    private val kid = byteArrayOf(1, 2, 3, 4, 5, 6, 7, 8)
+    private val content = Random(18).nextBytes(300)
+    private val signature = Random(19).nextBytes(64)
+
+    @Test
+    fun decode_kidInProtectedHeader_readsHeaders() {
+        val protectedHeader = encodeHeader(ECDSA_256, kid)
+        val coseSign1 = CoseSign1.decode(encodeMessage(protectedHeader, CBORObject.NewMap()))
+
+        assertArrayEquals(kid, coseSign1.kid)
+        assertEquals(ECDSA_256, coseSign1.algorithm)
+        assertArrayEquals(content, coseSign1.content)
+        assertArrayEquals(signature, coseSign1.signature)
+    }
+
+    @Test
+    fun decode_kidInUnprotectedHeader_readsHeaders() {
+        val unprotectedHeader = CBORObject.NewMap().apply { Add(4, kid) }
+        val coseSign1 = CoseSign1.decode(encodeMessage(encodeHeader(RSA_PSS_256, null), unprotectedHeader))
+
+        assertArrayEquals(kid, coseSign1.kid)
+        assertEquals(RSA_PSS_256, coseSign1.algorithm)
+    }
+
+    @Test
+    fun decode_emptyHeaders_hasNoKid() {
+        val coseSign1 = CoseSign1.decode(encodeMessage(ByteArray(0), CBORObject.NewMap()))
+
+        assertNull(coseSign1.kid)
+        assertNull(coseSign1.algorithm)
+    }
+
+    @Test
+    fun decode_taggedMessage_readsHeaders() {
+        val message = CBORObject.DecodeFromBytes(encodeMessage(encodeHeader(ECDSA_256, kid), CBORObject.NewMap()))
+        val coseSign1 = CoseSign1.decode(CBORObject.FromObjectAndTag(message, 18).EncodeToBytes())
+
+        assertArrayEquals(kid, coseSign1.kid)
+    }
+
+    @Test
+    fun getDataToBeVerified_equalsSignatureStructure() {
+        for (contentSize in listOf(0, 23, 24, 255, 256, 65535, 65536)) {
+            val protectedHeader = encodeHeader(ECDSA_256, kid)
+            val content = Random(contentSize).nextBytes(contentSize)
+            val message = CBORObject.NewArray().apply {
+                Add(protectedHeader)
+                Add(CBORObject.NewMap())
+                Add(content)
+                Add(signature)
+            }
+            val expected = CBORObject.NewArray().apply {
+                Add("Signature1")
+                Add(protectedHeader)
+                Add(ByteArray(0))
+                Add(content)
+            }.EncodeToBytes()
+
+            assertArrayEquals(expected, CoseSign1.decode(message.EncodeToBytes()).getDataToBeVerified())
+        }
+    }
+
+    @Test(expected = IllegalArgumentException::class)
+    fun decode_noArray_throws() {
+        CoseSign1.decode(CBORObject.NewMap().EncodeToBytes())
+    }
+
+    private fun encodeHeader(algorithm: Int, kid: ByteArray?): ByteArray {
+        return CBORObject.NewMap().apply {
+            Add(1, algorithm)
+            kid?.let { Add(4, it) }
+        }.EncodeToBytes()
+    }
+
+    private fun encodeMessage(protectedHeader: ByteArray, unprotectedHeader: CBORObject): ByteArray {
+        return CBORObject.NewArray().apply {
+            Add(protectedHeader)
+            Add(unprotectedHeader)
+            Add(content)
+            Add(signature)
+        }.EncodeToBytes()
+    }
+
+}
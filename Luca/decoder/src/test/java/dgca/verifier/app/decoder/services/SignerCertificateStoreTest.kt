@@ -0,0 +1,127 @@
+package dgca.verifier.app.decoder.services
+
+import com.fasterxml.jackson.databind.node.JsonNodeFactory
+import com.upokecenter.cbor.CBORObject
+import dgca.verifier.app.decoder.ECDSA_256
+import dgca.verifier.app.decoder.cose.CoseSign1
+import dgca.verifier.app.decoder.cose.VerificationCryptoService
+import dgca.verifier.app.decoder.model.CertificateType
+import dgca.verifier.app.decoder.model.VerificationResult
+import org.bouncycastle.asn1.ASN1Integer
+import org.bouncycastle.asn1.ASN1Sequence
+import org.bouncycastle.util.encoders.Base64
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertSame
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import java.security.GeneralSecurityException
+import java.security.KeyFactory
+import java.security.PrivateKey
+import java.security.PublicKey
+import java.security.Signature
+import java.security.spec.PKCS8EncodedKeySpec
+import java.security.spec.X509EncodedKeySpec
+import java.util.concurrent.TimeUnit
+
+internal class SignerCertificateStoreTest {
+
+    private val snapshot = javaClass.classLoader!!.getResource("trust_list_snapshot.json")!!.readBytes()
+    private val trustAnchor: PublicKey = KeyFactory.getInstance("EC")
+        .generatePublic(X509EncodedKeySpec(Base64.decode(TRUST_ANCHOR_PUBLIC_KEY)))
+    private val signerPrivateKey: PrivateKey = KeyFactory.getInstance("EC")
+        .generatePrivate(PKCS8EncodedKeySpec(Base64.decode(SIGNER_PRIVATE_KEY)))
+
+    private val store = SignerCertificateStore.fromSnapshot(snapshot, trustAnchor)
+    private val cryptoService = VerificationCryptoService(X509())
+
+    @Test
+    fun fromSnapshot_validSnapshot_indexesCertificatesByKid() {
+        assertEquals(1, store.size)
+        assertEquals(1634601600L, store.timestamp)
+        assertEquals(1, store.getCertificates(Base64.decode(SIGNER_KID)).size)
+        assertTrue(store.getCertificates(ByteArray(8)).isEmpty())
+    }
+
+    @Test(expected = GeneralSecurityException::class)
+    fun fromSnapshot_otherTrustAnchor_throws() {
+        SignerCertificateStore.fromSnapshot(snapshot, store.getCertificates(Base64.decode(SIGNER_KID)).first().publicKey)
+    }
+
+    @Test
+    fun requireNotOlderThan_recentSnapshot_returnsStore() {
+        val currentTime = TimeUnit.SECONDS.toMillis(store.timestamp) + TimeUnit.DAYS.toMillis(1)
+        assertSame(store, store.requireNotOlderThan(TimeUnit.DAYS.toMillis(2), currentTime))
+    }
+
+    @Test(expected = GeneralSecurityException::class)
+    fun requireNotOlderThan_staleSnapshot_throws() {
+        val currentTime = TimeUnit.SECONDS.toMillis(store.timestamp) + TimeUnit.DAYS.toMillis(3)
+        store.requireNotOlderThan(TimeUnit.DAYS.toMillis(2), currentTime)
+    }
+
+    @Test
+    fun isSuitable_vaccinationSigner_isOnlySuitableForVaccinations() {
+        val signerCertificate = store.getCertificates(Base64.decode(SIGNER_KID)).first()
+        assertTrue(signerCertificate.isSuitable(CertificateType.VACCINATION))
+        assertTrue(signerCertificate.isSuitable(CertificateType.UNKNOWN))
+        assertFalse(signerCertificate.isSuitable(CertificateType.TEST))
+        assertFalse(signerCertificate.isSuitable(CertificateType.RECOVERY))
+    }
+
+    @Test
+    fun validate_signedByStoredCertificate_isVerified() {
+        val verificationResult = VerificationResult()
+        cryptoService.validate(sign(Base64.decode(SIGNER_KID)), store, verificationResult, CertificateType.VACCINATION)
+        assertTrue(verificationResult.coseVerified)
+    }
+
+    @Test
+    fun validate_unsuitableCertificateType_isNotVerified() {
+        val verificationResult = VerificationResult()
+        cryptoService.validate(sign(Base64.decode(SIGNER_KID)), store, verificationResult, CertificateType.TEST)
+        assertFalse(verificationResult.coseVerified)
+    }
+
+    @Test
+    fun validate_unknownKid_isNotVerified() {
+        val verificationResult = VerificationResult()
+        cryptoService.validate(sign(ByteArray(8)), store, verificationResult)
+        assertFalse(verificationResult.coseVerified)
+    }
+
+    private fun sign(kid: ByteArray): ByteArray {
+        val protectedHeader = CBORObject.NewMap().apply {
+            Add(1, ECDSA_256)
+            Add(4, kid)
+        }.EncodeToBytes()
+        val content = CBORObject.NewMap().apply { Add(1, "DE") }.EncodeToBytes()
+        val unsignedMessage = CoseSign1(protectedHeader, JsonNodeFactory.instance.objectNode(), content, null)
+        val derSignature = Signature.getInstance("SHA256withECDSA").run {
+            initSign(signerPrivateKey)
+            update(unsignedMessage.getDataToBeVerified())
+            sign()
+        }
+        return CBORObject.NewArray().apply {
+            Add(protectedHeader)
+            Add(CBORObject.NewMap())
+            Add(content)
+            Add(derToConcatenated(derSignature))
+        }.EncodeToBytes()
+    }
+
+    private fun derToConcatenated(derSignature: ByteArray): ByteArray {
+        val sequence = ASN1Sequence.getInstance(derSignature)
+        return (0..1).map { index ->
+            val value = ASN1Integer.getInstance(sequence.getObjectAt(index)).positiveValue.toByteArray()
+            value.takeLast(32).toByteArray().let { ByteArray(32 - it.size) + it }
+        }.reduce { r, s -> r + s }
+    }
+
+    companion object {
+        private const val TRUST_ANCHOR_PUBLIC_KEY = "MFkwEwYHKoZIzj0CAQYIKoZIzj0DAQcDQgAEoTu3QZrvy2z/OQTuVIBqCQGcDVWUTEni74NFYrmQ/JyvhRqiOiPBUr4d3aEeOAhfABaopvKJnKS+imtm8dSXlA=="
+        private const val SIGNER_PRIVATE_KEY = "MIGHAgEAMBMGByqGSM49AgEGCCqGSM49AwEHBG0wawIBAQQgeZnvd9lv2WVM/brEQWmj4US1UD4tHBGMqYK7MIuw35WhRANCAATS4zNNfofoovME1Q1g53I7NiItc9Y2xSx6CgwMzOkLPeQd3mWOXEpr6e9/0Ny6ss4CBOR0UuTZYVocitjWg18Q"
+        private const val SIGNER_KID = "aIsoq0YcwfQ="
+    }
+
+}